@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.ibm.vie.blackjack.casino.CardManager;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Cost of {@link CardManager#drawCard()} and {@link CardManager#shuffle()} for shoes of different
+ * sizes.
+ *
+ * @author ntl
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardManagerBenchmark {
+  /**
+   * Cards dealt in a typical round, two hands of a few cards each
+   */
+  static final int CARDS_PER_ROUND = 6;
+  private static final int DECK_NUMBER = 674506081;
+
+  @Param({"1", "2", "6", "8"})
+  public int numberOfDecks;
+
+  private CardManager cardManager;
+
+  @Setup
+  public void setUp() {
+    cardManager = new CardManager(new TableRules(1000, 1, 100, 1000, numberOfDecks), DECK_NUMBER);
+  }
+
+  /**
+   * Draws the cards of a round and collects them into the discard tray, shuffling when the shoe
+   * runs low like the table does. The time reported is for one card.
+   *
+   * @param blackhole
+   */
+  @Benchmark
+  @OperationsPerInvocation(CARDS_PER_ROUND)
+  public void drawCard(final Blackhole blackhole) {
+    if (cardManager.getRemainingCardsInShoe() < CARDS_PER_ROUND) {
+      cardManager.shuffle();
+    }
+    for (int i = 0; i < CARDS_PER_ROUND; i++) {
+      blackhole.consume(cardManager.drawCard());
+    }
+    cardManager.collectLiveCards();
+  }
+
+  /**
+   * Shuffles every card of the shoe
+   *
+   * @return number of cards in the shoe, so the shuffle is not eliminated
+   */
+  @Benchmark
+  public int shuffle() {
+    cardManager.shuffle();
+    return cardManager.getRemainingCardsInShoe();
+  }
+
+}
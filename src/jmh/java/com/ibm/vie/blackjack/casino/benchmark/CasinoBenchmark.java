@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.ibm.vie.blackjack.casino.Casino;
+import com.ibm.vie.blackjack.casino.config.CompetitionConfig;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+
+/**
+ * Time to play every table of the student configuration with
+ * {@link Casino#playBlackjack(InputStream, Class, java.util.List, int)}, from parsing the
+ * configuration to the game results.
+ *
+ * @author ntl
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CasinoBenchmark {
+
+  @Param({"1", "4"})
+  public int numberOfThreads;
+
+  private byte[] config;
+
+  @Setup
+  public void setUp() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (InputStream in = CompetitionConfig.class.getResourceAsStream("defaultConfig.json")) {
+      final byte[] buffer = new byte[4096];
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        bytes.write(buffer, 0, read);
+      }
+    }
+    config = bytes.toByteArray();
+  }
+
+  @Benchmark
+  public Map<String, GameResult> playBlackjack() {
+    return Casino.playBlackjack(new ByteArrayInputStream(config),
+        ReferenceStrategies.SimpleBasicStrategy.class, Collections.emptyList(), numberOfThreads);
+  }
+
+}
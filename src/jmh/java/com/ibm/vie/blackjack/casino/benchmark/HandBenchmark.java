@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.card.Suit;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.casino.hand.HandUtil;
+import com.ibm.vie.blackjack.casino.hand.PlayerHandState;
+import com.ibm.vie.blackjack.casino.hand.VieDealerHand;
+import com.ibm.vie.blackjack.casino.hand.VieHand;
+import com.ibm.vie.blackjack.casino.hand.ViePlayerHand;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Cost of scoring hands and settling bets.
+ *
+ * <p>
+ * The hands are dealt once from a fixed seed, with two to five cards each. Each invocation
+ * scores, or settles, all of them.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+  static final int HANDS = 1024;
+  private static final int SEED = 10915769;
+
+  private final TableRules rules = new TableRules();
+
+  private VieCard[][] cards;
+  private VieHand[] hands;
+  private List<List<ViePlayerHand>> playerHands;
+  private VieDealerHand[] dealerHands;
+
+  @Setup
+  public void setUp() {
+    final Random rnd = new Random(SEED);
+    final Rank[] ranks = Rank.values();
+    final Suit[] suits = Suit.values();
+
+    cards = new VieCard[HANDS][];
+    hands = new VieHand[HANDS];
+    playerHands = new ArrayList<>(HANDS);
+    dealerHands = new VieDealerHand[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      cards[i] = new VieCard[2 + rnd.nextInt(4)];
+      for (int c = 0; c < cards[i].length; c++) {
+        cards[i][c] = new VieCard(ranks[rnd.nextInt(ranks.length)], suits[rnd.nextInt(suits.length)]);
+      }
+      hands[i] = new VieHand(cards[i]);
+    }
+    for (int i = 0; i < HANDS; i++) {
+      dealerHands[i] = new VieDealerHand(cards[(i + 1) % HANDS]);
+      playerHands.add(Arrays.asList(new ViePlayerHand(10, cards[i])));
+    }
+  }
+
+  /**
+   * Scores hands that already hold their cards
+   *
+   * @param blackhole
+   */
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public void scoreVieHand(final Blackhole blackhole) {
+    for (final VieHand hand : hands) {
+      blackhole.consume(hand.getScore());
+      blackhole.consume(hand.isBusted());
+      blackhole.consume(hand.isBlackJack());
+    }
+  }
+
+  /**
+   * Deals the cards into a hand one at a time and scores the hand after each card, as the table
+   * does while a hand is played
+   *
+   * @param blackhole
+   */
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public void dealAndScoreHandState(final Blackhole blackhole) {
+    for (final VieCard[] handCards : cards) {
+      final PlayerHandState hand = new PlayerHandState(10);
+      for (final VieCard card : handCards) {
+        hand.addCard(card);
+        blackhole.consume(hand.getScore());
+      }
+    }
+  }
+
+  /**
+   * Settles one player hand against a dealer hand
+   *
+   * @param blackhole
+   */
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public void calculatePayouts(final Blackhole blackhole) {
+    for (int i = 0; i < HANDS; i++) {
+      blackhole.consume(HandUtil.calculatePayouts(playerHands.get(i), dealerHands[i], rules));
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.benchmark;
+
+import java.util.List;
+import com.ibm.vie.blackjack.player.Card;
+import com.ibm.vie.blackjack.player.DealerHand;
+import com.ibm.vie.blackjack.player.GameInfo;
+import com.ibm.vie.blackjack.player.PlayerDecision;
+import com.ibm.vie.blackjack.player.PlayerHand;
+import com.ibm.vie.blackjack.player.PlayerPayoutHand;
+import com.ibm.vie.blackjack.player.PlayerStrategy;
+
+/**
+ * Strategies that are played by the benchmarks.
+ *
+ * <p>
+ * The strategies do not write to standard output and never walk away, so a benchmark measures the
+ * framework rather than the strategy. They are public with a default constructor so that
+ * {@link com.ibm.vie.blackjack.casino.Casino} can create them.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public final class ReferenceStrategies {
+
+  private ReferenceStrategies() {}
+
+  /**
+   * Bets the minimum and stands on 17 or more
+   */
+  public static class Hold17 implements PlayerStrategy {
+
+    @Override
+    public String getStudentName() {
+      return "Hold 17";
+    }
+
+    @Override
+    public int placeInitialBet(final GameInfo gameInfo) {
+      return gameInfo.getMinBet();
+    }
+
+    @Override
+    public PlayerDecision decideHowToPlayHand(final GameInfo gameInfo, final PlayerHand currentHand,
+        final List<PlayerHand> playerHands, final Card dealerUpCard) {
+      return currentHand.getPointScore() >= 17 ? PlayerDecision.STAND : PlayerDecision.HIT;
+    }
+
+    @Override
+    public boolean decideToWalkAway(final GameInfo gameInfo,
+        final List<PlayerPayoutHand> playerHands, final DealerHand dealerHand) {
+      return false;
+    }
+  }
+
+  /**
+   * Bets the minimum and plays a simplified basic strategy that also splits and doubles down, so
+   * every decision of the table is exercised.
+   */
+  public static class SimpleBasicStrategy implements PlayerStrategy {
+
+    @Override
+    public String getStudentName() {
+      return "Simple Basic Strategy";
+    }
+
+    @Override
+    public int placeInitialBet(final GameInfo gameInfo) {
+      return gameInfo.getMinBet();
+    }
+
+    @Override
+    public PlayerDecision decideHowToPlayHand(final GameInfo gameInfo, final PlayerHand currentHand,
+        final List<PlayerHand> playerHands, final Card dealerUpCard) {
+      final List<Card> cards = currentHand.getCards();
+      final int score = currentHand.getPointScore();
+      final int dealerScore = dealerUpCard.getMaxScore();
+      final boolean canAfford = gameInfo.getAvailableMoney() >= currentHand.getBetPaid();
+
+      if (cards.size() == 2 && canAfford) {
+        final String rank = cards.get(0).getRank();
+        if (rank.equals(cards.get(1).getRank()) && (cards.get(0).getMaxScore() == 11
+            || cards.get(0).getMaxScore() == 8)) {
+          return PlayerDecision.SPLIT;
+        }
+        if ((score == 10 || score == 11) && dealerScore < score) {
+          return PlayerDecision.DOUBLE_DOWN;
+        }
+      }
+
+      if (score >= 17 || (score >= 13 && dealerScore <= 6)) {
+        return PlayerDecision.STAND;
+      }
+      return PlayerDecision.HIT;
+    }
+
+    @Override
+    public boolean decideToWalkAway(final GameInfo gameInfo,
+        final List<PlayerPayoutHand> playerHands, final DealerHand dealerHand) {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.ibm.vie.blackjack.casino.CardManager;
+import com.ibm.vie.blackjack.casino.Table;
+import com.ibm.vie.blackjack.player.PlayerStrategy;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Rounds per second of {@link Table#playManyRoundsOfBlackJack()} without observers.
+ *
+ * <p>
+ * Each invocation plays {@link #ROUNDS} rounds on a new table with a fixed deck number, so every
+ * invocation deals the same cards. The player starts with enough money that the game never ends
+ * early.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBenchmark {
+  static final int ROUNDS = 10000;
+  private static final int DECK_NUMBER = 573259391;
+
+  @Param({"Hold17", "SimpleBasicStrategy"})
+  public String strategy;
+
+  @Param({"1", "6"})
+  public int numberOfDecks;
+
+  private TableRules rules;
+  private Class<? extends PlayerStrategy> strategyClass;
+
+  @Setup
+  public void setUp() throws ClassNotFoundException {
+    rules = new TableRules(ROUNDS * 100, 1, 1, ROUNDS, numberOfDecks);
+    strategyClass = Class.forName(ReferenceStrategies.class.getName() + "$" + strategy)
+        .asSubclass(PlayerStrategy.class);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROUNDS)
+  public int playManyRoundsOfBlackJack() throws ReflectiveOperationException {
+    final Table table = new Table(strategyClass.getDeclaredConstructor().newInstance(),
+        new CardManager(rules, DECK_NUMBER), rules);
+    table.playManyRoundsOfBlackJack();
+    return table.getAvailableMoney();
+  }
+
+}
@@ -12,6 +12,7 @@
  */
 package com.ibm.vie.blackjack.casino;
 
+import java.util.AbstractList;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,11 +21,11 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.RandomAccess;
 import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.player.Card;
 import com.ibm.vie.blackjack.player.TableRules;
 import com.ibm.vie.blackjack.casino.card.Rank;
-import com.ibm.vie.blackjack.casino.card.Suit;
 
 /**
  * Represents a mechanism for dealing and shuffling one or more decks of cards. <BR/>
@@ -62,6 +63,17 @@ import com.ibm.vie.blackjack.casino.card.Suit;
  * Additionally, one card is is removed from the shoe as a 'burn' card, which does not appear
  * in the discard list. The card will be returned to the shoe during the next shuffle.
  * </p>
+ *
+ * <p>
+ * Cards are stored in a {@link CardShoe}, which keeps the cards in arrays. Drawing a card and
+ * collecting live cards do not allocate, and the cards dealt for a given seed are the same as they
+ * have always been.
+ * </p>
+ *
+ * <p>
+ * Card managers that are played on the same seeds, such as the tables of a competition played by
+ * many strategies, can share their cards and shuffles through a {@link ShuffleCache}.
+ * </p>
  * 
  * 
  * 
@@ -69,12 +81,33 @@ import com.ibm.vie.blackjack.casino.card.Suit;
  *
  */
 public class CardManager {
-  private final List<VieCard> shoe = new LinkedList<VieCard>();
-  private final List<VieCard> live = new LinkedList<VieCard>();
-  private final List<VieCard> discard = new LinkedList<VieCard>();
-  private VieCard burnCard = null;
-  private final Random rnd;
+  private final CardShoe shoe;
+  private final List<VieCard> discardView = new DiscardTrayView();
+
+  /**
+   * Player accessible information for the cards in the discard tray. Cards are only appended to this
+   * array until a shuffle empties the tray, and then a new array is started. A list over the first n
+   * entries therefore never changes, and can be handed out to players as a snapshot.
+   */
+  private Card[] discardTrayInfo;
+  private List<Card> discardTrayInfoSnapshot = null;
+  private int discardTrayVersion = 0;
+
+  /**
+   * Number of cards in the discard tray for each minimum score (1 for an ace, 10 for ten and face
+   * cards). Arrays that have been handed out are never changed; a new array is made when the tray
+   * changes.
+   */
+  private int[] discardTrayCountsByScore = new int[VieCard.MAX_CARD_SCORE + 1];
+  private ShuffleRandom rnd;
   private final TableRules rules;
+
+  /**
+   * Shuffles of the whole shoe shared through a {@link ShuffleCache}, null when the shuffles are
+   * drawn from {@link #rnd}
+   */
+  private ShuffleCache.ShuffleSequence sharedShuffles = null;
+  private int sharedShufflesUsed = 0;
   private boolean lastShuffleWasDueToEmptyDeck = false;
 
   /**
@@ -84,9 +117,45 @@ public class CardManager {
    * @param seed seed value to use for the random number generator
    */
   public CardManager(TableRules rules, int seed) {
+    this(rules, seed, RandomNumberGenerator.DEFAULT, null);
+  }
+
+
+  /**
+   * Construct using the specified number of decks, with cards and shuffles shared through a cache.
+   * The cards are dealt in the same order as a card manager created with the same seed and no
+   * cache.
+   *
+   * @param rules - the table rules that are in effect
+   * @param seed seed value to use for the random number generator
+   * @param shuffleCache cache shared by the card managers of a competition
+   */
+  public CardManager(TableRules rules, int seed, ShuffleCache shuffleCache) {
+    this(rules, seed, RandomNumberGenerator.DEFAULT, shuffleCache);
+  }
+
+
+  /**
+   * Construct using the specified number of decks and kind of random number generator
+   *
+   * @param rules - the table rules that are in effect
+   * @param seed seed value to use for the random number generator
+   * @param generator kind of random number generator to shuffle with
+   * @param shuffleCache cache shared by the card managers of a competition, null for no cache
+   */
+  public CardManager(TableRules rules, int seed, RandomNumberGenerator generator,
+      ShuffleCache shuffleCache) {
     this.rules = rules;
-    rnd = new Random(seed);
-    initializeDecks();
+    if (shuffleCache == null) {
+      this.shoe = new CardShoe(rules.getNumberOfDecks());
+      this.discardTrayInfo = new Card[getTotalNumCards()];
+      rnd = generator.create(seed);
+    } else {
+      this.shoe = new CardShoe(shuffleCache.getCards(rules.getNumberOfDecks()));
+      this.discardTrayInfo = new Card[getTotalNumCards()];
+      sharedShuffles = shuffleCache.getSequence(generator, seed, getTotalNumCards());
+    }
+    shuffle();
   }
 
 
@@ -97,29 +166,57 @@ public class CardManager {
    */
   public CardManager(TableRules rules) {
     this.rules = rules;
-    rnd = new Random();
-    initializeDecks();
+    this.shoe = new CardShoe(rules.getNumberOfDecks());
+    this.discardTrayInfo = new Card[getTotalNumCards()];
+    rnd = RandomNumberGenerator.DEFAULT.create();
+    shuffle();
   }
 
 
   /**
-   * Initializes and shuffles the cards in the multi-deck
-   *
+   * Read only view of the cards in the discard tray. The view reflects the current content of the
+   * tray, it is not a copy.
    */
-  private final void initializeDecks() {
-    shoe.clear();
-    live.clear();
-    discard.clear();
-
-    for (int deckNum = 0; deckNum < rules.getNumberOfDecks(); deckNum++) {
-      for (final Suit suit : Suit.values()) {
-        for (final Rank rank : Rank.values()) {
-          shoe.add(new VieCard(rank, suit));
-        }
+  private class DiscardTrayView extends AbstractList<VieCard> implements RandomAccess {
+    @Override
+    public VieCard get(final int index) {
+      if (index < 0 || index >= shoe.getDiscardSize()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + shoe.getDiscardSize());
       }
+      return shoe.getDiscardCard(index);
     }
 
-    shuffle();
+    @Override
+    public int size() {
+      return shoe.getDiscardSize();
+    }
+  }
+
+
+  /**
+   * Read only list over the first entries of an array that is never changed within that range.
+   */
+  private static class CardInfoSnapshot extends AbstractList<Card> implements RandomAccess {
+    private final Card[] cards;
+    private final int size;
+
+    CardInfoSnapshot(final Card[] cards, final int size) {
+      this.cards = cards;
+      this.size = size;
+    }
+
+    @Override
+    public Card get(final int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return cards[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
   }
 
 
@@ -164,18 +261,25 @@ public class CardManager {
    */
   private final void shuffle(boolean emptyDeck) {
     lastShuffleWasDueToEmptyDeck = emptyDeck;
-    shoe.addAll(discard);
-    discard.clear();
-    if (burnCard != null) {
-      shoe.add(burnCard);
-      burnCard = null;
+    if (shoe.getDiscardSize() > 0) {
+      // snapshots may still refer to the old arrays, so they can't be reused
+      discardTrayInfo = new Card[getTotalNumCards()];
+      discardTrayCountsByScore = new int[VieCard.MAX_CARD_SCORE + 1];
+      discardTrayChanged();
     }
-    Collections.shuffle(shoe, rnd);
-
-    if (emptyDeck && rules.getCompetitionRules().getUseRealCasinoRulesWhenOutOfCards()) {
-      burnCard = shoe.remove(0);
+    final boolean burn =
+        emptyDeck && rules.getCompetitionRules().getUseRealCasinoRulesWhenOutOfCards();
+    if (sharedShuffles != null
+        && shoe.getShuffleSize() == sharedShuffles.getNumberOfCards()) {
+      shoe.shuffle(sharedShuffles.getSwaps(sharedShufflesUsed++), burn);
+      return;
+    }
+    if (sharedShuffles != null) {
+      // fewer cards than the shared shuffles, the rest of the game draws its own
+      rnd = sharedShuffles.getRandomAfter(sharedShufflesUsed);
+      sharedShuffles = null;
     }
-    
+    shoe.shuffle(rnd, burn);
   }
 
   /**
@@ -197,17 +301,18 @@ public class CardManager {
    * @param ranks - ranks for the first n cards
    */
   public void orderDeckByRank(Rank... ranks) {
-    Map<Rank, Deque<VieCard>> cardMap = new HashMap<>();
+    Map<Rank, Deque<Integer>> cardMap = new HashMap<>();
     for (Rank r : Rank.values()) {
-      cardMap.put(r, new ArrayDeque<VieCard>());
+      cardMap.put(r, new ArrayDeque<Integer>());
     }
 
 
-    for (VieCard c : shoe) {
-      cardMap.get(c.getRank()).push(c);
+    for (int i = 0; i < shoe.getShoeSize(); i++) {
+      final int id = shoe.getShoeId(i);
+      cardMap.get(shoe.getCard(id).getRank()).push(id);
     }
 
-    List<VieCard> deckInOrder = new LinkedList<>();
+    List<Integer> deckInOrder = new LinkedList<>();
     for (Rank r : ranks) {
       if (cardMap.get(r).isEmpty()) {
         throw new RuntimeException(
@@ -219,13 +324,12 @@ public class CardManager {
 
     // add the other cards
     for (Rank r : Rank.values()) {
-      for (VieCard c : cardMap.get(r)) {
-        deckInOrder.add(c);
+      for (int id : cardMap.get(r)) {
+        deckInOrder.add(id);
       }
     }
 
-    shoe.clear();
-    shoe.addAll(deckInOrder);
+    shoe.setShoe(deckInOrder);
 
   }
 
@@ -238,15 +342,80 @@ public class CardManager {
    * @return an unmodifiable list of cards in the discard tray.
    */
   public List<VieCard> getCardsInDiscardTray() {
-    return Collections.unmodifiableList(this.discard);
+    return discardView;
+  }
+
+  /**
+   * Returns player accessible information about the cards in the discard tray.
+   *
+   * <p>
+   * Unlike {@link #getCardsInDiscardTray()}, the list is a snapshot that will not change as the deck
+   * is updated. The same list object is returned until {@link #getDiscardTrayVersion()} changes, so
+   * repeated calls within a round do not copy the tray.
+   * </p>
+   *
+   * @return an unmodifiable list of information about cards in the discard tray.
+   */
+  public List<Card> getCardInfoInDiscardTray() {
+    if (discardTrayInfoSnapshot == null) {
+      discardTrayInfoSnapshot = shoe.getDiscardSize() == 0 ? Collections.emptyList()
+          : new CardInfoSnapshot(discardTrayInfo, shoe.getDiscardSize());
+    }
+    return discardTrayInfoSnapshot;
+  }
+
+  /**
+   * The version of the discard tray changes every time cards are added to the tray, or the tray is
+   * emptied by a shuffle.
+   *
+   * @return a number that identifies the current contents of the discard tray
+   */
+  public int getDiscardTrayVersion() {
+    return discardTrayVersion;
+  }
+
+  /**
+   * Returns the number of cards in the discard tray for each card score. The array is indexed by the
+   * minimum score of the card, so index 1 is the number of aces and index 10 is the number of tens
+   * and face cards. Index 0 is not used.
+   *
+   * <p>
+   * The counts are updated as cards are collected into the tray, rather than computed from the
+   * cards in the tray. The returned array is not changed by the card manager, and must not be
+   * changed by the caller.
+   * </p>
+   *
+   * @return number of cards in the discard tray, by card score
+   */
+  public int[] getDiscardTrayCountsByScore() {
+    return discardTrayCountsByScore;
+  }
+
+  /**
+   * Forget the snapshot of the discard tray, because the tray has changed.
+   */
+  private void discardTrayChanged() {
+    discardTrayVersion++;
+    discardTrayInfoSnapshot = null;
   }
 
   /**
    * Collects All live cards and moves them to the discard try
    */
   public void collectLiveCards() {
-    discard.addAll(live);
-    live.clear();
+    final int firstCollected = shoe.getDiscardSize();
+    shoe.collectLiveCards();
+
+    if (shoe.getDiscardSize() != firstCollected) {
+      final int[] countsByScore = discardTrayCountsByScore.clone();
+      for (int i = firstCollected; i < shoe.getDiscardSize(); i++) {
+        final VieCard card = shoe.getDiscardCard(i);
+        discardTrayInfo[i] = card.toCard();
+        countsByScore[card.getRank().getRankMinScore()]++;
+      }
+      discardTrayCountsByScore = countsByScore;
+      discardTrayChanged();
+    }
   }
 
   /**
@@ -259,10 +428,10 @@ public class CardManager {
    * @return the card that is being drawn
    */
   public VieCard drawCard() {
-    if (shoe.isEmpty()) {
+    if (shoe.getShoeSize() == 0) {
       shuffle(true);
       
-      if (shoe.isEmpty()) {
+      if (shoe.getShoeSize() == 0) {
         // this is an error, the framework should never allow so many cards to be in play that
         // there are not enough cards in the deck.
         throw new RuntimeException("A card needs to be drawn but the shoe is empty");
@@ -271,12 +440,14 @@ public class CardManager {
 
     final VieCard drawnCard = chooseCardToDraw();
 
-    if (!shoe.remove(drawnCard)) {
+    if (drawnCard == shoe.getCard(shoe.getShoeId(0))) {
+      // the usual case, the top card is drawn
+      shoe.drawTop();
+    } else if (!shoe.draw(drawnCard)) {
       // the chosen card is not actually in the shoe
       throw new RuntimeException("A card was chosen but the card is not in the shoe");
     }
 
-    live.add(drawnCard);
     return drawnCard;
   }
 
@@ -289,7 +460,7 @@ public class CardManager {
    * @return the card that should be drawn next.
    */
   protected VieCard chooseCardToDraw() {
-    return shoe.get(0);
+    return shoe.getCard(shoe.getShoeId(0));
   }
 
 
@@ -300,10 +471,10 @@ public class CardManager {
    * @return the next card that will be drawn
    */
   protected VieCard peek() {
-    if (shoe.isEmpty()) {
+    if (shoe.getShoeSize() == 0) {
       return null;
     } else {
-      return shoe.get(0);
+      return shoe.getCard(shoe.getShoeId(0));
     }
   }
 
@@ -317,7 +488,8 @@ public class CardManager {
    */
   protected Map<Rank, Collection<VieCard>> getRankToCardsMap() {
     Map<Rank, Collection<VieCard>> rankToCardsMap = new HashMap<>();
-    for (VieCard card : shoe) {
+    for (int i = 0; i < shoe.getShoeSize(); i++) {
+      final VieCard card = shoe.getCard(shoe.getShoeId(i));
       if (!rankToCardsMap.containsKey(card.getRank())) {
         rankToCardsMap.put(card.getRank(), new LinkedList<VieCard>());
       }
@@ -351,7 +523,7 @@ public class CardManager {
    * @return percentage (0 -100) of cards that in in the shoe.
    */
   public int getPercentCardsInShoe() {
-    return (int) Math.ceil(100 * ((double) shoe.size() / this.getTotalNumCards()));
+    return (int) Math.ceil(100 * ((double) shoe.getShoeSize() / this.getTotalNumCards()));
   }
 
   /**
@@ -360,7 +532,7 @@ public class CardManager {
    *
    */
   public int getTotalNumCards() {
-    return rules.getNumberOfDecks() * Rank.values().length * Suit.values().length;
+    return rules.getNumberOfDecks() * VieCard.CARDS_PER_DECK;
   }
 
 
@@ -370,7 +542,7 @@ public class CardManager {
    *
    */
   public int getRemainingCardsInShoe() {
-    return shoe.size();
+    return shoe.getShoeSize();
   }
 
 
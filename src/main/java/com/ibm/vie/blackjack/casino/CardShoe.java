@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino;
+
+import java.util.List;
+import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.card.Suit;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+
+/**
+ * Compact storage for the cards owned by a {@link CardManager}.
+ *
+ * <p>
+ * Every physical card is created once and given an id, which is its position in the shoe before
+ * the first shuffle. The shoe, live cards and discard tray are fixed size arrays of ids. The shoe
+ * keeps a cursor to the next card to be drawn, so a normal draw does not move any other card.
+ * </p>
+ *
+ * <p>
+ * The order of cards is kept the same as the order of the linked lists that were used before this
+ * class existed, and {@link #shuffle(ShuffleRandom, boolean)} performs the same sequence of swaps
+ * as {@link java.util.Collections#shuffle(List, java.util.Random)}. A card manager that is seeded
+ * with the same value and uses {@link RandomNumberGenerator#JAVA_UTIL_RANDOM} therefore deals
+ * exactly the same cards.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+final class CardShoe {
+  /**
+   * Marker for "no card"
+   */
+  static final int NO_CARD = -1;
+
+  /**
+   * All physical cards, by id
+   */
+  private final VieCard[] cards;
+
+  private final short[] shoe;
+  private int shoeCursor = 0;
+  private int shoeEnd = 0;
+
+  private final short[] live;
+  private int liveCount = 0;
+
+  private final short[] discard;
+  private int discardCount = 0;
+
+  private int burnCard = NO_CARD;
+
+
+  /**
+   * Creates a shoe with all cards of the specified number of decks. Each deck is ordered by suit
+   * and then by rank. The shoe is not shuffled.
+   *
+   * @param numberOfDecks number of decks to fill the shoe with
+   */
+  CardShoe(final int numberOfDecks) {
+    this(createCards(numberOfDecks));
+  }
+
+
+  /**
+   * Creates a shoe with the given cards, in the given order. The shoe is not shuffled.
+   *
+   * @param cards all physical cards, by id. The array is not copied and must not be changed, so it
+   *        can be shared by shoes that are played at the same time.
+   */
+  CardShoe(final VieCard[] cards) {
+    this.cards = cards;
+    shoe = new short[cards.length];
+    live = new short[cards.length];
+    discard = new short[cards.length];
+
+    for (shoeEnd = 0; shoeEnd < cards.length; shoeEnd++) {
+      shoe[shoeEnd] = (short) shoeEnd;
+    }
+  }
+
+
+  /**
+   * Creates the cards of a new shoe. Each deck is ordered by suit and then by rank.
+   *
+   * @param numberOfDecks number of decks in the shoe
+   * @return all physical cards, by id
+   */
+  static VieCard[] createCards(final int numberOfDecks) {
+    final VieCard[] cards = new VieCard[numberOfDecks * VieCard.CARDS_PER_DECK];
+    int id = 0;
+    for (int deckNum = 0; deckNum < numberOfDecks; deckNum++) {
+      for (final Suit suit : Suit.values()) {
+        for (final Rank rank : Rank.values()) {
+          cards[id++] = new VieCard(rank, suit);
+        }
+      }
+    }
+    return cards;
+  }
+
+
+  /**
+   * Moves the discard tray and the burn card (if any) back to the shoe, and shuffles the shoe.
+   *
+   * @param rnd random number generator to use for the shuffle
+   * @param burn true to burn the top card of the shoe after shuffling
+   */
+  void shuffle(final ShuffleRandom rnd, final boolean burn) {
+    gatherCardsToShuffle();
+
+    // Fisher-Yates, in the same order as Collections.shuffle
+    for (int i = shoeEnd; i > 1; i--) {
+      swap(i - 1, rnd.nextInt(i));
+    }
+
+    burnAfterShuffle(burn);
+  }
+
+
+  /**
+   * Moves the discard tray and the burn card (if any) back to the shoe, and shuffles the shoe with
+   * swaps that were drawn before. The result is the same as
+   * {@link #shuffle(ShuffleRandom, boolean)} with a generator that draws the same numbers.
+   *
+   * @param swaps position each card is swapped with, starting from the last card. There must be
+   *        one less than the number of cards in {@link #getShuffleSize()}.
+   * @param burn true to burn the top card of the shoe after shuffling
+   */
+  void shuffle(final short[] swaps, final boolean burn) {
+    gatherCardsToShuffle();
+    if (swaps.length != Math.max(shoeEnd - 1, 0)) {
+      throw new IllegalArgumentException(
+          swaps.length + " swaps can not shuffle " + shoeEnd + " cards");
+    }
+
+    for (int i = shoeEnd; i > 1; i--) {
+      swap(i - 1, swaps[shoeEnd - i]);
+    }
+
+    burnAfterShuffle(burn);
+  }
+
+
+  /**
+   *
+   * @return number of cards that the next shuffle will shuffle, the cards in the shoe and the
+   *         discard tray and the burn card
+   */
+  int getShuffleSize() {
+    return shoeEnd - shoeCursor + discardCount + (burnCard != NO_CARD ? 1 : 0);
+  }
+
+
+  private void gatherCardsToShuffle() {
+    // the cards left in the shoe go to the front of the array, followed by the discard tray and
+    // the burn card. This is the order they had when the shoe was a linked list.
+    final int remaining = shoeEnd - shoeCursor;
+    System.arraycopy(shoe, shoeCursor, shoe, 0, remaining);
+    shoeCursor = 0;
+    shoeEnd = remaining;
+
+    System.arraycopy(discard, 0, shoe, shoeEnd, discardCount);
+    shoeEnd += discardCount;
+    discardCount = 0;
+
+    if (burnCard != NO_CARD) {
+      shoe[shoeEnd++] = (short) burnCard;
+      burnCard = NO_CARD;
+    }
+  }
+
+
+  private void swap(final int i, final int j) {
+    final short tmp = shoe[i];
+    shoe[i] = shoe[j];
+    shoe[j] = tmp;
+  }
+
+
+  private void burnAfterShuffle(final boolean burn) {
+    if (burn && shoeEnd > 0) {
+      burnCard = shoe[shoeCursor++];
+    }
+  }
+
+
+  /**
+   * Draws the card at the top of the shoe and makes it live. The shoe must not be empty.
+   *
+   * @return the card that was drawn
+   */
+  VieCard drawTop() {
+    final short id = shoe[shoeCursor++];
+    live[liveCount++] = id;
+    return cards[id];
+  }
+
+
+  /**
+   * Draws a specific card from the shoe and makes it live. If the card object is not in the shoe,
+   * the first card in the shoe that is equal to it is drawn instead. Cards in front of the drawn
+   * card keep their order.
+   *
+   * @param card the card to draw
+   * @return true if the card was drawn, false if there is no such card in the shoe
+   */
+  boolean draw(final VieCard card) {
+    int position = NO_CARD;
+    for (int i = shoeCursor; i < shoeEnd; i++) {
+      if (cards[shoe[i]] == card) {
+        position = i;
+        break;
+      } else if (position == NO_CARD && cards[shoe[i]].equals(card)) {
+        position = i;
+      }
+    }
+
+    if (position == NO_CARD) {
+      return false;
+    }
+
+    final short id = shoe[position];
+    System.arraycopy(shoe, shoeCursor, shoe, shoeCursor + 1, position - shoeCursor);
+    shoeCursor++;
+    live[liveCount++] = id;
+    return true;
+  }
+
+
+  /**
+   * Moves all live cards to the discard tray
+   */
+  void collectLiveCards() {
+    System.arraycopy(live, 0, discard, discardCount, liveCount);
+    discardCount += liveCount;
+    liveCount = 0;
+  }
+
+
+  /**
+   * Replaces the contents of the shoe
+   *
+   * @param ids ids of the cards that will be in the shoe, first card is drawn first
+   */
+  void setShoe(final List<Integer> ids) {
+    shoeCursor = 0;
+    shoeEnd = 0;
+    for (final int id : ids) {
+      shoe[shoeEnd++] = (short) id;
+    }
+  }
+
+
+  /**
+   *
+   * @param id id of a card
+   * @return the card with the id
+   */
+  VieCard getCard(final int id) {
+    return cards[id];
+  }
+
+
+  /**
+   *
+   * @return number of cards remaining in the shoe
+   */
+  int getShoeSize() {
+    return shoeEnd - shoeCursor;
+  }
+
+
+  /**
+   *
+   * @param index position in the shoe, 0 is the next card to be drawn
+   * @return id of the card at the position
+   */
+  int getShoeId(final int index) {
+    return shoe[shoeCursor + index];
+  }
+
+
+  /**
+   *
+   * @return number of cards in the discard tray
+   */
+  int getDiscardSize() {
+    return discardCount;
+  }
+
+
+  /**
+   *
+   * @param index position in the discard tray, 0 is the card discarded first
+   * @return the card at the position
+   */
+  VieCard getDiscardCard(final int index) {
+    return cards[discard[index]];
+  }
+
+}
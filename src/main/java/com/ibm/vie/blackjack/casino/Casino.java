@@ -16,25 +16,40 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.io.FileInputStream;
+import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.vie.blackjack.casino.config.CompetitionConfig;
+import com.ibm.vie.blackjack.casino.config.StrategyTimeLimits;
 import com.ibm.vie.blackjack.casino.config.TableConfig;
+import com.ibm.vie.blackjack.casino.exceptions.StrategyTimeoutException;
 import com.ibm.vie.blackjack.casino.observer.GameResultObserver;
 import com.ibm.vie.blackjack.casino.observer.TableObserver;
+import com.ibm.vie.blackjack.casino.output.OutputCapture;
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
 import com.ibm.vie.blackjack.casino.stats.GameResult;
 import com.ibm.vie.blackjack.casino.stats.GameResultStatCalculator;
+import com.ibm.vie.blackjack.casino.stats.RoundResultColumns;
 import com.ibm.vie.blackjack.player.CasinoRules;
 import com.ibm.vie.blackjack.player.PlayerStrategy;
+import com.ibm.vie.blackjack.player.TableRules;
 import com.ibm.vie.blackjack.gui.Blackjack;
 
 /**
@@ -46,6 +61,33 @@ import com.ibm.vie.blackjack.gui.Blackjack;
 public class Casino {
   private static ObjectMapper mapper = new ObjectMapper();
 
+  /**
+   * How often the watchdog checks a table that has strategy time limits
+   */
+  private static final long WATCHDOG_INTERVAL_MILLIS = 10;
+
+  /**
+   * Name of the threads that play tables with strategy time limits
+   */
+  private static final String TIME_LIMITED_TABLE_THREAD = "blackjack-time-limited-table";
+
+  /**
+   * How long an abandoned strategy may take to return after its thread is interrupted, before the
+   * thread is stopped
+   */
+  private static final long ABANDONED_THREAD_GRACE_MILLIS = 100;
+
+  /**
+   * Value of the strategy creation start when the strategy is not being created
+   */
+  private static final long NOT_CREATING_STRATEGY = Long.MIN_VALUE;
+
+  /**
+   * Value of the strategy creation start after the game was abandoned while the strategy was
+   * being created
+   */
+  private static final long STRATEGY_CREATION_ABANDONED = Long.MAX_VALUE;
+
   /**
    * Play blackjack with the given configuration, strategy, and observers Each table in the
    * configuration is played independently, the results of one table do not affect play for the
@@ -61,25 +103,101 @@ public class Casino {
    */
   public static Map<String, GameResult> playBlackjack(final InputStream configAsJson,
       final Class<? extends PlayerStrategy> clazz, final List<TableObserver> observers) {
+    return playBlackjack(configAsJson, clazz, observers, 1);
+  }
 
-    final Map<String, GameResult> gameResults = new HashMap<>();
+
+  /**
+   * Play blackjack with the given configuration, strategy, and observers. Each table in the
+   * configuration is played independently, so tables may be played at the same time on up to
+   * numberOfThreads threads.
+   *
+   * <p>
+   * Observers are not expected to be thread safe. When any observer is given, the tables are played
+   * one at a time on the calling thread, and the strategy time limits of the configuration are not
+   * enforced.
+   * </p>
+   *
+   * <p>
+   * The result does not depend on the number of threads. The map iterates in the order the tables
+   * are defined in the configuration, and table names are chosen in that order.
+   * </p>
+   *
+   * @param configAsJson an input stream containing the configuration to use (as json)
+   * @param clazz the class for the player strategy, an instance of this class will be created for
+   *        EACH table defined by the configuration
+   * @param observers additional observers that should be added to the table, such as UI.
+   * @param numberOfThreads maximum number of tables to play at the same time
+   *
+   * @return Map of table name -> Game Result
+   *         If the name of the table is empty or not distinct, a unique name will be generated
+   */
+  public static Map<String, GameResult> playBlackjack(final InputStream configAsJson,
+      final Class<? extends PlayerStrategy> clazz, final List<TableObserver> observers,
+      final int numberOfThreads) {
+    return playBlackjack(configAsJson, clazz, observers, numberOfThreads, false, null);
+  }
+
+
+  /**
+   * Play blackjack with the given configuration, strategy, and observers.
+   *
+   * @param configAsJson an input stream containing the configuration to use (as json)
+   * @param clazz the class for the player strategy
+   * @param observers additional observers that should be added to the table, such as UI.
+   * @param numberOfThreads maximum number of tables to play at the same time
+   * @param suppressOutput true to discard what the strategy writes to standard output, only the
+   *        thread that plays a table is affected
+   * @param shuffleCache cards and shuffles shared with other games on the same tables, may be null
+   *
+   * @return Map of table name -> Game Result
+   *
+   * @see #playBlackjack(InputStream, Class, List, int)
+   */
+  private static Map<String, GameResult> playBlackjack(final InputStream configAsJson,
+      final Class<? extends PlayerStrategy> clazz, final List<TableObserver> observers,
+      final int numberOfThreads, final boolean suppressOutput, final ShuffleCache shuffleCache) {
+
+    final Map<String, GameResult> gameResults = new LinkedHashMap<>();
 
     try {
       final CompetitionConfig competitionConfig =
           mapper.readValue(configAsJson, CompetitionConfig.class);
       final CasinoRules houseRules = competitionConfig.getCasinoRules();
+      final List<TableConfig> tableConfigs = competitionConfig.getTableConfigs();
+      final StrategyTimeLimits timeLimits = competitionConfig.getStrategyTimeLimits();
+      if (timeLimits != null && timeLimits.isLimited() && !observers.isEmpty()) {
+        System.err.println("Strategy time limits (" + timeLimits
+            + ") are not enforced when the tables have observers");
+      }
 
-      for (final TableConfig tableConfig : competitionConfig.getTableConfigs()) {
-        final PlayerStrategy strategy = clazz.newInstance();
-
-        final Table table = tableConfig.getTable(strategy, houseRules);
-        final GameResultObserver tracker =
-            new GameResultObserver(strategy.getStudentName(), table.getRules());
-
-        observers.forEach(o -> table.addObserver(o));
-        table.addObserver(tracker);
+      final List<GameResult> results = new ArrayList<>(tableConfigs.size());
+      if (numberOfThreads <= 1 || tableConfigs.size() <= 1 || !observers.isEmpty()) {
+        for (final TableConfig tableConfig : tableConfigs) {
+          results.add(playTable(tableConfig, clazz, houseRules, observers, suppressOutput,
+              timeLimits, shuffleCache));
+        }
+      } else {
+        final ExecutorService executor =
+            Executors.newFixedThreadPool(Math.min(numberOfThreads, tableConfigs.size()));
+        try {
+          final List<Future<GameResult>> futures = new ArrayList<>(tableConfigs.size());
+          for (final TableConfig tableConfig : tableConfigs) {
+            futures.add(executor.submit(() -> playTable(tableConfig, clazz, houseRules,
+                Collections.emptyList(), suppressOutput, timeLimits, shuffleCache)));
+          }
+          for (final Future<GameResult> future : futures) {
+            results.add(future.get());
+          }
+        } catch (final ExecutionException e) {
+          throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+          executor.shutdownNow();
+        }
+      }
 
-        table.playManyRoundsOfBlackJack();
+      for (int tableNum = 0; tableNum < tableConfigs.size(); tableNum++) {
+        final TableConfig tableConfig = tableConfigs.get(tableNum);
 
         String tableName = tableConfig.getName();
         if (tableName == null || tableName.trim().isEmpty()) {
@@ -88,8 +206,7 @@ public class Casino {
           tableName = tableName + "_" + tableConfig.getDeckNumber() + "_" + UUID.randomUUID().toString();
         }
 
-        gameResults.put(tableName, tracker.getResult());
-
+        gameResults.put(tableName, results.get(tableNum));
       }
     } catch (final Exception e) {
       throw new RuntimeException(e);
@@ -99,6 +216,205 @@ public class Casino {
 
   }
 
+
+  /**
+   * Play a game on one table. When the time of the strategy is limited, and there are no
+   * observers, the game is played on another thread and watched by the calling thread. Observers
+   * such as the UI may wait for the user, so the time limits are not enforced when there are
+   * observers.
+   *
+   * <p>
+   * Each time limited table gets a new thread that plays nothing else. When the strategy goes over
+   * a limit, the thread is interrupted and abandoned, and nothing that the thread might still do
+   * can affect another table. A strategy that ignores the interrupt is stopped, so that it does not
+   * keep a processor and its class loader busy while later tables are played.
+   * </p>
+   *
+   * @param tableConfig configuration of the table
+   * @param clazz the class for the player strategy, a new instance is created for the table
+   * @param houseRules rules of the casino
+   * @param observers additional observers that should be added to the table
+   * @param suppressOutput true to discard what the strategy writes to standard output
+   * @param timeLimits limits on the time of the strategy, may be null
+   * @param shuffleCache cards and shuffles shared with other games on the same tables, may be null
+   * @return the result of the game, including the number of bytes written to standard output when
+   *         the output is suppressed
+   *
+   * @throws Exception if the strategy can not be created
+   */
+  private static GameResult playTable(final TableConfig tableConfig,
+      final Class<? extends PlayerStrategy> clazz, final CasinoRules houseRules,
+      final List<TableObserver> observers, final boolean suppressOutput,
+      final StrategyTimeLimits timeLimits, final ShuffleCache shuffleCache) throws Exception {
+    if (timeLimits == null || !timeLimits.isLimited() || !observers.isEmpty()) {
+      return playTable(tableConfig, clazz, houseRules, observers, suppressOutput, null,
+          shuffleCache, null, null);
+    }
+
+    final AtomicReference<Table> startedTable = new AtomicReference<>();
+    final AtomicLong strategyCreationStart = new AtomicLong(NOT_CREATING_STRATEGY);
+    final FutureTask<GameResult> future =
+        new FutureTask<>(() -> playTable(tableConfig, clazz, houseRules, observers,
+            suppressOutput, timeLimits, shuffleCache, startedTable, strategyCreationStart));
+    final Thread playingThread = new Thread(future, TIME_LIMITED_TABLE_THREAD);
+    playingThread.setDaemon(true);
+    playingThread.start();
+
+    while (true) {
+      try {
+        return future.get(WATCHDOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (final ExecutionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      } catch (final TimeoutException e) {
+        final Table table = startedTable.get();
+        final GameResult abandoned;
+        if (table != null) {
+          abandoned = table.abandonIfStrategyIsOverTimeLimit();
+        } else {
+          abandoned = abandonIfStrategyIsNotCreated(clazz, tableConfig.getTableRules(houseRules),
+              timeLimits, strategyCreationStart);
+        }
+
+        if (abandoned != null) {
+          endAbandonedThread(playingThread);
+          return abandoned;
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Ends the thread of an abandoned game. The thread is not used for anything else, so only the
+   * abandoned strategy sees the interrupt. If the strategy does not return soon after, the thread
+   * is stopped.
+   *
+   * @param playingThread the thread that plays the abandoned game
+   */
+  @SuppressWarnings("deprecation")
+  private static void endAbandonedThread(final Thread playingThread) {
+    playingThread.interrupt();
+    try {
+      playingThread.join(ABANDONED_THREAD_GRACE_MILLIS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (playingThread.isAlive()) {
+      try {
+        playingThread.stop();
+      } catch (final UnsupportedOperationException e) {
+        System.err.println("An abandoned strategy could not be stopped: " + e.getMessage());
+      }
+    }
+  }
+
+
+  /**
+   * Ends a game when creating the strategy has gone over a time limit
+   *
+   * @param clazz the class for the player strategy, its name is used as the student name
+   * @param rules rules of the table
+   * @param timeLimits limits on the time of the strategy
+   * @param strategyCreationStart {@link System#nanoTime()} when the strategy started to be created,
+   *        set to {@link #STRATEGY_CREATION_ABANDONED} when the game is abandoned
+   * @return the result of the game, with no rounds, or null if the strategy is not being created or
+   *         the limits have not passed
+   */
+  private static GameResult abandonIfStrategyIsNotCreated(
+      final Class<? extends PlayerStrategy> clazz, final TableRules rules,
+      final StrategyTimeLimits timeLimits, final AtomicLong strategyCreationStart) {
+    final long start = strategyCreationStart.get();
+    if (start == NOT_CREATING_STRATEGY || start == STRATEGY_CREATION_ABANDONED) {
+      return null;
+    }
+
+    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    final long limit;
+    if (timeLimits.getPerCallMillis() > 0 && elapsedMillis > timeLimits.getPerCallMillis()) {
+      limit = timeLimits.getPerCallMillis();
+    } else if (timeLimits.getPerTableMillis() > 0
+        && elapsedMillis > timeLimits.getPerTableMillis()) {
+      limit = timeLimits.getPerTableMillis();
+    } else {
+      return null;
+    }
+
+    if (!strategyCreationStart.compareAndSet(start, STRATEGY_CREATION_ABANDONED)) {
+      // the strategy was created in the meantime
+      return null;
+    }
+    return new GameResult(rules.getInitialMoney(), 0, new RoundResultColumns(), rules,
+        new StrategyTimeoutException("Creating the strategy took more than " + limit + " ms"),
+        clazz.getName(), 0);
+  }
+
+
+  /**
+   * Play a game on one table, on the current thread
+   *
+   * @param tableConfig configuration of the table
+   * @param clazz the class for the player strategy, a new instance is created for the table
+   * @param houseRules rules of the casino
+   * @param observers additional observers that should be added to the table
+   * @param suppressOutput true to discard and count what the current thread writes to standard
+   *        output
+   * @param timeLimits limits on the time of the strategy, null if only observers limit the game
+   * @param shuffleCache cards and shuffles shared with other games on the same tables, may be null
+   * @param startedTable set to the table before the game starts, may be null
+   * @param strategyCreationStart set to {@link System#nanoTime()} while the strategy is created,
+   *        may be null
+   * @return the result of the game, including the number of bytes written to standard output when
+   *         the output is suppressed
+   *
+   * @throws Exception if the strategy can not be created
+   * @throws StrategyTimeoutException if the game was abandoned while the strategy was created
+   */
+  private static GameResult playTable(final TableConfig tableConfig,
+      final Class<? extends PlayerStrategy> clazz, final CasinoRules houseRules,
+      final List<TableObserver> observers, final boolean suppressOutput,
+      final StrategyTimeLimits timeLimits, final ShuffleCache shuffleCache,
+      final AtomicReference<Table> startedTable, final AtomicLong strategyCreationStart)
+      throws Exception {
+    // output that is neither discarded nor counted is left alone, without going through a capture
+    try (OutputCapture capture = suppressOutput ? ThreadOutputRouter.discard() : null) {
+      final PlayerStrategy strategy;
+      if (strategyCreationStart == null) {
+        strategy = clazz.newInstance();
+      } else {
+        final long start = System.nanoTime();
+        strategyCreationStart.set(start);
+        strategy = clazz.newInstance();
+        if (!strategyCreationStart.compareAndSet(start, NOT_CREATING_STRATEGY)) {
+          throw new StrategyTimeoutException(
+              "The game was abandoned while the strategy was created");
+        }
+      }
+      final String studentName = strategy.getStudentName();
+
+      final Table table = tableConfig.getTable(strategy, houseRules, shuffleCache);
+      table.setStrategyTimeLimits(timeLimits);
+      if (startedTable != null) {
+        startedTable.set(table);
+      }
+
+      final GameResult result;
+      if (observers.isEmpty()) {
+        result = table.playManyRoundsOfBlackJackHeadless(studentName);
+      } else {
+        final GameResultObserver tracker =
+            new GameResultObserver(studentName, table.getRules());
+
+        observers.forEach(o -> table.addObserver(o));
+        table.addObserver(tracker);
+
+        table.playManyRoundsOfBlackJack();
+        result = tracker.getResult();
+      }
+      return capture == null ? result : result.withConsoleOutputBytes(capture.getByteCount());
+    }
+  }
+
   public static void playBlackjackWithUI(final Class<? extends PlayerStrategy> clazz) {
     // try {
     checkPlayerStrategy(clazz);
@@ -145,35 +461,139 @@ public class Casino {
   public static void playBlackjackBatchCsv(final Class<? extends PlayerStrategy> clazz,
       final InputStream competitionConfigFileInputStream, final String outputCsvFileName)
       throws IOException {
+    playBlackjackBatchCsv(clazz, competitionConfigFileInputStream, outputCsvFileName, 1);
+  }
 
 
-    PrintStream originalStdOut = System.out;
-
-    final Map<String, GameResult> gameResults;
-    try {
-      System.setOut(new PrintStream(new OutputStream() {
-        @Override
-        public void write(int b) {
-          // DO NOTHING
-        }
-      }));
+  /**
+   * Plays blackjack in batch competition, playing up to numberOfThreads tables at the same time.
+   * The result of the competition is appended to the specified csv file, in the order the tables
+   * are defined.
+   *
+   * Console output is suppressed, and the result is a game that is appended to a csv file.
+   *
+   * @param clazz
+   * @param competitionConfigFile Input Stream
+   * @param outputCsvFileName
+   * @param numberOfThreads maximum number of tables to play at the same time
+   *
+   * @throws IOException
+   *
+   * @see #playBlackjack(InputStream, Class, List, int)
+   */
+  public static void playBlackjackBatchCsv(final Class<? extends PlayerStrategy> clazz,
+      final InputStream competitionConfigFileInputStream, final String outputCsvFileName,
+      final int numberOfThreads) throws IOException {
 
-      gameResults =
-          Casino.playBlackjack(competitionConfigFileInputStream, clazz, Collections.emptyList());
-    } finally {
-      System.setOut(originalStdOut);
-    }
+    final Map<String, GameResult> gameResults = Casino.playBlackjack(
+        competitionConfigFileInputStream, clazz, Collections.emptyList(), numberOfThreads, true,
+        null);
 
     File outputCsvFile = new File(outputCsvFileName);
     try (FileWriter writer = new FileWriter(outputCsvFile, true);
         CSVPrinter printer =
             GameResultStatCalculator.getCSVPrinter(writer, outputCsvFile.length() == 0)) {
+      printCsvRecords(printer, clazz, gameResults);
+    }
+  }
 
-      for (final Entry<String, GameResult> gameResult : gameResults.entrySet()) {
 
-        final GameResultStatCalculator stats = new GameResultStatCalculator(GameResultStatCalculator.getPathToJar(clazz), gameResult.getKey(), gameResult.getValue());
-        stats.printCSVRecord(printer, clazz);
-      }
+  /**
+   * Plays blackjack in batch competition, and returns the csv records of the result without
+   * headers. The records are the same as the records that
+   * {@link #playBlackjackBatchCsv(Class, InputStream, String)} appends to the csv file.
+   *
+   * <p>
+   * Console output is suppressed only for the calling thread, so this can be called from several
+   * threads at the same time.
+   * </p>
+   *
+   * @param clazz
+   * @param competitionConfigFileInputStream
+   * @return the csv records, one line for each table
+   *
+   * @throws IOException
+   */
+  public static String playBlackjackCsvRecords(final Class<? extends PlayerStrategy> clazz,
+      final InputStream competitionConfigFileInputStream) throws IOException {
+    return toCsvRecords(clazz, playBlackjackBatch(clazz, competitionConfigFileInputStream));
+  }
+
+
+  /**
+   * Plays blackjack in batch competition, on the calling thread.
+   *
+   * <p>
+   * Console output is suppressed only for the calling thread, so this can be called from several
+   * threads at the same time.
+   * </p>
+   *
+   * @param clazz
+   * @param competitionConfigFileInputStream
+   * @return Map of table name -> Game Result
+   */
+  public static Map<String, GameResult> playBlackjackBatch(
+      final Class<? extends PlayerStrategy> clazz,
+      final InputStream competitionConfigFileInputStream) {
+    return playBlackjackBatch(clazz, competitionConfigFileInputStream, null);
+  }
+
+
+  /**
+   * Plays blackjack in batch competition, on the calling thread, with cards and shuffles shared
+   * through a cache. The results are the same as without the cache, but when many strategies are
+   * played on the same competition, the shuffles for each table are only drawn once.
+   *
+   * @param clazz
+   * @param competitionConfigFileInputStream
+   * @param shuffleCache cache shared by every strategy played on the competition, null for no cache
+   * @return Map of table name -> Game Result
+   *
+   * @see #playBlackjackBatch(Class, InputStream)
+   */
+  public static Map<String, GameResult> playBlackjackBatch(
+      final Class<? extends PlayerStrategy> clazz,
+      final InputStream competitionConfigFileInputStream, final ShuffleCache shuffleCache) {
+    return Casino.playBlackjack(competitionConfigFileInputStream, clazz, Collections.emptyList(),
+        1, true, shuffleCache);
+  }
+
+
+  /**
+   * Returns the csv records for game results, without headers
+   *
+   * @param clazz the class for the player strategy
+   * @param gameResults Map of table name -> Game Result
+   * @return the csv records, one line for each table
+   *
+   * @throws IOException
+   */
+  public static String toCsvRecords(final Class<? extends PlayerStrategy> clazz,
+      final Map<String, GameResult> gameResults) throws IOException {
+    final StringBuilder records = new StringBuilder();
+    try (CSVPrinter printer = new CSVPrinter(records, CSVFormat.DEFAULT)) {
+      printCsvRecords(printer, clazz, gameResults);
+    }
+    return records.toString();
+  }
+
+
+  /**
+   * Prints a csv record for each game result
+   *
+   * @param printer
+   * @param clazz the class for the player strategy
+   * @param gameResults Map of table name -> Game Result
+   *
+   * @throws IOException
+   */
+  private static void printCsvRecords(final CSVPrinter printer,
+      final Class<? extends PlayerStrategy> clazz, final Map<String, GameResult> gameResults)
+      throws IOException {
+    for (final Entry<String, GameResult> gameResult : gameResults.entrySet()) {
+
+      final GameResultStatCalculator stats = new GameResultStatCalculator(GameResultStatCalculator.getPathToJar(clazz), gameResult.getKey(), gameResult.getValue());
+      stats.printCSVRecord(printer, clazz);
     }
   }
 
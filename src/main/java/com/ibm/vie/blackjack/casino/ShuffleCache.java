@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+
+/**
+ * Shuffles and cards that are shared by every {@link CardManager} created with the same cache.
+ *
+ * <p>
+ * When many strategies are played on the same tables, as when a directory of solutions is
+ * evaluated, every card manager for a table is seeded with the same value and shuffles the same
+ * way. The cache remembers the swaps of each shuffle of the whole shoe for a seed, so the random
+ * numbers for a seed are only drawn by the first card manager that needs them. The cards of a shoe
+ * are created once for each number of decks, and are shared because they can not be changed.
+ * </p>
+ *
+ * <p>
+ * A card manager replays the remembered shuffles as long as every card is being shuffled. When it
+ * shuffles fewer cards, because the shoe ran out in the middle of a round, it goes back to its own
+ * random number generator, advanced to where it would have been. The cards that are dealt are
+ * always the same as without a cache.
+ * </p>
+ *
+ * <p>
+ * The cache is thread safe, and nothing that it has handed out is ever changed. It grows with
+ * every seed it is used for, so one cache should be used for a fixed set of tables, such as one
+ * competition.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public final class ShuffleCache {
+  private final Map<Integer, VieCard[]> cardsByNumberOfDecks = new ConcurrentHashMap<>();
+  private final Map<RandomNumberGenerator, Map<Long, ShuffleSequence>> sequences =
+      new EnumMap<>(RandomNumberGenerator.class);
+
+
+  /**
+   * Creates an empty cache
+   */
+  public ShuffleCache() {
+    for (final RandomNumberGenerator generator : RandomNumberGenerator.values()) {
+      sequences.put(generator, new ConcurrentHashMap<>());
+    }
+  }
+
+
+  /**
+   *
+   * @param numberOfDecks number of decks in the shoe
+   * @return the cards of the shoe, in the order of a new shoe. The array must not be changed.
+   */
+  VieCard[] getCards(final int numberOfDecks) {
+    return cardsByNumberOfDecks.computeIfAbsent(numberOfDecks, CardShoe::createCards);
+  }
+
+
+  /**
+   *
+   * @param generator kind of random number generator
+   * @param seed seed value of the random number generator
+   * @param numberOfCards number of cards in the shoe
+   * @return the shuffles of the whole shoe for the seed
+   */
+  ShuffleSequence getSequence(final RandomNumberGenerator generator, final int seed,
+      final int numberOfCards) {
+    final long key = ((long) seed << Integer.SIZE) | numberOfCards;
+    return sequences.get(generator).computeIfAbsent(key,
+        k -> new ShuffleSequence(generator, seed, numberOfCards));
+  }
+
+
+  /**
+   *
+   * @return number of seeds that shuffles are remembered for
+   */
+  public int getNumberOfSequences() {
+    int size = 0;
+    for (final Map<Long, ShuffleSequence> bySeed : sequences.values()) {
+      size += bySeed.size();
+    }
+    return size;
+  }
+
+
+  /**
+   * The shuffles of a whole shoe, in the order they are made by a random number generator with one
+   * seed. Shuffles are drawn when they are first asked for.
+   */
+  static final class ShuffleSequence {
+    private final RandomNumberGenerator generator;
+    private final int seed;
+    private final int numberOfCards;
+    private final ShuffleRandom rnd;
+    private final List<short[]> swaps = new ArrayList<>();
+
+    private ShuffleSequence(final RandomNumberGenerator generator, final int seed,
+        final int numberOfCards) {
+      this.generator = generator;
+      this.seed = seed;
+      this.numberOfCards = numberOfCards;
+      this.rnd = generator.create(seed);
+    }
+
+
+    /**
+     *
+     * @return number of cards in each shuffle
+     */
+    int getNumberOfCards() {
+      return numberOfCards;
+    }
+
+
+    /**
+     * Returns the swaps of a shuffle, as used by {@link CardShoe#shuffle(short[], boolean)}
+     *
+     * @param shuffleNumber the number of shuffles before this one
+     * @return the position each card is swapped with, starting from the last card. The array must
+     *         not be changed.
+     */
+    synchronized short[] getSwaps(final int shuffleNumber) {
+      while (swaps.size() <= shuffleNumber) {
+        final short[] next = new short[numberOfCards - 1];
+        for (int i = numberOfCards; i > 1; i--) {
+          next[numberOfCards - i] = (short) rnd.nextInt(i);
+        }
+        swaps.add(next);
+      }
+      return swaps.get(shuffleNumber);
+    }
+
+
+    /**
+     * Creates the random number generator that a card manager would have after some shuffles of
+     * the whole shoe
+     *
+     * @param shuffles number of shuffles of the whole shoe
+     * @return a new generator
+     */
+    ShuffleRandom getRandomAfter(final int shuffles) {
+      final ShuffleRandom replay = generator.create(seed);
+      for (int shuffle = 0; shuffle < shuffles; shuffle++) {
+        for (int i = numberOfCards; i > 1; i--) {
+          replay.nextInt(i);
+        }
+      }
+      return replay;
+    }
+  }
+
+}
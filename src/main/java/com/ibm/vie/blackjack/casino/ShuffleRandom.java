@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino;
+
+/**
+ * Source of the random numbers that a {@link CardManager} shuffles with. Instances are created by
+ * a {@link RandomNumberGenerator}, and are used by one card manager at a time, so they do not need
+ * to be thread safe.
+ *
+ * @author ntl
+ *
+ */
+@FunctionalInterface
+public interface ShuffleRandom {
+
+  /**
+   *
+   * @param bound upper bound of the number, must be positive
+   * @return a random number from 0 (inclusive) to bound (exclusive)
+   */
+  int nextInt(int bound);
+
+}
@@ -11,21 +11,34 @@
  */
 package com.ibm.vie.blackjack.casino;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.casino.config.StrategyTimeLimits;
 import com.ibm.vie.blackjack.casino.exceptions.BlackjackRuleViolationException;
+import com.ibm.vie.blackjack.casino.exceptions.StrategyTimeoutException;
+import com.ibm.vie.blackjack.casino.hand.DealerHandState;
 import com.ibm.vie.blackjack.casino.hand.HandUtil;
+import com.ibm.vie.blackjack.casino.hand.PlayerHandState;
 import com.ibm.vie.blackjack.casino.hand.VieDealerHand;
 import com.ibm.vie.blackjack.casino.hand.ViePlayerHand;
 import com.ibm.vie.blackjack.casino.hand.ViePlayerHandPayout;
+import com.ibm.vie.blackjack.casino.observer.GameResultObserver;
 import com.ibm.vie.blackjack.casino.observer.TableObserver;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.GameResultRecorder;
+import com.ibm.vie.blackjack.casino.stats.StrategyCallback;
+import com.ibm.vie.blackjack.player.Card;
+import com.ibm.vie.blackjack.player.DealerHand;
 import com.ibm.vie.blackjack.player.GameInfo;
 import com.ibm.vie.blackjack.player.PlayerDecision;
 import com.ibm.vie.blackjack.player.PlayerHand;
+import com.ibm.vie.blackjack.player.PlayerPayoutHand;
 import com.ibm.vie.blackjack.player.PlayerStrategy;
 import com.ibm.vie.blackjack.player.TableRules;
 
@@ -46,6 +59,19 @@ import com.ibm.vie.blackjack.player.TableRules;
  * </ul>
  * </p>
  *
+ * <p>
+ * While a round is played, hands are kept as {@link PlayerHandState} and {@link DealerHandState}
+ * objects that are updated in place as cards are dealt. The immutable {@link ViePlayerHand} and
+ * {@link VieDealerHand} objects given to observers and strategies are only built when they are
+ * needed.
+ * </p>
+ *
+ * <p>
+ * Observer events are only prepared when there is at least one observer. A game that is played with
+ * {@link #playManyRoundsOfBlackJackHeadless(String)} records its result directly, so large batches
+ * of games do not pay for events that nobody listens to.
+ * </p>
+ *
  *
  * @author ntl
  *
@@ -61,12 +87,38 @@ public class Table {
 
   private final PlayerStrategy strategy;
 
-  private VieDealerHand vieDealerHand;
+  private final DealerHandState dealerHand = new DealerHandState();
 
-  private final List<ViePlayerHand> viePlayerHands = new LinkedList<>();
+  private final List<PlayerHandState> playerHands = new ArrayList<>();
 
   private AtomicBoolean earlyTerminationRequested = new AtomicBoolean(false);
 
+  /**
+   * Value of {@link #strategyCallStart} when the strategy is not running
+   */
+  private static final long NOT_IN_STRATEGY = Long.MIN_VALUE;
+
+  /**
+   * Value of {@link #strategyCallStart} after the game was abandoned by
+   * {@link #abandonIfStrategyIsOverTimeLimit()}
+   */
+  private static final long ABANDONED = Long.MAX_VALUE;
+
+  /**
+   * {@link System#nanoTime()} when the running call to the strategy started. Only kept when the
+   * time of the strategy is limited, it is read by the watchdog on another thread.
+   */
+  private final AtomicLong strategyCallStart = new AtomicLong(NOT_IN_STRATEGY);
+  private boolean timeLimited = false;
+  private long perCallLimitNanos = 0;
+  private long perTableLimitNanos = 0;
+  private long tableStart = 0;
+
+  /**
+   * Records the result of a headless game, null when the game is not headless
+   */
+  private GameResultRecorder resultRecorder = null;
+
   /**
    * Internal Exception to indicate that the game should end because of a cancel request
    * 
@@ -102,6 +154,72 @@ public class Table {
     earlyTerminationRequested.set(termination);
   }
 
+  /**
+   * Limits the time the strategy may take. A call to the strategy that returns after a limit has
+   * passed ends the game with a {@link StrategyTimeoutException}. A call that does not return is
+   * ended by {@link #abandonIfStrategyIsOverTimeLimit()}.
+   *
+   * <p>
+   * Must be called before the game starts.
+   * </p>
+   *
+   * @param limits the time limits, null for no limits
+   */
+  public void setStrategyTimeLimits(final StrategyTimeLimits limits) {
+    timeLimited = limits != null && limits.isLimited();
+    perCallLimitNanos = timeLimited ? TimeUnit.MILLISECONDS.toNanos(limits.getPerCallMillis()) : 0;
+    perTableLimitNanos = timeLimited ? TimeUnit.MILLISECONDS.toNanos(limits.getPerTableMillis()) : 0;
+  }
+
+  /**
+   * Ends a headless game when the strategy is running and has gone over a time limit. This is
+   * called by a watchdog thread, while another thread plays the table with
+   * {@link #playManyRoundsOfBlackJackHeadless(String)}.
+   *
+   * <p>
+   * The result records the rounds that were completed, and a {@link StrategyTimeoutException} as
+   * the game ending error. The thread playing the table is left in the strategy. If the strategy
+   * ever returns, the thread ends the game without changing the result.
+   * </p>
+   *
+   * @return the result of the abandoned game, or null if the strategy is not over a limit
+   */
+  public GameResult abandonIfStrategyIsOverTimeLimit() {
+    final long start = strategyCallStart.get();
+    if (start == NOT_IN_STRATEGY || start == ABANDONED) {
+      return null;
+    }
+    final String overLimit = checkTimeLimits(start, System.nanoTime());
+    if (overLimit == null || !strategyCallStart.compareAndSet(start, ABANDONED)) {
+      return null;
+    }
+
+    // the thread playing the table is still in the strategy, and will not use the recorder again
+    final GameResultRecorder recorder = resultRecorder;
+    recorder.programError(new StrategyTimeoutException(overLimit));
+    recorder.gameIsOver(availableMoney, Math.min(rules.getMaxNumRounds() - 1, roundNumber) + 1);
+    return recorder.getResult();
+  }
+
+  /**
+   * Checks the time of a call to the strategy against the limits
+   *
+   * @param callStart {@link System#nanoTime()} when the call started
+   * @param now {@link System#nanoTime()} now
+   * @return a message that describes the limit that was exceeded, or null if within the limits
+   */
+  private String checkTimeLimits(final long callStart, final long now) {
+    if (perCallLimitNanos > 0 && now - callStart > perCallLimitNanos) {
+      return "A call to the strategy took more than "
+          + TimeUnit.NANOSECONDS.toMillis(perCallLimitNanos) + " ms, the limit for one call";
+    }
+    if (perTableLimitNanos > 0 && now - tableStart > perTableLimitNanos) {
+      return "The game took more than " + TimeUnit.NANOSECONDS.toMillis(perTableLimitNanos)
+          + " ms, the limit for one table";
+    }
+    return null;
+  }
+
   /**
    * Call the table observers, throwing an exception if any requests early termination
    * 
@@ -184,8 +302,8 @@ public class Table {
    */
   private void cleanUpTable() {
     cardManager.collectLiveCards();
-    viePlayerHands.clear();
-    vieDealerHand = null;
+    playerHands.clear();
+    dealerHand.clear();
 
     // if the rules specify a deck penetration < 100, then we may have
     // to shuffle
@@ -206,11 +324,7 @@ public class Table {
    *
    */
   private void dealerHits() {
-    final VieCard[] dealerCards = new VieCard[vieDealerHand.getCards().size() + 1];
-    vieDealerHand.getCards().toArray(dealerCards);
-    dealerCards[vieDealerHand.getCards().size()] = cardManager.drawCard();
-
-    vieDealerHand = new VieDealerHand(dealerCards);
+    dealerHand.addCard(cardManager.drawCard());
   }
 
   /**
@@ -221,9 +335,13 @@ public class Table {
    *
    */
   private void dealInitialHand(final int initialBet) {
-    viePlayerHands
-        .add(new ViePlayerHand(initialBet, cardManager.drawCard(), cardManager.drawCard()));
-    vieDealerHand = new VieDealerHand(cardManager.drawCard(), cardManager.drawCard());
+    final PlayerHandState playerHand = new PlayerHandState(initialBet);
+    playerHand.addCard(cardManager.drawCard());
+    playerHand.addCard(cardManager.drawCard());
+    playerHands.add(playerHand);
+
+    dealerHand.addCard(cardManager.drawCard());
+    dealerHand.addCard(cardManager.drawCard());
   }
 
   /**
@@ -237,21 +355,92 @@ public class Table {
   /**
    * Get a decision for the current hand from the Player's strategy
    *
-   * @param currentHand
+   * @param currentSlot index of the current hand
    * @return the decision
    * @throws EarlyTerminationException
    */
-  private PlayerDecision getDecisionFromStrategy(final ViePlayerHand currentHand)
+  private PlayerDecision getDecisionFromStrategy(final int currentSlot)
       throws EarlyTerminationException {
-    final List<PlayerHand> handInfos = ViePlayerHand.toPlayerHandList(viePlayerHands);
-    final PlayerHand currentHandInfo = handInfos.get(viePlayerHands.indexOf(currentHand));
+    final List<PlayerHand> handInfos = new ArrayList<>(playerHands.size());
+    for (final PlayerHandState hand : playerHands) {
+      handInfos.add(hand.toPlayerHand());
+    }
+    final PlayerHand currentHandInfo = handInfos.get(currentSlot);
 
     if (this.earlyTerminationRequested.get()) {
       throw new EarlyTerminationException();
     }
 
-    return strategy.decideHowToPlayHand(getGameInfo(), currentHandInfo, handInfos,
-        vieDealerHand.getDealerUpCardInfo());
+    final GameInfo gameInfo = getGameInfo();
+    final Card dealerUpCard = dealerHand.getCard(0).toCard();
+    final long start = strategyCallStarting();
+    final PlayerDecision decision =
+        strategy.decideHowToPlayHand(gameInfo, currentHandInfo, handInfos, dealerUpCard);
+    strategyCalled(StrategyCallback.DECIDE_HOW_TO_PLAY_HAND, start);
+    return decision;
+  }
+
+  /**
+   * Marks the start of a call to the strategy
+   *
+   * @return {@link System#nanoTime()} before the method is called
+   */
+  private long strategyCallStarting() {
+    final long start = System.nanoTime();
+    if (timeLimited) {
+      strategyCallStart.set(start);
+    }
+    return start;
+  }
+
+  /**
+   * Records how long a call of the strategy took, when the game result is being recorded, and
+   * checks the time limits
+   *
+   * @param callback the method of the strategy that was called
+   * @param start {@link System#nanoTime()} before the method was called
+   *
+   * @throws StrategyTimeoutException if the strategy has gone over a time limit
+   */
+  private void strategyCalled(final StrategyCallback callback, final long start)
+      throws StrategyTimeoutException {
+    final long end = System.nanoTime();
+    if (timeLimited && !strategyCallStart.compareAndSet(start, NOT_IN_STRATEGY)) {
+      // the watchdog has recorded the result of the game while the strategy was running
+      resultRecorder = null;
+      throw new StrategyTimeoutException("The game was abandoned while the strategy was running");
+    }
+
+    if (resultRecorder != null) {
+      resultRecorder.strategyCalled(callback, end - start);
+    }
+
+    if (timeLimited) {
+      final String overLimit = checkTimeLimits(start, end);
+      if (overLimit != null) {
+        throw new StrategyTimeoutException(overLimit);
+      }
+    }
+  }
+
+  /**
+   *
+   * @return unmodifiable list of immutable views of the player's hands
+   */
+  private List<ViePlayerHand> getPlayerHandViews() {
+    final List<ViePlayerHand> views = new ArrayList<>(playerHands.size());
+    for (final PlayerHandState hand : playerHands) {
+      views.add(hand.toViePlayerHand());
+    }
+    return Collections.unmodifiableList(views);
+  }
+
+  /**
+   *
+   * @return immutable view of the dealer's hand, or null if no cards have been dealt
+   */
+  private VieDealerHand getDealerHandView() {
+    return dealerHand.getNumberOfCards() == 0 ? null : dealerHand.toVieDealerHand();
   }
 
   /**
@@ -260,7 +449,8 @@ public class Table {
    */
   private GameInfo getGameInfo() {
     return new GameInfo(availableMoney, rules, roundNumber + 1,
-        VieCard.toCardList(cardManager.getCardsInDiscardTray()));
+        cardManager.getCardInfoInDiscardTray(), cardManager.getDiscardTrayVersion(),
+        cardManager.getDiscardTrayCountsByScore(), cardManager.getRemainingCardsInShoe());
   }
 
   /**
@@ -274,85 +464,65 @@ public class Table {
   /**
    * Perform a double down action for the player
    *
-   * @param oldHand the hand to double down on
+   * @param hand the hand to double down on
    *
    * @throws BlackjackRuleViolationException
    */
-  private void playerDoubles(final ViePlayerHand oldHand) throws BlackjackRuleViolationException {
-    BlackjackRuleUtils.checkDoubleDownIsLegal(this, oldHand);
-
-    availableMoney -= oldHand.getBetPaid();
-
-    final VieCard[] newHandCards = new VieCard[oldHand.getCards().size() + 1];
-
-    oldHand.getCards().toArray(newHandCards);
+  private void playerDoubles(final PlayerHandState hand) throws BlackjackRuleViolationException {
+    BlackjackRuleUtils.checkDoubleDownIsLegal(this, hand.toViePlayerHand());
 
+    availableMoney -= hand.getBetPaid();
 
-    newHandCards[oldHand.getCards().size()] = cardManager.drawCard();
-
-    final ViePlayerHand newHand = new ViePlayerHand(oldHand.getBetPaid() * 2, false, newHandCards);
-
-    viePlayerHands.set(viePlayerHands.indexOf(oldHand), newHand);
+    hand.addCard(cardManager.drawCard());
+    hand.doubleDown();
   }
 
   /**
    * Perform a hit action for the player
    *
-   * @param oldHand the hand to hit on
+   * @param hand the hand to hit on
    *
    * @throws BlackjackRuleViolationException
    */
-  private void playerHits(final ViePlayerHand oldHand) throws BlackjackRuleViolationException {
-
-    BlackjackRuleUtils.checkHitIsLegal(oldHand);
-    final VieCard[] newHandCards = new VieCard[oldHand.getCards().size() + 1];
-
-    oldHand.getCards().toArray(newHandCards);
+  private void playerHits(final PlayerHandState hand) throws BlackjackRuleViolationException {
 
-    newHandCards[oldHand.getCards().size()] = cardManager.drawCard();
-    final ViePlayerHand newHand = new ViePlayerHand(oldHand.getBetPaid(), true, newHandCards);
+    BlackjackRuleUtils.checkHitIsLegal(hand.toViePlayerHand());
 
-    viePlayerHands.set(viePlayerHands.indexOf(oldHand), newHand);
+    hand.addCard(cardManager.drawCard());
   }
 
   /**
    * Perform a split action for the player
    *
-   * @param oldHand the hand to split
+   * @param slot index of the hand to split
    *
    * @throws BlackjackRuleViolationException
    */
-  private void playerSplits(final ViePlayerHand oldHand) throws BlackjackRuleViolationException {
-    BlackjackRuleUtils.checkSpiltIsLegal(this, oldHand);
-    availableMoney -= oldHand.getBetPaid();
-
-    final VieCard[] newHandCards1 = {oldHand.getCards().get(0), cardManager.drawCard()};
-    final VieCard[] newHandCards2 = {oldHand.getCards().get(1), cardManager.drawCard()};
-
-    final ViePlayerHand newHand1 = new ViePlayerHand(oldHand.getBetPaid(), true, newHandCards1);
-    final ViePlayerHand newHand2 = new ViePlayerHand(oldHand.getBetPaid(), true, newHandCards2);
-
-    final int splitIndex = viePlayerHands.indexOf(oldHand);
-
-    viePlayerHands.add(splitIndex, newHand1);
-    viePlayerHands.set(splitIndex + 1, newHand2); // replace original
+  private void playerSplits(final int slot) throws BlackjackRuleViolationException {
+    final PlayerHandState hand = playerHands.get(slot);
+    BlackjackRuleUtils.checkSpiltIsLegal(this, hand.toViePlayerHand());
+    availableMoney -= hand.getBetPaid();
+
+    // the new hand takes the first card, the original hand keeps the second
+    final PlayerHandState newHand = hand.split();
+    newHand.addCard(cardManager.drawCard());
+    hand.addCard(cardManager.drawCard());
+
+    // the new hand goes in the slot of the split hand, which moves one slot to the right
+    playerHands.add(slot, newHand);
   }
 
   /**
    * Perform a stand action for the player
    *
-   * @param oldHand the hand to STAND
+   * @param hand the hand to STAND
    *
    * @throws BlackjackRuleViolationException
    */
-  private void playerStands(final ViePlayerHand oldHand) throws BlackjackRuleViolationException {
-    BlackjackRuleUtils.checkStandIsLegal(oldHand);
-
-    final ViePlayerHand newHand =
-        new ViePlayerHand(oldHand.getBetPaid(), false, oldHand.getCards().toArray(new VieCard[0]));
-
-    viePlayerHands.set(viePlayerHands.indexOf(oldHand), newHand);
+  private void playerStands(final PlayerHandState hand) throws BlackjackRuleViolationException {
+    BlackjackRuleUtils.checkStandIsLegal(hand.toViePlayerHand());
 
+    hand.stand();
   }
 
   /**
@@ -416,18 +586,31 @@ public class Table {
    *
    */
   public void playManyRoundsOfBlackJack() {
+    tableStart = System.nanoTime();
     try {
       for (roundNumber = 0; roundNumber < rules.getMaxNumRounds(); roundNumber++) {
         try {
           final List<ViePlayerHandPayout> payouts = playOneRoundOfBlackJack();
 
           // notify observers that the round is over
-          callObservers((observer) -> observer.observeEndOfRound(getGameInfo(), vieDealerHand,
-              Collections.unmodifiableList(payouts)));
+          final VieDealerHand vieDealerHand = dealerHand.toVieDealerHand();
+          if (resultRecorder != null) {
+            resultRecorder.endOfRound(availableMoney, vieDealerHand.isBlackJack(), payouts);
+          }
+          if (!observers.isEmpty()) {
+            callObservers((observer) -> observer.observeEndOfRound(getGameInfo(), vieDealerHand,
+                Collections.unmodifiableList(payouts)));
+          }
 
           // ask if the player should walk away
-          if (strategy.decideToWalkAway(getGameInfo(),
-              ViePlayerHandPayout.toPlayerHandPayoutList(payouts), vieDealerHand.toDealerHand())) {
+          final GameInfo gameInfo = getGameInfo();
+          final List<PlayerPayoutHand> payoutHands =
+              ViePlayerHandPayout.toPlayerHandPayoutList(payouts);
+          final DealerHand dealerHandInfo = vieDealerHand.toDealerHand();
+          final long start = strategyCallStarting();
+          final boolean walkAway = strategy.decideToWalkAway(gameInfo, payoutHands, dealerHandInfo);
+          strategyCalled(StrategyCallback.DECIDE_TO_WALK_AWAY, start);
+          if (walkAway) {
             return; // player says done;
           }
 
@@ -441,9 +624,16 @@ public class Table {
            * Rule violations result in being forced to leave the table, any bets that have been
            * placed but not resolved are forfeit.
            */
+          if (resultRecorder != null) {
+            resultRecorder.programError(e);
+          }
           try {
-            callObservers((observer) -> observer.observeProgramError(getGameInfo(),
-                Collections.unmodifiableList(viePlayerHands), vieDealerHand, e));
+            if (!observers.isEmpty()) {
+              final List<ViePlayerHand> viePlayerHands = getPlayerHandViews();
+              final VieDealerHand vieDealerHand = getDealerHandView();
+              callObservers((observer) -> observer.observeProgramError(getGameInfo(),
+                  viePlayerHands, vieDealerHand, e));
+            }
           } catch (final EarlyTerminationException e3) {
             return; // don't keep playing because of UI request
           } catch (final Exception e2) {
@@ -458,7 +648,9 @@ public class Table {
             e.printStackTrace();
           }
 
-          if (observers.isEmpty()) { // If there are no observers, just the log the error.
+          if (observers.isEmpty() && resultRecorder == null
+              && strategyCallStart.get() != ABANDONED) {
+            // If there are no observers, just the log the error.
             e.printStackTrace();
           }
           return;
@@ -470,8 +662,13 @@ public class Table {
       roundNumber = Math.min(rules.getMaxNumRounds() - 1, roundNumber); // current round must appear
                                                                         // to be the last
 
+      if (resultRecorder != null) {
+        resultRecorder.gameIsOver(availableMoney, roundNumber + 1);
+      }
       try {
-        callObservers((observer) -> observer.observeGameIsOver(getGameInfo()));
+        if (!observers.isEmpty()) {
+          callObservers((observer) -> observer.observeGameIsOver(getGameInfo()));
+        }
       } catch (EarlyTerminationException e) {
         // asked to terminate but game is over, so nothing to do
         return;
@@ -480,6 +677,36 @@ public class Table {
     }
   }
 
+  /**
+   * Plays the game without any observers, and returns the result of the game.
+   *
+   * <p>
+   * The result is the same as the result of a {@link GameResultObserver} that observes
+   * {@link #playManyRoundsOfBlackJack()}, but it is recorded directly by the table. No observer
+   * events are created, which makes this the fastest way to play a game when only the result is
+   * needed.
+   * </p>
+   *
+   * @param studentName name of the student that owns the strategy
+   * @return the result of the game
+   * @throws IllegalStateException if an observer has been added to the table
+   */
+  public GameResult playManyRoundsOfBlackJackHeadless(final String studentName)
+      throws IllegalStateException {
+    if (!observers.isEmpty()) {
+      throw new IllegalStateException("A table with observers can not be played headless");
+    }
+
+    final GameResultRecorder recorder = new GameResultRecorder(studentName, rules);
+    resultRecorder = recorder;
+    try {
+      playManyRoundsOfBlackJack();
+      return recorder.getResult();
+    } finally {
+      resultRecorder = null;
+    }
+  }
+
   /**
    * Play one hand of blackjack, leaves the state of the table intact at the end of the round.
    * Winnings have been paid back to the player at the end of this method.
@@ -493,45 +720,53 @@ public class Table {
 
 
     // put the initial bet in the betting box
-    final int initialBet = strategy.placeInitialBet(getGameInfo());
+    final GameInfo gameInfo = getGameInfo();
+    final long start = strategyCallStarting();
+    final int initialBet = strategy.placeInitialBet(gameInfo);
+    strategyCalled(StrategyCallback.PLACE_INITIAL_BET, start);
 
     BlackjackRuleUtils.checkInitialBetIsLegal(this, initialBet);
     availableMoney -= initialBet;
-    callObservers((observer) -> observer.observeInitialBet(getGameInfo(), initialBet));
+    if (resultRecorder != null) {
+      resultRecorder.initialBet(initialBet);
+    }
+    if (!observers.isEmpty()) {
+      callObservers((observer) -> observer.observeInitialBet(getGameInfo(), initialBet));
+    }
 
     // deal the initial cards
     dealInitialHand(initialBet);
 
 
     // check for blackjack, which ends the round
-    if (vieDealerHand.isBlackJack() || viePlayerHands.get(0).isBlackJack()) {
+    if (dealerHand.isBlackJack() || playerHands.get(0).isBlackJack()) {
       return settleAllBets();
     }
 
 
     // Player makes decisions on his/her hands until there are no more decisions to
-    // be made
-    boolean playerTurnIsOver = false;
-    while (!playerTurnIsOver) {
-      final ViePlayerHand currentHand = HandUtil.findHandForPlayerTurn(viePlayerHands);
-
-      if (currentHand != null) {
-        playOneTurn(currentHand);
-      } else {
-        playerTurnIsOver = true;
-      }
+    // be made. Hands to the left of the current slot are finished, so the search for the
+    // next hand starts at the current slot.
+    int currentSlot = HandUtil.findHandIndexForPlayerTurn(playerHands, 0);
+    while (currentSlot >= 0) {
+      playOneTurn(currentSlot);
+      currentSlot = HandUtil.findHandIndexForPlayerTurn(playerHands, currentSlot);
     }
 
     // Dealer's turn
-    callObservers(o -> o.observeDealerTurn(getGameInfo(), vieDealerHand, viePlayerHands));
+    if (!observers.isEmpty()) {
+      final List<ViePlayerHand> viePlayerHands = getPlayerHandViews();
+      final VieDealerHand vieDealerHand = dealerHand.toVieDealerHand();
+      callObservers(o -> o.observeDealerTurn(getGameInfo(), vieDealerHand, viePlayerHands));
+    }
 
-    if (HandUtil.playerHasAtLeastOneHandWithoutBust(viePlayerHands)) {
+    if (playerHasAtLeastOneHandWithoutBust()) {
       // dealer only plays if the player didn't bust
       // Dealer hits until >= 17 or bust (dealer may hit on soft 17 if the rules
       // allow)
       while (rules.getCompetitionRules().getDealerHitsOnSoft17()
-          ? (vieDealerHand.getScoreAceAs1() < 17 && vieDealerHand.getScore() < 17 + 1)
-          : (vieDealerHand.getScore() < 17)) {
+          ? (dealerHand.getScoreAceAs1() < 17 && dealerHand.getScore() < 17 + 1)
+          : (dealerHand.getScore() < 17)) {
         dealerHits();
       }
     }
@@ -543,37 +778,67 @@ public class Table {
    * Retrieves a decision for the current hand and implements the decision. Observers are called as
    * appropriate
    *
-   * @param currentHand - the hand to play on
+   * @param currentSlot - index of the hand to play on
    * @throws EarlyTerminationException
    * @throws BlackjackRuleViolationException
    */
-  private void playOneTurn(final ViePlayerHand currentHand)
+  private void playOneTurn(final int currentSlot)
       throws EarlyTerminationException, BlackjackRuleViolationException {
+    final PlayerHandState currentHandState = playerHands.get(currentSlot);
+
+    // observers see the hand as it was before the decision, even after the decision is made
+    final ViePlayerHand currentHand = currentHandState.toViePlayerHand();
+    final boolean observed = !observers.isEmpty();
+
+    if (resultRecorder != null) {
+      resultRecorder.playerTurn(availableMoney, currentHand);
+    }
 
-    callObservers(o -> o.observePlayerTurn(getGameInfo(), currentHand,
-        vieDealerHand.getDealerUpCard(), Collections.unmodifiableList(viePlayerHands)));
+    final List<ViePlayerHand> handsBeforeDecision = observed ? getPlayerHandViews() : null;
+    if (observed) {
+      callObservers(o -> o.observePlayerTurn(getGameInfo(), currentHand, dealerHand.getCard(0),
+          handsBeforeDecision));
+    }
 
-    final PlayerDecision decision = getDecisionFromStrategy(currentHand);
-    callObservers(o -> o.observeDecisionMade(getGameInfo(), decision, currentHand,
-        vieDealerHand.getDealerUpCard(), Collections.unmodifiableList(viePlayerHands)));
+    final PlayerDecision decision = getDecisionFromStrategy(currentSlot);
+    if (observed) {
+      callObservers(o -> o.observeDecisionMade(getGameInfo(), decision, currentHand,
+          dealerHand.getCard(0), handsBeforeDecision));
+    }
 
     switch (decision) {
       case HIT:
-        playerHits(currentHand);
+        playerHits(currentHandState);
         break;
       case SPLIT:
-        playerSplits(currentHand);
+        playerSplits(currentSlot);
         break;
       case STAND:
-        playerStands(currentHand);
+        playerStands(currentHandState);
         break;
       case DOUBLE_DOWN:
-        playerDoubles(currentHand);
+        playerDoubles(currentHandState);
         break;
     }
 
-    callObservers(o -> o.observeDecisionOutcome(getGameInfo(), decision, currentHand,
-        vieDealerHand.getDealerUpCard(), Collections.unmodifiableList(viePlayerHands)));
+    if (observed) {
+      final List<ViePlayerHand> handsAfterDecision = getPlayerHandViews();
+      callObservers(o -> o.observeDecisionOutcome(getGameInfo(), decision, currentHand,
+          dealerHand.getCard(0), handsAfterDecision));
+    }
+  }
+
+  /**
+   *
+   * @return true if at least one of the player's hands is not a bust
+   */
+  private boolean playerHasAtLeastOneHandWithoutBust() {
+    for (final PlayerHandState hand : playerHands) {
+      if (!hand.isBusted()) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -584,7 +849,7 @@ public class Table {
    */
   private List<ViePlayerHandPayout> settleAllBets() {
     final List<ViePlayerHandPayout> payouts =
-        HandUtil.calculatePayouts(viePlayerHands, vieDealerHand, rules);
+        HandUtil.calculatePayouts(getPlayerHandViews(), dealerHand.toVieDealerHand(), rules);
 
     availableMoney += payouts.stream().mapToInt(ViePlayerHandPayout::getPayout).sum();
     return Collections.unmodifiableList(payouts);
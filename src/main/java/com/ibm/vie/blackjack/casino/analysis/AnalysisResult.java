@@ -21,6 +21,7 @@ import java.util.List;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.math3.stat.Frequency;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import com.ibm.vie.blackjack.casino.config.TableConfig;
 import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
 import com.ibm.vie.blackjack.player.CasinoRules;
@@ -41,6 +42,7 @@ public class AnalysisResult {
       "Min Earnings", "Max Earnings", "Mean Earnings", "Mean Earnings 95% Low",
       "Mean Earnings 95% High", "Hands Played", "Player Blackjack", "Player Win (No Blackjack)",
       "Push", "Player Lose Dealer Blackjack", "Player Lose (No Bust)", "Player Lose (Bust)"};
+  private final StatisticalSummary earningsSummary;
   private final DescriptiveStatistics earningsStats;
   private final Frequency gameStats;
   private final CasinoRules houseRules;
@@ -62,7 +64,32 @@ public class AnalysisResult {
   public AnalysisResult(final Frequency gameStats, final DescriptiveStatistics earningsStats,
       final Class<? extends PlayerStrategy> strategy, final CasinoRules houseRules,
       final TableConfig tableConfig) {
+    this(gameStats, earningsStats, earningsStats, strategy, houseRules, tableConfig);
+  }
+
+
+  /**
+   * Constructor for results where only a summary of the earnings was kept. Such a result has no
+   * {@link #getEarningsStats()}, and can not print a raw csv record.
+   *
+   * @param gameStats
+   * @param earningsSummary summary statistics of the earnings
+   * @param strategy
+   * @param houseRules
+   * @param tableConfig
+   */
+  public AnalysisResult(final Frequency gameStats, final StatisticalSummary earningsSummary,
+      final Class<? extends PlayerStrategy> strategy, final CasinoRules houseRules,
+      final TableConfig tableConfig) {
+    this(gameStats, earningsSummary, null, strategy, houseRules, tableConfig);
+  }
+
+
+  private AnalysisResult(final Frequency gameStats, final StatisticalSummary earningsSummary,
+      final DescriptiveStatistics earningsStats, final Class<? extends PlayerStrategy> strategy,
+      final CasinoRules houseRules, final TableConfig tableConfig) {
     this.gameStats = gameStats;
+    this.earningsSummary = earningsSummary;
     this.earningsStats = earningsStats;
     this.strategy = strategy;
     this.houseRules = houseRules;
@@ -82,13 +109,34 @@ public class AnalysisResult {
   /**
    * returns descriptive statistics for the earnings of the games under analysis
    * 
-   * @return earnings statistics
+   * @return earnings statistics, or null if only a summary of the earnings was kept
    */
   public DescriptiveStatistics getEarningsStats() {
     return earningsStats;
   }
 
 
+  /**
+   * returns summary statistics for the earnings of the games under analysis. This is available
+   * whether or not the earnings of each game were kept.
+   *
+   * @return earnings summary
+   */
+  public StatisticalSummary getEarningsSummary() {
+    return earningsSummary;
+  }
+
+
+  /**
+   *
+   * @return true if the earnings of each game were kept, so that {@link #getEarningsStats()} and
+   *         {@link #printRawCsvRecord(CSVPrinter)} can be used
+   */
+  public boolean hasEarningsOfEachTrial() {
+    return earningsStats != null;
+  }
+
+
   /**
    * 
    * @return the config the table that was analyzed
@@ -104,13 +152,13 @@ public class AnalysisResult {
    * @throws IOException
    */
   public void printSummaryCsvRecord(CSVPrinter printer) throws IOException {
-    final double cIMean = AnalysisUtil.calcMeanCI(earningsStats, .95);
+    final double cIMean = AnalysisUtil.calcMeanCI(earningsSummary, .95);
     printer.printRecord(this.strategy.getSimpleName(), 
         this.houseRules.getDescription(), 
         this.tableConfig.getName(),
-        this.getEarningsStats().getN(), this.getEarningsStats().getMin(),
-        this.getEarningsStats().getMax(), this.getEarningsStats().getMean(),
-        this.getEarningsStats().getMean() - cIMean, this.getEarningsStats().getMean() + cIMean,
+        this.getEarningsSummary().getN(), this.getEarningsSummary().getMin(),
+        this.getEarningsSummary().getMax(), this.getEarningsSummary().getMean(),
+        this.getEarningsSummary().getMean() - cIMean, this.getEarningsSummary().getMean() + cIMean,
         this.gameStats.getSumFreq(), this.gameStats.getCount(HandResultCategory.PLAYER_BLACKJACK),
         this.gameStats.getCount(HandResultCategory.PLAYER_WIN_NO_BLACKJACK),
         this.gameStats.getCount(HandResultCategory.PUSH),
@@ -127,7 +175,7 @@ public class AnalysisResult {
    * interval.
    */
   public double getMeanConfidenceInterval() {
-    return AnalysisUtil.calcMeanCI(earningsStats, .95);
+    return AnalysisUtil.calcMeanCI(earningsSummary, .95);
   }
   
   
@@ -148,8 +196,14 @@ public class AnalysisResult {
    * 
    * @param printer
    * @throws IOException
+   * @throws IllegalStateException if only a summary of the earnings was kept, see
+   *         {@link #hasEarningsOfEachTrial()}
    */
   public void printRawCsvRecord(CSVPrinter printer) throws IOException {
+    if (earningsStats == null) {
+      throw new IllegalStateException("The earnings of each trial were not kept for "
+          + this.strategy.getSimpleName() + ", analyze with keepEarnings set");
+    }
     List<Object> columns = new LinkedList<Object>();
     columns.add(this.strategy.getSimpleName());
     columns.add(this.tableConfig.getName());
@@ -168,11 +222,11 @@ public class AnalysisResult {
     sb.append("Analysis of Strategy " + strategy.getName() + " with house rules "
         + houseRules.getDescription() + " and table " + this.tableConfig.getName() + "\n");
 
-    final double ci = AnalysisUtil.calcMeanCI(earningsStats, .95);
-    sb.append(earningsStats + "\n");
+    final double ci = AnalysisUtil.calcMeanCI(earningsSummary, .95);
+    sb.append(earningsSummary + "\n");
 
-    sb.append("95% confidence interval for the MEAN earnings is [" + (earningsStats.getMean() - ci)
-        + "," + (earningsStats.getMean() + ci) + "]\n");
+    sb.append("95% confidence interval for the MEAN earnings is [" + (earningsSummary.getMean() - ci)
+        + "," + (earningsSummary.getMean() + ci) + "]\n");
 
     sb.append("Hand results by category:\n");
 
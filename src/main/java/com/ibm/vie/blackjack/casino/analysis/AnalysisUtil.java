@@ -19,7 +19,7 @@ package com.ibm.vie.blackjack.casino.analysis;
 
 import org.apache.commons.math3.distribution.TDistribution;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 
 /**
  * Utilities for analysis routines
@@ -37,7 +37,7 @@ public class AnalysisUtil {
    * 
    * @return the value to add or remove to the mean to determine the confidence interval
    */
-  public static double calcMeanCI(final DescriptiveStatistics stats, final double level) {
+  public static double calcMeanCI(final StatisticalSummary stats, final double level) {
     try {
       final TDistribution tDist = new TDistribution(stats.getN() - 1);
       final double critVal = tDist.inverseCumulativeProbability(1.0 - (1 - level) / 2);
@@ -14,16 +14,20 @@
  */
 package com.ibm.vie.blackjack.casino.analysis;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import org.apache.commons.math3.stat.Frequency;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import com.ibm.vie.blackjack.casino.Table;
 import com.ibm.vie.blackjack.casino.config.TableConfig;
-import com.ibm.vie.blackjack.casino.observer.GameResultObserver;
+import com.ibm.vie.blackjack.casino.output.OutputCapture;
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
 import com.ibm.vie.blackjack.casino.rules.RochesterMnCasinoRules;
 import com.ibm.vie.blackjack.casino.stats.GameResult;
-import com.ibm.vie.blackjack.casino.stats.GameResultStatCalculator;
 import com.ibm.vie.blackjack.player.CasinoRules;
 import com.ibm.vie.blackjack.player.PlayerStrategy;
 
@@ -83,6 +87,11 @@ public class AnalyzeSolution {
    *
    * </p>
    *
+   * <p>
+   * The games are played one after another on the calling thread. Use
+   * {@link #analyze(Class, TableConfig, int, CasinoRules, int, int)} to play them on more threads.
+   * </p>
+   *
    * @param strategy
    * @param tableConfig
    * @param n
@@ -91,23 +100,197 @@ public class AnalyzeSolution {
    */
   public static AnalysisResult analyze(final Class<? extends PlayerStrategy> strategy,
       final TableConfig tableConfig, final int n, final CasinoRules houseRules, final int initialDeckSeed) {
+    return analyze(strategy, tableConfig, n, houseRules, initialDeckSeed, 1);
+  }
+
+  /**
+   * Analyze a strategy for a Table configuration, using up to numberOfThreads threads.
+   *
+   * <p>
+   * The runs are split into ranges of deck seeds, and each thread plays one range. The results are
+   * combined in seed order, so the analysis result is the same for any number of threads. An
+   * instance of the strategy is created for each run; a strategy that shares state between instances
+   * (such as static fields) must be analyzed with a single thread.
+   * </p>
+   *
+   * @param strategy
+   * @param tableConfig
+   * @param n
+   * @param houseRules
+   * @param initialDeckSeed deck seed to start with
+   * @param numberOfThreads maximum number of games to play at the same time
+   * @return results from analysis
+   */
+  public static AnalysisResult analyze(final Class<? extends PlayerStrategy> strategy,
+      final TableConfig tableConfig, final int n, final CasinoRules houseRules,
+      final int initialDeckSeed, final int numberOfThreads) {
+    return analyze(strategy, tableConfig, n, houseRules, initialDeckSeed, numberOfThreads, true);
+  }
+
+  /**
+   * Analyze a strategy for a Table configuration, using up to numberOfThreads threads.
+   *
+   * <p>
+   * This is the same as {@link #analyze(Class, TableConfig, int, CasinoRules, int, int)}, but the
+   * earnings of each game can be left out of the result. Each game is added to a
+   * {@link GameResultAccumulator} as soon as it is finished, so without the earnings of each game
+   * the memory used does not depend on the number of runs.
+   * </p>
+   *
+   * @param strategy
+   * @param tableConfig
+   * @param n
+   * @param houseRules
+   * @param initialDeckSeed deck seed to start with
+   * @param numberOfThreads maximum number of games to play at the same time
+   * @param keepEarnings true to keep the earnings of each game, for
+   *        {@link AnalysisResult#getEarningsStats()} and
+   *        {@link AnalysisResult#printRawCsvRecord(org.apache.commons.csv.CSVPrinter)}
+   * @return results from analysis
+   */
+  public static AnalysisResult analyze(final Class<? extends PlayerStrategy> strategy,
+      final TableConfig tableConfig, final int n, final CasinoRules houseRules,
+      final int initialDeckSeed, final int numberOfThreads, final boolean keepEarnings) {
+    final long[] earnings = keepEarnings ? new long[n] : null;
+
+    final GameResultAccumulator results = runGameManyTimes(strategy, tableConfig, n,
+        initialDeckSeed, houseRules, numberOfThreads, earnings);
+
+    if (earnings == null) {
+      return new AnalysisResult(results.getHandCategoryFrequency(), results, strategy, houseRules,
+          tableConfig);
+    }
+    return new AnalysisResult(results.getHandCategoryFrequency(),
+        new DescriptiveStatistics(Arrays.stream(earnings).asDoubleStream().toArray()), strategy,
+        houseRules, tableConfig);
+  }
+
+
+  /**
+   * Analyze a strategy for a Table configuration until the mean earnings are known precisely
+   * enough. (The default house rules are applied, and the games are played on one thread).
+   *
+   * @see #analyzeToPrecision(Class, TableConfig, CasinoRules, PrecisionTarget, int)
+   *
+   * @param strategy
+   * @param tableConfig
+   * @param target precision to reach, and the most games to play
+   * @return results from analysis
+   */
+  public static AnalysisResult analyzeToPrecision(final Class<? extends PlayerStrategy> strategy,
+      final TableConfig tableConfig, final PrecisionTarget target) {
+    return analyzeToPrecision(strategy, tableConfig, new RochesterMnCasinoRules(), target, 1);
+  }
+
+  /**
+   * Analyze a strategy for a Table configuration until the mean earnings are known precisely
+   * enough, using up to numberOfThreads threads.
+   *
+   * <p>
+   * Games are played in batches of {@link PrecisionTarget#getBatchSize()}, continuing with the
+   * next deck seeds, and the confidence interval of the mean is checked after each batch. The
+   * analysis stops when the target is met or {@link PrecisionTarget#getMaxRuns()} games have been
+   * played. Strategies with steady earnings stop after a few batches, and noisy ones run until
+   * their interval is narrow enough. The result is the same as {@link #analyze(Class, TableConfig,
+   * int, CasinoRules, int, int)} for the number of games that were played.
+   * </p>
+   *
+   * @param strategy
+   * @param tableConfig
+   * @param houseRules
+   * @param target precision to reach, and the most games to play
+   * @param numberOfThreads maximum number of games to play at the same time
+   * @return results from analysis, {@link AnalysisResult#getEarningsSummary()} has the number of
+   *         games that were played
+   */
+  public static AnalysisResult analyzeToPrecision(final Class<? extends PlayerStrategy> strategy,
+      final TableConfig tableConfig, final CasinoRules houseRules, final PrecisionTarget target,
+      final int numberOfThreads) {
+    final GameResultAccumulator results =
+        new GameResultAccumulator(tableConfig.getInitialMoney());
+    final int startingSeed = tableConfig.getDeckNumber();
 
-    final List<GameResult> results =
-        runGameManyTimes(strategy, tableConfig, n, tableConfig.getDeckNumber(), houseRules);
+    int runs = 0;
+    do {
+      final int batch = Math.min(target.getBatchSize(), target.getMaxRuns() - runs);
+      results.merge(runGameManyTimes(strategy, tableConfig, batch, startingSeed + runs, houseRules,
+          numberOfThreads, null));
+      runs += batch;
+    } while (runs < target.getMaxRuns() && !target.isMetBy(results));
+
+    return new AnalysisResult(results.getHandCategoryFrequency(), results, strategy, houseRules,
+        tableConfig);
+  }
 
-    final double[] earnings = results.stream()
-        .mapToDouble(result -> result.getFinalMoney() - tableConfig.getInitialMoney()).toArray();
 
-    final DescriptiveStatistics earningStats = new DescriptiveStatistics(earnings);
+  /**
+   * Compare two strategies by playing both with the same deck seeds.
+   *
+   * <p>
+   * Each seed is played once by each strategy, so both strategies are dealt from shoes that are
+   * shuffled the same way. Luck in the cards affects both sides alike and cancels out of the
+   * difference of their earnings, so the difference of the means is known precisely with far fewer
+   * games than comparing two separate analyses. The seed ranges of both strategies are played at
+   * the same time, using up to numberOfThreads threads.
+   * </p>
+   *
+   * @param first strategy whose earnings are the first of the difference
+   * @param second strategy whose earnings are subtracted
+   * @param tableConfig
+   * @param n number of deck seeds to play
+   * @param houseRules
+   * @param numberOfThreads maximum number of games to play at the same time
+   * @return results of both strategies and the difference of their earnings for each seed
+   */
+  public static PairedComparisonResult compare(final Class<? extends PlayerStrategy> first,
+      final Class<? extends PlayerStrategy> second, final TableConfig tableConfig, final int n,
+      final CasinoRules houseRules, final int numberOfThreads) {
+    final int startingSeed = tableConfig.getDeckNumber();
+    final int numberOfRanges = Math.max(1, Math.min((numberOfThreads + 1) / 2, n));
+    final GameResultAccumulator firstResults =
+        new GameResultAccumulator(tableConfig.getInitialMoney());
+    final GameResultAccumulator secondResults =
+        new GameResultAccumulator(tableConfig.getInitialMoney());
+    final EarningsSummary differences = new EarningsSummary();
 
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, numberOfThreads));
+    try {
+      final List<Future<GameResultAccumulator>> ranges = new ArrayList<>(2 * numberOfRanges);
+      final List<long[]> earnings = new ArrayList<>(2 * numberOfRanges);
+      for (int range = 0; range < numberOfRanges; range++) {
+        final int firstSeed = startingSeed + (int) ((long) n * range / numberOfRanges);
+        final int endSeed = startingSeed + (int) ((long) n * (range + 1) / numberOfRanges);
+        for (final Class<? extends PlayerStrategy> strategy : Arrays.asList(first, second)) {
+          final long[] earningsBySeed = new long[endSeed - firstSeed];
+          earnings.add(earningsBySeed);
+          ranges.add(executor.submit(() -> runSeedRange(strategy, tableConfig, firstSeed, endSeed,
+              houseRules, earningsBySeed)));
+        }
+      }
 
-    Frequency aggFrequency = new Frequency();
-    for (GameResult gResult : results) {
-      final GameResultStatCalculator gameStats = new GameResultStatCalculator(tableConfig.getName(), gResult);
-      aggFrequency.merge(gameStats.getHandCategoryFrequency());
+      for (int range = 0; range < numberOfRanges; range++) {
+        firstResults.merge(ranges.get(2 * range).get());
+        secondResults.merge(ranges.get(2 * range + 1).get());
+        final long[] firstEarnings = earnings.get(2 * range);
+        final long[] secondEarnings = earnings.get(2 * range + 1);
+        for (int seed = 0; seed < firstEarnings.length; seed++) {
+          differences.addEarnings(firstEarnings[seed] - secondEarnings[seed]);
+        }
+      }
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
     }
 
-    return new AnalysisResult(aggFrequency, earningStats, strategy, houseRules, tableConfig);
+    return new PairedComparisonResult(
+        new AnalysisResult(firstResults.getHandCategoryFrequency(), firstResults, first,
+            houseRules, tableConfig),
+        new AnalysisResult(secondResults.getHandCategoryFrequency(), secondResults, second,
+            houseRules, tableConfig),
+        differences);
   }
 
 
@@ -116,43 +299,108 @@ public class AnalyzeSolution {
    * This suppresses standard output during the run so that algorithms like 
    * MyPlayer do not take forever because of console IO
    *
+   * <p>
+   * The seeds are split into one contiguous range per thread. Each range is summarized by its own
+   * accumulator, and the accumulators are merged when all ranges are finished.
+   * </p>
+   *
    * @param clazz
    * @param config
    * @param numberOfRuns
    * @param startingSeed
    * @param houseRules
+   * @param numberOfThreads
+   * @param earnings if not null, the earnings of each game are stored in this array, in seed order
    *
-   * @return the list of game results
+   * @return summary of the game results
    */
-  private static List<GameResult> runGameManyTimes(final Class<? extends PlayerStrategy> clazz,
+  private static GameResultAccumulator runGameManyTimes(final Class<? extends PlayerStrategy> clazz,
       final TableConfig config, final int numberOfRuns, final int startingSeed,
-      final CasinoRules houseRules) {
-    final List<GameResult> gameResults = new LinkedList<>();
+      final CasinoRules houseRules, final int numberOfThreads, final long[] earnings) {
+    final GameResultAccumulator gameResults = new GameResultAccumulator(config.getInitialMoney());
+    final int numberOfRanges = Math.max(1, Math.min(numberOfThreads, numberOfRuns));
 
-    StdOutputRerouter.reroute();
-    
-    
     try {
-      for (int n = 0; n < numberOfRuns; n++) {
-        final TableConfig lconfig = new TableConfig(config.getInitialMoney(), config.getMinBet(),
-            config.getMaxBet(), config.getNumDecks(), config.getNumRounds(), n + startingSeed);
-        final PlayerStrategy strategy = clazz.newInstance();
-        final Table table1 = lconfig.getTable(strategy, houseRules);
-        final GameResultObserver tracker1 = new GameResultObserver(strategy.getStudentName(), table1.getRules());
-        table1.addObserver(tracker1);
-        table1.playManyRoundsOfBlackJack();
-        gameResults.add(tracker1.getResult());
+      if (numberOfRanges == 1) {
+        gameResults.merge(
+            runSeedRange(clazz, config, startingSeed, startingSeed + numberOfRuns, houseRules,
+                earnings));
+      } else {
+        final ExecutorService executor = Executors.newFixedThreadPool(numberOfRanges);
+        try {
+          final List<Future<GameResultAccumulator>> ranges = new ArrayList<>(numberOfRanges);
+          final List<long[]> rangeEarnings = new ArrayList<>(numberOfRanges);
+          for (int range = 0; range < numberOfRanges; range++) {
+            final int firstSeed = startingSeed + (int) ((long) numberOfRuns * range / numberOfRanges);
+            final int endSeed =
+                startingSeed + (int) ((long) numberOfRuns * (range + 1) / numberOfRanges);
+            final long[] earningsBySeed = earnings == null ? null : new long[endSeed - firstSeed];
+            rangeEarnings.add(earningsBySeed);
+            ranges.add(executor.submit(
+                () -> runSeedRange(clazz, config, firstSeed, endSeed, houseRules, earningsBySeed)));
+          }
+          int played = 0;
+          for (int range = 0; range < numberOfRanges; range++) {
+            gameResults.merge(ranges.get(range).get());
+            if (earnings != null) {
+              final long[] earningsBySeed = rangeEarnings.get(range);
+              System.arraycopy(earningsBySeed, 0, earnings, played, earningsBySeed.length);
+              played += earningsBySeed.length;
+            }
+          }
+        } finally {
+          executor.shutdownNow();
+        }
       }
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e.getCause());
     } catch (final Exception e) {
       throw new RuntimeException(e);
     }
-    finally {
-      StdOutputRerouter.restore();
-    }
 
     return gameResults;
 
   }
 
+  /**
+   * Plays one game for each deck seed in a range. Standard output of the calling thread is
+   * discarded while the games are played.
+   *
+   * @param clazz
+   * @param config
+   * @param firstSeed first deck seed to play
+   * @param endSeed deck seed after the last seed to play
+   * @param houseRules
+   * @param earningsBySeed if not null, the earnings of each game are stored in this array, starting
+   *        with the first seed at index 0
+   *
+   * @return summary of the game results
+   * @throws Exception if the strategy can not be created
+   */
+  @SuppressWarnings("try")
+  private static GameResultAccumulator runSeedRange(final Class<? extends PlayerStrategy> clazz,
+      final TableConfig config, final int firstSeed, final int endSeed,
+      final CasinoRules houseRules, final long[] earningsBySeed) throws Exception {
+    final GameResultAccumulator gameResults = new GameResultAccumulator(config.getInitialMoney());
+
+    try (OutputCapture capture = ThreadOutputRouter.discard()) {
+      for (int seed = firstSeed; seed < endSeed; seed++) {
+        final TableConfig lconfig = new TableConfig(config.getInitialMoney(), config.getMinBet(),
+            config.getMaxBet(), config.getNumDecks(), config.getNumRounds(), seed)
+            .withRandomNumberGenerator(config.getRandomNumberGenerator());
+        final PlayerStrategy strategy = clazz.newInstance();
+        final Table table1 = lconfig.getTable(strategy, houseRules);
+        final GameResult result =
+            table1.playManyRoundsOfBlackJackHeadless(strategy.getStudentName());
+        gameResults.add(result);
+        if (earningsBySeed != null) {
+          earningsBySeed[seed - firstSeed] = result.getFinalMoney() - config.getInitialMoney();
+        }
+      }
+    }
+
+    return gameResults;
+  }
+
 }
 
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.card.Suit;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.player.CasinoRules;
+
+/**
+ * Calculates the exact distribution of the dealer's final hand, for an up card and the cards that
+ * are left in the shoe.
+ *
+ * <p>
+ * Every way the dealer can draw from the shoe is followed, with the probability of each card
+ * depending on the cards that were drawn before it, so the result is exact rather than an estimate
+ * from many simulated hands. The dealer plays as the {@link com.ibm.vie.blackjack.casino.Table}
+ * does, hitting until 17 and hitting on a soft 17 when
+ * {@link CasinoRules#getDealerHitsOnSoft17()} is true.
+ * </p>
+ *
+ * <p>
+ * The shoe is described by the number of cards of each score, indexed from 1 (aces) to 10 (tens
+ * and face cards) like {@link com.ibm.vie.blackjack.casino.CardManager#getDiscardTrayCountsByScore()}.
+ * Results are remembered by up card and shoe, so asking again for a shoe that was already
+ * calculated is a single map lookup. The calculator is thread safe.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class DealerOutcomeCalculator {
+  /**
+   * Highest score of a card, the index of tens in the counts of the shoe
+   */
+  public static final int MAX_CARD_SCORE = VieCard.MAX_CARD_SCORE;
+
+  /**
+   * Most decks in a shoe that the memo key can hold
+   */
+  public static final int MAX_DECKS = 15;
+
+  private static final int BITS_PER_COUNT = 6;
+  private static final int BITS_FOR_TENS = 8;
+  private static final int SOFT_BONUS = Rank.ACE.getRankMaxScore() - Rank.ACE.getRankMinScore();
+  private static final int BITS_PER_DRAWN_CARD = 5;
+
+  // outcomes are the totals from 17 to 21, then a bust and a blackjack
+  private static final int BUST = DealerOutcomes.MAX_TOTAL - DealerOutcomes.MIN_STANDING_TOTAL + 1;
+  private static final int BLACKJACK = BUST + 1;
+  private static final int OUTCOMES = BLACKJACK + 1;
+  private static final double[][] CERTAIN = new double[OUTCOMES][OUTCOMES];
+
+  static {
+    for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+      CERTAIN[outcome][outcome] = 1;
+    }
+  }
+
+  private final boolean dealerHitsOnSoft17;
+  private final List<Map<Long, DealerOutcomes>> outcomesByUpCard;
+
+  /**
+   *
+   * @param rules the casino rules, which decide whether the dealer hits on a soft 17
+   */
+  public DealerOutcomeCalculator(final CasinoRules rules) {
+    this.dealerHitsOnSoft17 = rules.getDealerHitsOnSoft17();
+    this.outcomesByUpCard = new ArrayList<>(MAX_CARD_SCORE + 1);
+    for (int score = 0; score <= MAX_CARD_SCORE; score++) {
+      outcomesByUpCard.add(new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * Counts the cards of a full shoe
+   *
+   * @param numberOfDecks number of decks in the shoe
+   * @return number of cards of each score, indexed from 1 (aces) to 10 (tens and face cards)
+   */
+  public static int[] getShoeCountsByScore(final int numberOfDecks) {
+    final int[] counts = new int[MAX_CARD_SCORE + 1];
+    final int suits = Suit.values().length;
+    for (final Rank rank : Rank.values()) {
+      counts[rank.getRankMinScore()] += suits * numberOfDecks;
+    }
+    return counts;
+  }
+
+  /**
+   * Calculates the distribution of the dealer's final hand
+   *
+   * @param upCardScore score of the dealer's up card, 1 for an ace
+   * @param countsByScore number of cards of each score that the dealer's hole card and hits are
+   *        drawn from, indexed from 1 (aces) to 10 (tens and face cards). The up card must not be
+   *        counted. The array is not changed.
+   * @return the distribution, including the chance of a blackjack
+   *
+   * @throws IllegalArgumentException if the up card or the counts are not valid, or the shoe can
+   *         run out of cards before the dealer is done
+   */
+  public DealerOutcomes calculate(final int upCardScore, final int[] countsByScore) {
+    if (upCardScore < 1 || upCardScore > MAX_CARD_SCORE) {
+      throw new IllegalArgumentException("Up card score " + upCardScore + " is not between 1 and "
+          + MAX_CARD_SCORE);
+    }
+    final Map<Long, DealerOutcomes> outcomes = outcomesByUpCard.get(upCardScore);
+    final long key = toKey(countsByScore);
+    final DealerOutcomes known = outcomes.get(key);
+    if (known != null) {
+      return known;
+    }
+
+    final double[] probabilities =
+        new Drawing(countsByScore).draw(upCardScore, upCardScore == 1, 1, 0);
+    final DealerOutcomes calculated =
+        new DealerOutcomes(Arrays.copyOf(probabilities, BUST), probabilities[BUST],
+            probabilities[BLACKJACK]);
+    final DealerOutcomes previous = outcomes.putIfAbsent(key, calculated);
+    return previous != null ? previous : calculated;
+  }
+
+  /**
+   *
+   * @return number of distributions that are remembered
+   */
+  public int getNumberOfRememberedOutcomes() {
+    int size = 0;
+    for (final Map<Long, DealerOutcomes> outcomes : outcomesByUpCard) {
+      size += outcomes.size();
+    }
+    return size;
+  }
+
+  /**
+   * Packs the counts of a shoe into a long
+   *
+   * @param countsByScore
+   * @return key for the memo
+   */
+  private static long toKey(final int[] countsByScore) {
+    if (countsByScore.length != MAX_CARD_SCORE + 1) {
+      throw new IllegalArgumentException("Counts must be indexed from 1 to " + MAX_CARD_SCORE);
+    }
+    long key = 0;
+    for (int score = 1; score < MAX_CARD_SCORE; score++) {
+      key = (key << BITS_PER_COUNT) | checkCount(countsByScore[score], BITS_PER_COUNT);
+    }
+    return (key << BITS_FOR_TENS) | checkCount(countsByScore[MAX_CARD_SCORE], BITS_FOR_TENS);
+  }
+
+  private static long checkCount(final int count, final int bits) {
+    if (count < 0 || count >= 1 << bits) {
+      throw new IllegalArgumentException(
+          "Count " + count + " is not valid for a shoe of up to " + MAX_DECKS + " decks");
+    }
+    return count;
+  }
+
+  /**
+   * The state of one calculation, the counts are changed as cards are drawn and put back.
+   *
+   * <p>
+   * The dealer's hand only depends on which cards were drawn, not their order, so the outcomes
+   * after each set of drawn cards are remembered for the rest of the calculation.
+   * </p>
+   */
+  private class Drawing {
+    private final int[] counts;
+    private int cardsLeft = 0;
+    private final Map<Long, double[]> outcomesByDrawnCards = new HashMap<>();
+
+    private Drawing(final int[] countsByScore) {
+      this.counts = countsByScore.clone();
+      for (int score = 1; score <= MAX_CARD_SCORE; score++) {
+        cardsLeft += counts[score];
+      }
+    }
+
+    /**
+     * Follows every card the dealer can draw next
+     *
+     * @param scoreAceAs1 score of the dealer's hand, counting aces as 1
+     * @param hasAce true if the dealer's hand has an ace
+     * @param numberOfCards number of cards in the dealer's hand
+     * @param drawnCards the cards drawn so far, packed by score
+     * @return probability of each final total, then of a bust and of a blackjack. Must not be
+     *         changed.
+     */
+    private double[] draw(final int scoreAceAs1, final boolean hasAce, final int numberOfCards,
+        final long drawnCards) {
+      final boolean soft = hasAce && scoreAceAs1 + SOFT_BONUS <= DealerOutcomes.MAX_TOTAL;
+      final int score = soft ? scoreAceAs1 + SOFT_BONUS : scoreAceAs1;
+
+      if (score > DealerOutcomes.MAX_TOTAL) {
+        return CERTAIN[BUST];
+      }
+      if (numberOfCards == 2 && score == DealerOutcomes.MAX_TOTAL) {
+        return CERTAIN[BLACKJACK];
+      }
+      if (numberOfCards >= 2 && (dealerHitsOnSoft17
+          ? (scoreAceAs1 >= DealerOutcomes.MIN_STANDING_TOTAL
+              || score > DealerOutcomes.MIN_STANDING_TOTAL)
+          : score >= DealerOutcomes.MIN_STANDING_TOTAL)) {
+        return CERTAIN[score - DealerOutcomes.MIN_STANDING_TOTAL];
+      }
+      final double[] known = outcomesByDrawnCards.get(drawnCards);
+      if (known != null) {
+        return known;
+      }
+      if (cardsLeft == 0) {
+        throw new IllegalArgumentException("The shoe runs out of cards before the dealer is done");
+      }
+
+      final double[] outcomes = new double[OUTCOMES];
+      final double cards = cardsLeft;
+      for (int card = 1; card <= MAX_CARD_SCORE; card++) {
+        final int count = counts[card];
+        if (count > 0) {
+          counts[card]--;
+          cardsLeft--;
+          final double[] next = draw(scoreAceAs1 + card, hasAce || card == 1, numberOfCards + 1,
+              drawnCards + (1L << (BITS_PER_DRAWN_CARD * (card - 1))));
+          counts[card]++;
+          cardsLeft++;
+
+          final double probability = count / cards;
+          for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+            outcomes[outcome] += probability * next[outcome];
+          }
+        }
+      }
+      outcomesByDrawnCards.put(drawnCards, outcomes);
+      return outcomes;
+    }
+  }
+
+}
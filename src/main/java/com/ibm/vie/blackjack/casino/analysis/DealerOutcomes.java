@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+/**
+ * Immutable distribution of the dealer's final hand: a total of 17 to 21, a bust, or a blackjack.
+ *
+ * @see DealerOutcomeCalculator
+ *
+ * @author ntl
+ *
+ */
+public class DealerOutcomes {
+  /**
+   * Lowest total the dealer stands on
+   */
+  public static final int MIN_STANDING_TOTAL = 17;
+
+  /**
+   * Highest total the dealer can have without busting
+   */
+  public static final int MAX_TOTAL = 21;
+
+  private final double[] probabilityOfTotal;
+  private final double probabilityOfBust;
+  private final double probabilityOfBlackJack;
+
+  /**
+   * Build the distribution
+   *
+   * @param probabilityOfTotal probability of each total, from {@link #MIN_STANDING_TOTAL} to
+   *        {@link #MAX_TOTAL}, not counting blackjack. The array is copied.
+   * @param probabilityOfBust
+   * @param probabilityOfBlackJack
+   */
+  DealerOutcomes(final double[] probabilityOfTotal, final double probabilityOfBust,
+      final double probabilityOfBlackJack) {
+    this.probabilityOfTotal = probabilityOfTotal.clone();
+    this.probabilityOfBust = probabilityOfBust;
+    this.probabilityOfBlackJack = probabilityOfBlackJack;
+  }
+
+  /**
+   *
+   * @param total a total from {@link #MIN_STANDING_TOTAL} to {@link #MAX_TOTAL}
+   * @return probability that the dealer ends with the total, without a blackjack
+   *
+   * @throws IllegalArgumentException if the dealer can not end with the total
+   */
+  public double getProbabilityOfTotal(final int total) {
+    if (total < MIN_STANDING_TOTAL || total > MAX_TOTAL) {
+      throw new IllegalArgumentException("The dealer can not end with a total of " + total);
+    }
+    return probabilityOfTotal[total - MIN_STANDING_TOTAL];
+  }
+
+  /**
+   *
+   * @return probability that the dealer busts
+   */
+  public double getProbabilityOfBust() {
+    return probabilityOfBust;
+  }
+
+  /**
+   *
+   * @return probability that the dealer has a blackjack
+   */
+  public double getProbabilityOfBlackJack() {
+    return probabilityOfBlackJack;
+  }
+
+  /**
+   * The distribution once the dealer is known not to have a blackjack.
+   *
+   * <p>
+   * The table ends the round before the player's turn when the dealer has a blackjack, so this is
+   * the distribution that matters for the player's decisions.
+   * </p>
+   *
+   * @return the distribution without blackjack, or this distribution if the dealer always has a
+   *         blackjack
+   */
+  public DealerOutcomes givenNoBlackJack() {
+    final double scale = 1 - probabilityOfBlackJack;
+    if (probabilityOfBlackJack == 0 || scale <= 0) {
+      return this;
+    }
+    final double[] totals = new double[probabilityOfTotal.length];
+    for (int i = 0; i < totals.length; i++) {
+      totals[i] = probabilityOfTotal[i] / scale;
+    }
+    return new DealerOutcomes(totals, probabilityOfBust / scale, 0);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int total = MIN_STANDING_TOTAL; total <= MAX_TOTAL; total++) {
+      sb.append(total).append(": ").append(getProbabilityOfTotal(total)).append(", ");
+    }
+    sb.append("bust: ").append(probabilityOfBust);
+    sb.append(", blackjack: ").append(probabilityOfBlackJack);
+    return sb.toString();
+  }
+
+}
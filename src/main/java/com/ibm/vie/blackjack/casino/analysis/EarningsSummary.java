@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.math.BigInteger;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+/**
+ * Summary statistics of whole amounts of money, such as the earnings of games.
+ *
+ * <p>
+ * Only counts and sums are kept, so the memory used does not grow with the number of amounts. The
+ * sums are kept exactly, so summaries that are filled on different threads and then merged give
+ * exactly the same statistics as one summary that was given every amount.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class EarningsSummary implements StatisticalSummary {
+  private long n = 0;
+  private long sum = 0;
+  private long sumOfSquares = 0;
+  private long min = Long.MAX_VALUE;
+  private long max = Long.MIN_VALUE;
+
+  /**
+   * Adds an amount
+   *
+   * @param earnings the amount
+   *
+   * @throws ArithmeticException if the sum of squared amounts no longer fits in a long
+   */
+  public void addEarnings(final long earnings) {
+    n++;
+    sum += earnings;
+    sumOfSquares = Math.addExact(sumOfSquares, earnings * earnings);
+    min = Math.min(min, earnings);
+    max = Math.max(max, earnings);
+  }
+
+  /**
+   * Adds all amounts of another summary to this one
+   *
+   * @param other the summary to add
+   *
+   * @throws ArithmeticException if the sum of squared amounts no longer fits in a long
+   */
+  protected void mergeEarnings(final EarningsSummary other) {
+    n += other.n;
+    sum += other.sum;
+    sumOfSquares = Math.addExact(sumOfSquares, other.sumOfSquares);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  @Override
+  public double getMean() {
+    return n == 0 ? Double.NaN : (double) sum / n;
+  }
+
+  /**
+   * The sample variance, which is computed exactly from the sums before it is converted to a
+   * double
+   */
+  @Override
+  public double getVariance() {
+    if (n == 0) {
+      return Double.NaN;
+    } else if (n == 1) {
+      return 0.0;
+    }
+    // (n * sum(x^2) - sum(x)^2) / (n * (n - 1))
+    final BigInteger bigN = BigInteger.valueOf(n);
+    final BigInteger numerator = bigN.multiply(BigInteger.valueOf(sumOfSquares))
+        .subtract(BigInteger.valueOf(sum).pow(2));
+    return numerator.doubleValue() / ((double) n * (n - 1));
+  }
+
+  @Override
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  @Override
+  public double getMax() {
+    return n == 0 ? Double.NaN : max;
+  }
+
+  @Override
+  public double getMin() {
+    return n == 0 ? Double.NaN : min;
+  }
+
+  @Override
+  public long getN() {
+    return n;
+  }
+
+  @Override
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * Returns the string representation of the statistics.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(getClass().getSimpleName() + ":\n");
+    sb.append("n: " + getN() + "\n");
+    sb.append("min: " + getMin() + "\n");
+    sb.append("max: " + getMax() + "\n");
+    sb.append("mean: " + getMean() + "\n");
+    sb.append("std dev: " + getStandardDeviation() + "\n");
+    return sb.toString();
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import org.apache.commons.math3.stat.Frequency;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
+import com.ibm.vie.blackjack.casino.stats.RoundResultColumns;
+
+/**
+ * Summary of the earnings and hand results of many games, that is updated as each game finishes.
+ *
+ * <p>
+ * Only counts and sums are kept, so the memory used does not grow with the number of games.
+ * Earnings are whole amounts of money, and the sums are kept exactly (see {@link EarningsSummary}),
+ * so accumulators that are filled with parts of the games on different threads and then merged
+ * give exactly the same statistics as one accumulator that was given every game.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class GameResultAccumulator extends EarningsSummary {
+  private final int initialMoney;
+
+  private final long[] handCategoryCounts = new long[HandResultCategory.values().length];
+
+  /**
+   * Constructs an empty accumulator
+   *
+   * @param initialMoney money at the start of each game, which is subtracted from the final money
+   *        to get the earnings
+   */
+  public GameResultAccumulator(final int initialMoney) {
+    this.initialMoney = initialMoney;
+  }
+
+  /**
+   * Adds the earnings and hand results of a game
+   *
+   * @param result the result of a finished game
+   *
+   * @throws ArithmeticException if the sum of squared earnings no longer fits in a long
+   */
+  public void add(final GameResult result) {
+    addEarnings(result.getFinalMoney() - initialMoney);
+
+    final RoundResultColumns rounds = result.getRoundResultColumns();
+    for (int hand = 0; hand < rounds.getNumberOfHands(); hand++) {
+      if (rounds.getCategory(hand) != null) {
+        handCategoryCounts[rounds.getCategory(hand).ordinal()]++;
+      }
+    }
+  }
+
+  /**
+   * Adds all games of another accumulator to this one
+   *
+   * @param other accumulator for the same initial money
+   * @return this accumulator
+   *
+   * @throws ArithmeticException if the sum of squared earnings no longer fits in a long
+   */
+  public GameResultAccumulator merge(final GameResultAccumulator other) {
+    mergeEarnings(other);
+
+    for (int i = 0; i < handCategoryCounts.length; i++) {
+      handCategoryCounts[i] += other.handCategoryCounts[i];
+    }
+    return this;
+  }
+
+  /**
+   * Returns the number of hands for each category of hand result
+   *
+   * @return a new {@link Frequency} object, where the elements are of type
+   *         {@link HandResultCategory}
+   */
+  public Frequency getHandCategoryFrequency() {
+    final Frequency freq = new Frequency(HandResultCategory.descendingOutcome);
+    for (final HandResultCategory category : HandResultCategory.values()) {
+      if (handCategoryCounts[category.ordinal()] > 0) {
+        freq.incrementValue(category, handCategoryCounts[category.ordinal()]);
+      }
+    }
+    return freq;
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.ibm.vie.blackjack.player.Card;
+import com.ibm.vie.blackjack.player.CasinoRules;
+import com.ibm.vie.blackjack.player.DealerHand;
+import com.ibm.vie.blackjack.player.GameInfo;
+import com.ibm.vie.blackjack.player.PlayerDecision;
+import com.ibm.vie.blackjack.player.PlayerHand;
+import com.ibm.vie.blackjack.player.PlayerPayoutHand;
+import com.ibm.vie.blackjack.player.PlayerStrategy;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * A reference strategy that plays every hand from the {@link OptimalStrategyTable} for the rules
+ * of the table, to compare student strategies with.
+ *
+ * <p>
+ * The strategy always bets the minimum and never walks away, so its results show how well the
+ * hands are played rather than how the bets are sized. Tables are generated the first time a set
+ * of rules is seen and are shared by every instance.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class OptimalStrategy implements PlayerStrategy {
+  private static final Map<String, OptimalStrategyTable> TABLES = new ConcurrentHashMap<>();
+
+  private OptimalStrategyTable table = null;
+
+  /**
+   * Gets the table for a set of rules, generating it if it has not been generated yet
+   *
+   * @param rules rules of the table
+   * @return the lookup table
+   */
+  public static OptimalStrategyTable getTable(final TableRules rules) {
+    final CasinoRules houseRules = rules.getCompetitionRules();
+    final String key = rules.getNumberOfDecks() + "/" + houseRules.getDealerHitsOnSoft17() + "/"
+        + houseRules.getBlackJackPayOut() + "/" + houseRules.getPayoutForPush();
+    return TABLES.computeIfAbsent(key, k -> new OptimalStrategyGenerator(rules).generate());
+  }
+
+  @Override
+  public String getStudentName() {
+    return "Optimal Strategy";
+  }
+
+  @Override
+  public int placeInitialBet(final GameInfo gameInfo) {
+    if (table == null) {
+      table = getTable(gameInfo.getTableRules());
+    }
+    return gameInfo.getMinBet();
+  }
+
+  @Override
+  public PlayerDecision decideHowToPlayHand(final GameInfo gameInfo, final PlayerHand currentHand,
+      final List<PlayerHand> playerHands, final Card dealerUpCard) {
+    return table.getDecision(currentHand, dealerUpCard, gameInfo.getAvailableMoney());
+  }
+
+  @Override
+  public boolean decideToWalkAway(final GameInfo gameInfo, final List<PlayerPayoutHand> playerHands,
+      final DealerHand dealerHand) {
+    return false;
+  }
+
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.ibm.vie.blackjack.player.CasinoRules;
+import com.ibm.vie.blackjack.player.PlayerDecision;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Generates the {@link OptimalStrategyTable} for a set of rules, from the expected value of each
+ * decision.
+ *
+ * <p>
+ * Expected values are calculated exactly for the cards that are left in the shoe after the
+ * player's cards and the dealer's up card are dealt, with the dealer's outcomes from a
+ * {@link DealerOutcomeCalculator}. Hitting is followed recursively, with the value of each hand the
+ * player can reach remembered, so each hand is only calculated once for each up card. The payouts
+ * for a blackjack and a push come from the {@link CasinoRules}, and a split hand that makes 21
+ * with two cards is paid as a blackjack, as the table does.
+ * </p>
+ *
+ * <p>
+ * The table is built for the shoe as it is at the start of a round, from the hands of two cards.
+ * Decisions for hands of more than two cards are the better of hitting and standing for the same
+ * score. The value of a split does not count splitting again, and leaves the card kept by the
+ * other hand in the shoe, so it is close to the true value rather than exact.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class OptimalStrategyGenerator {
+  private static final int MAX_TOTAL = DealerOutcomes.MAX_TOTAL;
+  private static final int MAX_CARD_SCORE = DealerOutcomeCalculator.MAX_CARD_SCORE;
+  private static final int SOFT_BONUS = 10;
+  private static final int BITS_PER_CARD = 5;
+
+  private final int numberOfDecks;
+  private final double blackJackPayOut;
+  private final double payoutForPush;
+  private final DealerOutcomeCalculator dealerOutcomes;
+
+  /**
+   *
+   * @param rules the rules of the table, including the number of decks
+   */
+  public OptimalStrategyGenerator(final TableRules rules) {
+    this(rules.getCompetitionRules(), rules.getNumberOfDecks());
+  }
+
+  /**
+   *
+   * @param rules the casino rules, which decide the payouts and how the dealer plays
+   * @param numberOfDecks number of decks in the shoe
+   */
+  public OptimalStrategyGenerator(final CasinoRules rules, final int numberOfDecks) {
+    if (numberOfDecks <= 0 || numberOfDecks > DealerOutcomeCalculator.MAX_DECKS) {
+      throw new IllegalArgumentException("Number of decks must be between 1 and "
+          + DealerOutcomeCalculator.MAX_DECKS);
+    }
+    this.numberOfDecks = numberOfDecks;
+    this.blackJackPayOut = rules.getBlackJackPayOut();
+    this.payoutForPush = rules.getPayoutForPush();
+    this.dealerOutcomes = new DealerOutcomeCalculator(rules);
+  }
+
+  /**
+   * Calculates the expected values and picks the best decision for each hand
+   *
+   * @return the lookup table
+   */
+  public OptimalStrategyTable generate() {
+    final int decisionCount = OptimalStrategyTable.TWO_CARD_DECISIONS.length;
+    final double[][][][] twoCardValues = new double[2][MAX_TOTAL + 1][MAX_CARD_SCORE + 1][];
+    final double[][][] weights = new double[2][MAX_TOTAL + 1][MAX_CARD_SCORE + 1];
+    final double[][] splitValues = new double[MAX_CARD_SCORE + 1][MAX_CARD_SCORE + 1];
+    final boolean[][] splits = new boolean[MAX_CARD_SCORE + 1][MAX_CARD_SCORE + 1];
+
+    for (int upCard = 1; upCard <= MAX_CARD_SCORE; upCard++) {
+      final int[] shoe = DealerOutcomeCalculator.getShoeCountsByScore(numberOfDecks);
+      shoe[upCard]--;
+      final Calculation calculation = new Calculation(upCard, shoe);
+
+      for (int first = 1; first <= MAX_CARD_SCORE; first++) {
+        for (int second = first; second <= MAX_CARD_SCORE; second++) {
+          // chance of being dealt the two cards, in either order
+          final double weight = first == second ? shoe[first] * (shoe[first] - 1.0)
+              : 2.0 * shoe[first] * shoe[second];
+          if (weight == 0) {
+            continue;
+          }
+
+          calculation.add(first);
+          calculation.add(second);
+          final int total = calculation.score();
+          if (total < MAX_TOTAL) {
+            final int soft = calculation.isSoft() ? 1 : 0;
+            final double[] values = {calculation.stand(), calculation.hit(),
+                calculation.doubleDown()};
+            if (twoCardValues[soft][total][upCard] == null) {
+              twoCardValues[soft][total][upCard] = new double[decisionCount];
+            }
+            for (int decision = 0; decision < decisionCount; decision++) {
+              twoCardValues[soft][total][upCard][decision] += weight * values[decision];
+            }
+            weights[soft][total][upCard] += weight;
+
+            if (first == second) {
+              splitValues[first][upCard] = split(calculation, first);
+              splits[first][upCard] = splitValues[first][upCard] > max(values);
+            }
+          }
+          calculation.remove(second);
+          calculation.remove(first);
+        }
+      }
+    }
+
+    final PlayerDecision[][][] twoCardDecisions =
+        new PlayerDecision[2][MAX_TOTAL + 1][MAX_CARD_SCORE + 1];
+    final PlayerDecision[][][] decisions = new PlayerDecision[2][MAX_TOTAL + 1][MAX_CARD_SCORE + 1];
+    for (int soft = 0; soft < 2; soft++) {
+      for (int total = 0; total <= MAX_TOTAL; total++) {
+        for (int upCard = 1; upCard <= MAX_CARD_SCORE; upCard++) {
+          final double[] values = twoCardValues[soft][total][upCard];
+          if (values == null) {
+            // two cards can not make the score, and no decision is needed at 21
+            final PlayerDecision decision = total < DealerOutcomes.MIN_STANDING_TOTAL
+                ? PlayerDecision.HIT : PlayerDecision.STAND;
+            twoCardDecisions[soft][total][upCard] = decision;
+            decisions[soft][total][upCard] = decision;
+            twoCardValues[soft][total][upCard] = new double[] {Double.NaN, Double.NaN, Double.NaN};
+            continue;
+          }
+
+          int best = 0;
+          for (int decision = 0; decision < decisionCount; decision++) {
+            values[decision] /= weights[soft][total][upCard];
+            if (values[decision] > values[best]) {
+              best = decision;
+            }
+          }
+          twoCardDecisions[soft][total][upCard] = OptimalStrategyTable.TWO_CARD_DECISIONS[best];
+          decisions[soft][total][upCard] = values[1] > values[0] ? PlayerDecision.HIT
+              : PlayerDecision.STAND;
+        }
+      }
+    }
+
+    return new OptimalStrategyTable(twoCardDecisions, decisions, splits, twoCardValues,
+        splitValues);
+  }
+
+  /**
+   * Expected value of splitting a pair, both hands are played the same way
+   *
+   * <p>
+   * The hands after the split are looked up in the same calculation as the other hands, so the
+   * card kept by the other hand stays in the shoe.
+   * </p>
+   *
+   * @param calculation calculation that holds the pair
+   * @param card score of the cards in the pair
+   * @return money won for each unit of the initial bet
+   */
+  private static double split(final Calculation calculation, final int card) {
+    calculation.remove(card);
+
+    double value = 0;
+    final double cardsLeft = calculation.cardsLeft;
+    for (int next = 1; next <= MAX_CARD_SCORE; next++) {
+      final int count = calculation.shoe[next];
+      if (count > 0) {
+        calculation.add(next);
+        final double stand = calculation.stand();
+        value += count / cardsLeft * (calculation.score() < MAX_TOTAL
+            ? Math.max(stand, Math.max(calculation.hit(), calculation.doubleDown()))
+            : stand);
+        calculation.remove(next);
+      }
+    }
+
+    calculation.add(card);
+    return 2 * value;
+  }
+
+  private static double max(final double[] values) {
+    double max = values[0];
+    for (final double value : values) {
+      max = Math.max(max, value);
+    }
+    return max;
+  }
+
+  /**
+   * Expected values for the hands that can be reached from one shoe. The cards of the player's
+   * hand are taken out of the shoe as they are added, so the hand decides what is left in the
+   * shoe, and values are remembered by the cards in the hand.
+   */
+  private class Calculation {
+    private final int upCard;
+    private final int[] shoe;
+    private int cardsLeft = 0;
+
+    private long handKey = 0;
+    private int scoreAceAs1 = 0;
+    private int numberOfAces = 0;
+    private int numberOfCards = 0;
+
+    private final Map<Long, Double> standing = new HashMap<>();
+    private final Map<Long, Double> playing = new HashMap<>();
+
+    /**
+     *
+     * @param upCard score of the dealer's up card
+     * @param shoe cards left in the shoe, the array is changed while hands are calculated
+     */
+    private Calculation(final int upCard, final int[] shoe) {
+      this.upCard = upCard;
+      this.shoe = shoe;
+      for (int card = 1; card <= MAX_CARD_SCORE; card++) {
+        cardsLeft += shoe[card];
+      }
+    }
+
+    private void add(final int card) {
+      shoe[card]--;
+      cardsLeft--;
+      handKey += 1L << (BITS_PER_CARD * (card - 1));
+      scoreAceAs1 += card;
+      numberOfAces += card == 1 ? 1 : 0;
+      numberOfCards++;
+    }
+
+    private void remove(final int card) {
+      shoe[card]++;
+      cardsLeft++;
+      handKey -= 1L << (BITS_PER_CARD * (card - 1));
+      scoreAceAs1 -= card;
+      numberOfAces -= card == 1 ? 1 : 0;
+      numberOfCards--;
+    }
+
+    private boolean isSoft() {
+      return numberOfAces > 0 && scoreAceAs1 + SOFT_BONUS <= MAX_TOTAL;
+    }
+
+    private int score() {
+      return isSoft() ? scoreAceAs1 + SOFT_BONUS : scoreAceAs1;
+    }
+
+    /**
+     *
+     * @return expected value of standing on the hand
+     */
+    private double stand() {
+      if (scoreAceAs1 > MAX_TOTAL) {
+        return -1;
+      }
+      final Double known = standing.get(handKey);
+      if (known != null) {
+        return known;
+      }
+
+      final int score = score();
+      double value;
+      if (numberOfCards == 2 && score == MAX_TOTAL) {
+        // the dealer does not have a blackjack, or the round would be over
+        value = blackJackPayOut;
+      } else {
+        final DealerOutcomes dealer = dealerOutcomes.calculate(upCard, shoe).givenNoBlackJack();
+        value = dealer.getProbabilityOfBust();
+        for (int total = DealerOutcomes.MIN_STANDING_TOTAL; total <= MAX_TOTAL; total++) {
+          final double probability = dealer.getProbabilityOfTotal(total);
+          value += score > total ? probability
+              : score == total ? payoutForPush * probability : -probability;
+        }
+      }
+      standing.put(handKey, value);
+      return value;
+    }
+
+    /**
+     *
+     * @return expected value of taking one card, and then playing the hand as well as possible
+     */
+    private double hit() {
+      double value = 0;
+      final double cards = cardsLeft;
+      for (int card = 1; card <= MAX_CARD_SCORE; card++) {
+        final int count = shoe[card];
+        if (count > 0) {
+          add(card);
+          value += count / cards * play();
+          remove(card);
+        }
+      }
+      return value;
+    }
+
+    /**
+     *
+     * @return expected value of the better of hitting and standing
+     */
+    private double play() {
+      if (scoreAceAs1 > MAX_TOTAL) {
+        return -1;
+      }
+      if (score() == MAX_TOTAL) {
+        return stand();
+      }
+      final Double known = playing.get(handKey);
+      if (known != null) {
+        return known;
+      }
+      final double value = Math.max(stand(), hit());
+      playing.put(handKey, value);
+      return value;
+    }
+
+    /**
+     *
+     * @return expected value of doubling the bet and taking one card
+     */
+    private double doubleDown() {
+      double value = 0;
+      final double cards = cardsLeft;
+      for (int card = 1; card <= MAX_CARD_SCORE; card++) {
+        final int count = shoe[card];
+        if (count > 0) {
+          add(card);
+          value += count / cards * stand();
+          remove(card);
+        }
+      }
+      return 2 * value;
+    }
+  }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.List;
+import com.ibm.vie.blackjack.player.Card;
+import com.ibm.vie.blackjack.player.PlayerDecision;
+import com.ibm.vie.blackjack.player.PlayerHand;
+
+/**
+ * Immutable lookup table of the best decision for each player hand and dealer up card, built by
+ * {@link OptimalStrategyGenerator}.
+ *
+ * <p>
+ * Hands are looked up by whether they are soft, their point score, whether they still have two
+ * cards, and whether they are a pair. Looking up a decision takes the same time for any hand.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class OptimalStrategyTable {
+  private static final int MAX_TOTAL = DealerOutcomes.MAX_TOTAL;
+  private static final int MAX_CARD_SCORE = DealerOutcomeCalculator.MAX_CARD_SCORE;
+
+  /**
+   * Decisions that can be made on the first two cards of a hand, other than a split
+   */
+  static final PlayerDecision[] TWO_CARD_DECISIONS =
+      {PlayerDecision.STAND, PlayerDecision.HIT, PlayerDecision.DOUBLE_DOWN};
+
+  private final PlayerDecision[][][] twoCardDecisions;
+  private final PlayerDecision[][][] decisions;
+  private final boolean[][] splits;
+  private final double[][][][] twoCardExpectedValues;
+  private final double[][] splitExpectedValues;
+
+  /**
+   * Build the table, the arrays are kept rather than copied
+   *
+   * @param twoCardDecisions best decision with two cards, by [soft][point score][up card score]
+   * @param decisions best decision with more than two cards, by [soft][point score][up card score]
+   * @param splits whether to split a pair, by [card score][up card score]
+   * @param twoCardExpectedValues expected value of each of {@link #TWO_CARD_DECISIONS}, by
+   *        [soft][point score][up card score][decision]
+   * @param splitExpectedValues expected value of a split, by [card score][up card score]
+   */
+  OptimalStrategyTable(final PlayerDecision[][][] twoCardDecisions,
+      final PlayerDecision[][][] decisions, final boolean[][] splits,
+      final double[][][][] twoCardExpectedValues, final double[][] splitExpectedValues) {
+    this.twoCardDecisions = twoCardDecisions;
+    this.decisions = decisions;
+    this.splits = splits;
+    this.twoCardExpectedValues = twoCardExpectedValues;
+    this.splitExpectedValues = splitExpectedValues;
+  }
+
+  /**
+   * Decides how to play a hand
+   *
+   * @param hand the hand that needs a decision
+   * @param dealerUpCard the dealer's up card
+   * @param availableMoney money that the player has left, a double down or split is only chosen
+   *        if it can be paid for
+   * @return the best decision for the hand
+   */
+  public PlayerDecision getDecision(final PlayerHand hand, final Card dealerUpCard,
+      final int availableMoney) {
+    final int soft = hand.getPointScore() != hand.getScoreAceAs1() ? 1 : 0;
+    final int total = Math.min(hand.getPointScore(), MAX_TOTAL);
+    final int upCard = dealerUpCard.getMinScore();
+    final List<Card> cards = hand.getCards();
+
+    if (cards.size() != 2) {
+      return decisions[soft][total][upCard];
+    }
+
+    final boolean canAffordBet = availableMoney >= hand.getBetPaid();
+    final Card first = cards.get(0);
+    if (canAffordBet && first.getRank().equals(cards.get(1).getRank())
+        && splits[first.getMinScore()][upCard]) {
+      return PlayerDecision.SPLIT;
+    }
+
+    final PlayerDecision decision = twoCardDecisions[soft][total][upCard];
+    if (decision == PlayerDecision.DOUBLE_DOWN && !canAffordBet) {
+      return decisions[soft][total][upCard];
+    }
+    return decision;
+  }
+
+  /**
+   * Expected value of a decision on the first two cards of a hand, averaged over the ways the
+   * score can be dealt.
+   *
+   * @param soft true for a soft hand
+   * @param total point score of the hand
+   * @param upCardScore score of the dealer's up card, 1 for an ace
+   * @param decision {@link PlayerDecision#STAND}, {@link PlayerDecision#HIT} or
+   *        {@link PlayerDecision#DOUBLE_DOWN}
+   * @return money won for each unit of the initial bet, or NaN if two cards can not make the hand
+   *
+   * @throws IllegalArgumentException for a split
+   */
+  public double getExpectedValue(final boolean soft, final int total, final int upCardScore,
+      final PlayerDecision decision) {
+    for (int index = 0; index < TWO_CARD_DECISIONS.length; index++) {
+      if (TWO_CARD_DECISIONS[index] == decision) {
+        return twoCardExpectedValues[soft ? 1 : 0][total][upCardScore][index];
+      }
+    }
+    throw new IllegalArgumentException("Use getSplitExpectedValue for a split");
+  }
+
+  /**
+   *
+   * @param cardScore score of the cards in the pair, 1 for aces
+   * @param upCardScore score of the dealer's up card, 1 for an ace
+   * @return money won for each unit of the initial bet by splitting the pair
+   */
+  public double getSplitExpectedValue(final int cardScore, final int upCardScore) {
+    return splitExpectedValues[cardScore][upCardScore];
+  }
+
+  /**
+   * The table as a chart, with the dealer's up card across the top. H is hit, S is stand, D is
+   * double down and P is split.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    appendSection(sb, "Hard", 0, 5, 20);
+    appendSection(sb, "Soft", 1, 13, 20);
+
+    appendHeader(sb, "Pairs");
+    for (int card = 1; card <= MAX_CARD_SCORE; card++) {
+      sb.append(String.format("%5s", card == 1 ? "A,A" : card + "," + card));
+      for (int upCard = 2; upCard <= MAX_CARD_SCORE + 1; upCard++) {
+        sb.append(splits[card][upCardFor(upCard)] ? "  P" : "  -");
+      }
+      sb.append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+  private void appendSection(final StringBuilder sb, final String title, final int soft,
+      final int lowest, final int highest) {
+    appendHeader(sb, title);
+    for (int total = lowest; total <= highest; total++) {
+      sb.append(String.format("%5d", total));
+      for (int upCard = 2; upCard <= MAX_CARD_SCORE + 1; upCard++) {
+        sb.append("  ").append(letterFor(twoCardDecisions[soft][total][upCardFor(upCard)]));
+      }
+      sb.append(System.lineSeparator());
+    }
+  }
+
+  private static void appendHeader(final StringBuilder sb, final String title) {
+    sb.append(String.format("%-5s", title));
+    for (int upCard = 2; upCard <= MAX_CARD_SCORE; upCard++) {
+      sb.append(String.format("%3d", upCard));
+    }
+    sb.append("  A").append(System.lineSeparator());
+  }
+
+  /**
+   * Charts put the ace after the ten
+   */
+  private static int upCardFor(final int column) {
+    return column > MAX_CARD_SCORE ? 1 : column;
+  }
+
+  private static char letterFor(final PlayerDecision decision) {
+    if (decision == null) {
+      return ' ';
+    }
+    switch (decision) {
+      case HIT:
+        return 'H';
+      case STAND:
+        return 'S';
+      case DOUBLE_DOWN:
+        return 'D';
+      default:
+        return 'P';
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+/**
+ * Immutable class that contains the results of comparing two strategies on the same deck seeds
+ *
+ * @see AnalyzeSolution#compare(Class, Class, com.ibm.vie.blackjack.casino.config.TableConfig, int,
+ *      com.ibm.vie.blackjack.player.CasinoRules, int)
+ *
+ * @author ntl
+ *
+ */
+public class PairedComparisonResult {
+  private final AnalysisResult first;
+  private final AnalysisResult second;
+  private final StatisticalSummary differenceStats;
+
+  /**
+   * Constructor
+   *
+   * @param first analysis of the first strategy
+   * @param second analysis of the second strategy
+   * @param differenceStats statistics of the first strategy's earnings minus the second
+   *        strategy's earnings, for each deck seed
+   */
+  public PairedComparisonResult(final AnalysisResult first, final AnalysisResult second,
+      final StatisticalSummary differenceStats) {
+    this.first = first;
+    this.second = second;
+    this.differenceStats = differenceStats;
+  }
+
+  /**
+   *
+   * @return analysis of the first strategy
+   */
+  public AnalysisResult getFirst() {
+    return first;
+  }
+
+  /**
+   *
+   * @return analysis of the second strategy
+   */
+  public AnalysisResult getSecond() {
+    return second;
+  }
+
+  /**
+   *
+   * @return statistics of the difference in earnings for each deck seed, first minus second
+   */
+  public StatisticalSummary getDifferenceStats() {
+    return differenceStats;
+  }
+
+  /**
+   * Calculate a confidence interval of the mean difference in earnings
+   *
+   * @param level confidence level, for example 0.95
+   * @return the value to add or remove to the mean difference to get the interval
+   */
+  public double getDifferenceConfidenceInterval(final double level) {
+    return AnalysisUtil.calcMeanCI(differenceStats, level);
+  }
+
+  /**
+   * How much playing both strategies on the same seeds reduced the variance of the difference.
+   *
+   * <p>
+   * Two independent analyses would have a variance of the difference equal to the sum of the
+   * variances of both strategies. Dividing that by the variance of the paired differences gives
+   * roughly how many times more games two independent analyses would need for the same
+   * precision.
+   * </p>
+   *
+   * @return the variance of independent analyses divided by the variance of the paired
+   *         differences, or NaN if the strategies always earn the same
+   */
+  public double getVarianceReduction() {
+    final double independent =
+        first.getEarningsSummary().getVariance() + second.getEarningsSummary().getVariance();
+    final double paired = differenceStats.getVariance();
+    return paired == 0 ? Double.NaN : independent / paired;
+  }
+
+  @Override
+  public String toString() {
+    final double ci = getDifferenceConfidenceInterval(.95);
+    final StringBuilder sb = new StringBuilder();
+    sb.append(first);
+    sb.append(second);
+    sb.append("*****************************************************************\n");
+    sb.append("Paired difference in earnings (first - second):\n");
+    sb.append(differenceStats + "\n");
+    sb.append("95% confidence interval for the MEAN difference is ["
+        + (differenceStats.getMean() - ci) + "," + (differenceStats.getMean() + ci) + "]\n");
+    sb.append("Variance reduction from pairing: " + getVarianceReduction() + "\n");
+    return sb.toString();
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+/**
+ * How precisely an analysis must estimate the mean earnings before it stops playing games.
+ *
+ * <p>
+ * The target is a largest half width of the confidence interval of the mean, either as an amount
+ * of money or relative to the mean. Games are played in batches, and the interval is checked after
+ * each batch. The analysis also stops when the maximum number of games has been played, whether
+ * or not the target was met.
+ * </p>
+ *
+ * <p>
+ * This object is immutable.
+ * </p>
+ *
+ * @see AnalyzeSolution#analyzeToPrecision(Class, com.ibm.vie.blackjack.casino.config.TableConfig,
+ *      com.ibm.vie.blackjack.player.CasinoRules, PrecisionTarget, int)
+ *
+ * @author ntl
+ *
+ */
+public class PrecisionTarget {
+  /**
+   * Games played between checks of the confidence interval, unless another size is given
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /**
+   * Most games played, unless another maximum is given
+   */
+  public static final int DEFAULT_MAX_RUNS = 1000000;
+
+  private final double confidenceLevel;
+  private final double halfWidth;
+  private final double relativeHalfWidth;
+  private final int batchSize;
+  private final int maxRuns;
+
+  /**
+   * Build a target
+   *
+   * @param confidenceLevel confidence level of the interval, for example 0.95
+   * @param halfWidth largest half width of the interval in money, 0 for no absolute target
+   * @param relativeHalfWidth largest half width of the interval as a fraction of the absolute mean,
+   *        0 for no relative target
+   * @param batchSize games played between checks of the interval, at least 2
+   * @param maxRuns most games played
+   *
+   * @throws IllegalArgumentException if a value is out of range, or there is no target
+   */
+  public PrecisionTarget(final double confidenceLevel, final double halfWidth,
+      final double relativeHalfWidth, final int batchSize, final int maxRuns) {
+    if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+      throw new IllegalArgumentException("Confidence level must be between 0 and 1");
+    }
+    if (halfWidth < 0 || relativeHalfWidth < 0 || halfWidth == 0 && relativeHalfWidth == 0) {
+      throw new IllegalArgumentException("A positive half width or relative half width is needed");
+    }
+    if (batchSize < 2 || maxRuns < batchSize) {
+      throw new IllegalArgumentException(
+          "Batch size must be at least 2 and no more than the maximum number of runs");
+    }
+    this.confidenceLevel = confidenceLevel;
+    this.halfWidth = halfWidth;
+    this.relativeHalfWidth = relativeHalfWidth;
+    this.batchSize = batchSize;
+    this.maxRuns = maxRuns;
+  }
+
+  /**
+   * Target an amount of money, with the default batch size and maximum number of games
+   *
+   * @param halfWidth largest half width of the interval in money
+   * @param confidenceLevel confidence level of the interval, for example 0.95
+   * @return the target
+   */
+  public static PrecisionTarget halfWidth(final double halfWidth, final double confidenceLevel) {
+    return new PrecisionTarget(confidenceLevel, halfWidth, 0, DEFAULT_BATCH_SIZE,
+        DEFAULT_MAX_RUNS);
+  }
+
+  /**
+   * Target a fraction of the mean, with the default batch size and maximum number of games
+   *
+   * @param relativeHalfWidth largest half width of the interval as a fraction of the absolute mean,
+   *        for example 0.01 for 1%
+   * @param confidenceLevel confidence level of the interval, for example 0.95
+   * @return the target
+   */
+  public static PrecisionTarget relativeHalfWidth(final double relativeHalfWidth,
+      final double confidenceLevel) {
+    return new PrecisionTarget(confidenceLevel, 0, relativeHalfWidth, DEFAULT_BATCH_SIZE,
+        DEFAULT_MAX_RUNS);
+  }
+
+  /**
+   *
+   * @param batchSize games played between checks of the interval
+   * @param maxRuns most games played
+   * @return a target with the same precision and the given batches
+   */
+  public PrecisionTarget withRuns(final int batchSize, final int maxRuns) {
+    return new PrecisionTarget(confidenceLevel, halfWidth, relativeHalfWidth, batchSize, maxRuns);
+  }
+
+  /**
+   * Checks the confidence interval of the mean earnings
+   *
+   * @param earnings statistics of the earnings so far
+   * @return true if the interval is narrow enough for one of the targets
+   */
+  public boolean isMetBy(final StatisticalSummary earnings) {
+    final double interval = AnalysisUtil.calcMeanCI(earnings, confidenceLevel);
+    if (Double.isNaN(interval)) {
+      return false;
+    }
+    return (halfWidth > 0 && interval <= halfWidth)
+        || (relativeHalfWidth > 0 && interval <= relativeHalfWidth * Math.abs(earnings.getMean()));
+  }
+
+  /**
+   *
+   * @return confidence level of the interval
+   */
+  public double getConfidenceLevel() {
+    return confidenceLevel;
+  }
+
+  /**
+   *
+   * @return largest half width of the interval in money, 0 for no absolute target
+   */
+  public double getHalfWidth() {
+    return halfWidth;
+  }
+
+  /**
+   *
+   * @return largest half width as a fraction of the absolute mean, 0 for no relative target
+   */
+  public double getRelativeHalfWidth() {
+    return relativeHalfWidth;
+  }
+
+  /**
+   *
+   * @return games played between checks of the interval
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   *
+   * @return most games played
+   */
+  public int getMaxRuns() {
+    return maxRuns;
+  }
+
+  @Override
+  public String toString() {
+    return "half width " + halfWidth + ", relative half width " + relativeHalfWidth + " at "
+        + confidenceLevel + " confidence, batches of " + batchSize + " up to " + maxRuns
+        + " runs";
+  }
+
+}
@@ -17,46 +17,44 @@
  */
 package com.ibm.vie.blackjack.casino.analysis;
 
-import java.io.OutputStream;
-import java.io.PrintStream;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import com.ibm.vie.blackjack.casino.output.OutputCapture;
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
 
 /**
- * Provides a thread safe mechanism to reroute all standard output to dev/null
+ * Provides a thread safe mechanism to reroute the standard output of the current thread to
+ * dev/null
+ * 
+ * <p>
+ * Only the thread that calls {@link #reroute()} is affected, other threads keep writing to standard
+ * output. Each call must be matched by a call to {@link #restore()} on the same thread.
+ * </p>
+ * 
+ * @see ThreadOutputRouter
  * 
  * @author ntl
  *
  */
 public class StdOutputRerouter {
-  private static AtomicInteger reroutes = new AtomicInteger(0);
-  private static PrintStream originalStdOut = System.out;
+  private static final ThreadLocal<Deque<OutputCapture>> reroutes =
+      ThreadLocal.withInitial(ArrayDeque::new);
   
-  public static synchronized void reroute() {
-    int count = reroutes.incrementAndGet();
-    
-    if (count==1) {
-      System.setOut(new PrintStream(new OutputStream() {
-        public void write(int b) {
-          // DO NOTHING
-        }
-      }));
-    }      
+  public static void reroute() {
+    reroutes.get().push(ThreadOutputRouter.discard());
   }
   
   
   public static void println(final String str) {
-    synchronized (originalStdOut) {
-      originalStdOut.println(str);
-    }
+    ThreadOutputRouter.getDefaultOutput().println(str);
   }
   
-  public static synchronized void restore() {
-    int count = reroutes.decrementAndGet();
-    
-    if (count == 0) {
-      System.setOut(originalStdOut);
+  public static void restore() {
+    final Deque<OutputCapture> captures = reroutes.get();
+    if (!captures.isEmpty()) {
+      captures.pop().close();
     }
   }
   
   
-}
\ No newline at end of file
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.GameResultSummary;
+import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
+import com.ibm.vie.blackjack.casino.stats.RoundResultColumns;
+import com.ibm.vie.blackjack.casino.stats.RoundResultView;
+import com.ibm.vie.blackjack.player.CasinoRules;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * A game result in a {@link GameResultArchive}.
+ *
+ * <p>
+ * The header of the record is read when the result is retrieved. Rounds and hands are read from
+ * the mapped file each time they are asked for, use {@link #toGameResult()} to copy them into the
+ * heap.
+ * </p>
+ *
+ * @see GameResultArchive#get(int)
+ *
+ * @author ntl
+ *
+ */
+public class ArchivedGameResult implements RoundResultView {
+  private static final HandResultCategory[] CATEGORIES = HandResultCategory.values();
+
+  private final ByteBuffer record;
+
+  private final String studentJar;
+  private final String tableName;
+  private final String studentName;
+  private final String errorMessage;
+  private final boolean gameEndedInError;
+  private final int finalMoney;
+  private final int roundsPlayed;
+  private final long consoleOutputBytes;
+  private final TableRules rules;
+  private final int numberOfRounds;
+  private final int numberOfHands;
+
+  private final int roundsStart;
+  private final int handsStart;
+
+  /**
+   * Casino rules that were stored in an archive
+   */
+  private static class ArchivedCasinoRules implements CasinoRules {
+    private final double blackJackPayOut;
+    private final boolean dealerHitsOnSoft17;
+    private final int deckPenetration;
+    private final boolean useRealCasinoRulesWhenOutOfCards;
+    private final double payoutForPush;
+    private final String description;
+
+    ArchivedCasinoRules(final ByteBuffer in) {
+      blackJackPayOut = in.getDouble();
+      dealerHitsOnSoft17 = in.get() != 0;
+      deckPenetration = in.getInt();
+      useRealCasinoRulesWhenOutOfCards = in.get() != 0;
+      payoutForPush = in.getDouble();
+      description = readString(in);
+    }
+
+    @Override
+    public double getBlackJackPayOut() {
+      return blackJackPayOut;
+    }
+
+    @Override
+    public boolean getDealerHitsOnSoft17() {
+      return dealerHitsOnSoft17;
+    }
+
+    @Override
+    public int getDeckPenetration() {
+      return deckPenetration;
+    }
+
+    @Override
+    public boolean getUseRealCasinoRulesWhenOutOfCards() {
+      return useRealCasinoRulesWhenOutOfCards;
+    }
+
+    @Override
+    public double getPayoutForPush() {
+      return payoutForPush;
+    }
+
+    @Override
+    public String getDescription() {
+      return description;
+    }
+  }
+
+  /**
+   * Reads the header of a record
+   *
+   * @param record the mapped record, starting after the record length
+   */
+  ArchivedGameResult(final ByteBuffer record) {
+    this.record = record;
+
+    final int headerLength = record.getInt(0);
+    final ByteBuffer header = record.duplicate();
+    header.position(4);
+
+    studentJar = readString(header);
+    tableName = readString(header);
+    studentName = readString(header);
+    errorMessage = readString(header);
+
+    final int flags = header.get();
+    gameEndedInError = (flags & GameResultArchive.FLAG_ERROR) != 0;
+    finalMoney = header.getInt();
+    roundsPlayed = header.getInt();
+    consoleOutputBytes = header.getLong();
+
+    if ((flags & GameResultArchive.FLAG_RULES) != 0) {
+      final int initialMoney = header.getInt();
+      final int minBet = header.getInt();
+      final int maxBet = header.getInt();
+      final int maxNumRounds = header.getInt();
+      final int numberOfDecks = header.getInt();
+      rules = new TableRules(initialMoney, minBet, maxBet, maxNumRounds, numberOfDecks,
+          new ArchivedCasinoRules(header));
+    } else {
+      rules = null;
+    }
+
+    numberOfRounds = header.getInt();
+    numberOfHands = header.getInt();
+
+    roundsStart = 4 + headerLength;
+    handsStart = roundsStart + numberOfRounds * GameResultArchive.ROUND_RECORD_SIZE;
+  }
+
+  /**
+   * Reads a string that was written as its length and UTF-8 bytes
+   *
+   * @param in buffer positioned at the string
+   * @return the string, may be null
+   */
+  private static String readString(final ByteBuffer in) {
+    final int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   *
+   * @return path of the jar of the student, may be null
+   */
+  public String getStudentJar() {
+    return studentJar;
+  }
+
+  /**
+   *
+   * @return name of the table, may be null
+   */
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   *
+   * @return the name of the student playing the game
+   */
+  public String getStudentName() {
+    return studentName;
+  }
+
+  /**
+   *
+   * @return true if an error caused the end of the game
+   */
+  public boolean getGameEndedInError() {
+    return gameEndedInError;
+  }
+
+  /**
+   *
+   * @return the game ending error message, or "OK" if there was no error
+   *
+   * @see GameResult#getErrorMessage()
+   */
+  public String getErrorMessage() {
+    return gameEndedInError ? errorMessage : "OK";
+  }
+
+  /**
+   *
+   * @return available money when the game ended
+   */
+  public int getFinalMoney() {
+    return finalMoney;
+  }
+
+  /**
+   *
+   * @return number of rounds played when the game ended
+   */
+  public int getRoundsPlayed() {
+    return roundsPlayed;
+  }
+
+  /**
+   *
+   * @return number of bytes the strategy wrote to standard output
+   */
+  public long getConsoleOutputBytes() {
+    return consoleOutputBytes;
+  }
+
+  /**
+   *
+   * @return the table rules, may be null
+   */
+  public TableRules getRules() {
+    return rules;
+  }
+
+  @Override
+  public int getNumberOfRounds() {
+    return numberOfRounds;
+  }
+
+  @Override
+  public int getNumberOfHands() {
+    return numberOfHands;
+  }
+
+  @Override
+  public int getInitialBet(final int round) {
+    return record.getInt(roundPosition(round));
+  }
+
+  @Override
+  public int getMoneyAfterRound(final int round) {
+    return record.getInt(roundPosition(round) + 4);
+  }
+
+  @Override
+  public int getSplitOpportunities(final int round) {
+    return record.getInt(roundPosition(round) + 8);
+  }
+
+  @Override
+  public int getFirstHand(final int round) {
+    return round == 0 ? 0 : getEndHand(round - 1);
+  }
+
+  @Override
+  public int getEndHand(final int round) {
+    return record.getInt(roundPosition(round) + 12);
+  }
+
+  @Override
+  public int getEarnings(final int hand) {
+    return record.getInt(handPosition(hand));
+  }
+
+  @Override
+  public HandResultCategory getCategory(final int hand) {
+    final byte category = record.get(handPosition(hand) + 4);
+    return category < 0 ? null : CATEGORIES[category];
+  }
+
+  @Override
+  public boolean getWasDoubleDown(final int hand) {
+    return record.get(handPosition(hand) + 5) != 0;
+  }
+
+  /**
+   * Computes the statistics of the game, reading each round once from the mapped file
+   *
+   * @return a new summary
+   */
+  public GameResultSummary summarize() {
+    return GameResultSummary.of(this, rules);
+  }
+
+  /**
+   * Copies the game into the heap. An error that ended the game is restored as an
+   * {@link Exception} with the error message.
+   *
+   * @return a new game result
+   */
+  public GameResult toGameResult() {
+    final RoundResultColumns rounds = new RoundResultColumns();
+    for (int round = 0; round < numberOfRounds; round++) {
+      for (int hand = getFirstHand(round); hand < getEndHand(round); hand++) {
+        rounds.addHand(getEarnings(hand), getCategory(hand), getWasDoubleDown(hand));
+      }
+      rounds.endRound(getInitialBet(round), getSplitOpportunities(round),
+          getMoneyAfterRound(round));
+    }
+    return new GameResult(finalMoney, roundsPlayed, rounds, rules,
+        gameEndedInError ? new Exception(errorMessage) : null, studentName, consoleOutputBytes);
+  }
+
+  /**
+   *
+   * @param round round number
+   * @return position of the round record in the mapped record
+   */
+  private int roundPosition(final int round) {
+    if (round < 0 || round >= numberOfRounds) {
+      throw new IndexOutOfBoundsException("Round: " + round + ", Rounds: " + numberOfRounds);
+    }
+    return roundsStart + round * GameResultArchive.ROUND_RECORD_SIZE;
+  }
+
+  /**
+   *
+   * @param hand hand number
+   * @return position of the hand record in the mapped record
+   */
+  private int handPosition(final int hand) {
+    if (hand < 0 || hand >= numberOfHands) {
+      throw new IndexOutOfBoundsException("Hand: " + hand + ", Hands: " + numberOfHands);
+    }
+    return handsStart + hand * GameResultArchive.HAND_RECORD_SIZE;
+  }
+
+}
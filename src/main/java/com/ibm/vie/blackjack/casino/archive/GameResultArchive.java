@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.archive;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Reads an archive of game results that was written by {@link GameResultArchiveWriter}.
+ *
+ * <p>
+ * Opening the archive only reads the length of each record. A record is memory mapped when it is
+ * retrieved, and its rounds and hands are read from the mapped file when they are asked for, so
+ * statistics for thousands of games can be computed again without loading every game into the
+ * heap.
+ * </p>
+ *
+ * <p>
+ * A record that was not completely written, because the writer stopped in the middle of it, is
+ * ignored. The archive ends with the last complete record.
+ * </p>
+ *
+ * @see GameResultArchiveWriter
+ *
+ * @author ntl
+ *
+ */
+public class GameResultArchive implements Closeable {
+  /**
+   * First bytes of an archive file, the ASCII characters "VIEBJARC"
+   */
+  static final long MAGIC = 0x564945424A415243L;
+
+  /**
+   * Version of the format
+   */
+  static final int VERSION = 1;
+
+  static final int FILE_HEADER_SIZE = 12;
+  static final int ROUND_RECORD_SIZE = 16;
+  static final int HAND_RECORD_SIZE = 6;
+
+  static final int FLAG_ERROR = 1;
+  static final int FLAG_RULES = 2;
+
+  private final FileChannel channel;
+  private long[] recordOffsets = new long[16];
+  private int numberOfRecords = 0;
+  private final long endOfRecords;
+
+  /**
+   * Opens an archive and finds its complete records
+   *
+   * @param file the archive file
+   *
+   * @throws IOException if the file can not be read, or is not an archive
+   */
+  public GameResultArchive(final File file) throws IOException {
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      final ByteBuffer fileHeader = readFully(0, FILE_HEADER_SIZE);
+      checkFileHeader(fileHeader.getLong(), fileHeader.getInt(), file);
+
+      final long size = channel.size();
+      long offset = FILE_HEADER_SIZE;
+      while (offset + 4 <= size) {
+        final int recordLength = readFully(offset, 4).getInt();
+        if (recordLength < 4) {
+          throw new IOException("The archive " + file.getAbsolutePath()
+              + " has a corrupt record at offset " + offset);
+        }
+        if (offset + 4 + recordLength > size) {
+          // the last record was not completely written
+          break;
+        }
+        if (numberOfRecords == recordOffsets.length) {
+          recordOffsets = Arrays.copyOf(recordOffsets, numberOfRecords * 2);
+        }
+        recordOffsets[numberOfRecords++] = offset;
+        offset += 4 + recordLength;
+      }
+      endOfRecords = offset;
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Checks the magic number and version at the start of an archive
+   *
+   * @param magic first 8 bytes of the file
+   * @param version next 4 bytes of the file
+   * @param file the file, for error messages
+   *
+   * @throws IOException if the file is not an archive of a supported version
+   */
+  static void checkFileHeader(final long magic, final int version, final File file)
+      throws IOException {
+    if (magic != MAGIC) {
+      throw new IOException("The file " + file.getAbsolutePath() + " is not a game result archive");
+    }
+    if (version != VERSION) {
+      throw new IOException("The game result archive " + file.getAbsolutePath()
+          + " has unsupported version " + version);
+    }
+  }
+
+  /**
+   * Reads bytes of the file
+   *
+   * @param offset position in the file
+   * @param length number of bytes to read
+   * @return buffer with the bytes, ready to be read
+   * @throws IOException if the file ends before all bytes are read
+   */
+  private ByteBuffer readFully(final long offset, final int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of game result archive");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   *
+   * @return offset in the file after the last complete record
+   */
+  long getEndOfRecords() {
+    return endOfRecords;
+  }
+
+  /**
+   *
+   * @return number of game results in the archive
+   */
+  public int size() {
+    return numberOfRecords;
+  }
+
+  /**
+   * Maps a game result of the archive into memory
+   *
+   * @param index index of the record, starting at 0 for the first result written
+   * @return the game result
+   *
+   * @throws IOException if the record can not be mapped
+   */
+  public ArchivedGameResult get(final int index) throws IOException {
+    if (index < 0 || index >= numberOfRecords) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numberOfRecords);
+    }
+    final long offset = recordOffsets[index] + 4;
+    final long end = index + 1 < numberOfRecords ? recordOffsets[index + 1] : endOfRecords;
+    return new ArchivedGameResult(channel.map(FileChannel.MapMode.READ_ONLY, offset, end - offset));
+  }
+
+  /**
+   * Returns the game results as a list. Each element is mapped when it is read, an
+   * {@link IOException} is rethrown as an unchecked exception.
+   *
+   * @return read only list of the game results
+   */
+  public List<ArchivedGameResult> asList() {
+    return new ResultList();
+  }
+
+  /**
+   * Closes the file. Results that were already retrieved can still be read.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * List view of the archive
+   */
+  private class ResultList extends AbstractList<ArchivedGameResult> implements RandomAccess {
+    @Override
+    public ArchivedGameResult get(final int index) {
+      try {
+        return GameResultArchive.this.get(index);
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public int size() {
+      return numberOfRecords;
+    }
+  }
+
+}
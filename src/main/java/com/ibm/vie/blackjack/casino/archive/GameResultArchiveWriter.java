@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.RoundResultColumns;
+import com.ibm.vie.blackjack.player.CasinoRules;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Appends game results, with every round and hand, to a binary archive file.
+ *
+ * <p>
+ * The file starts with {@link GameResultArchive#MAGIC} and the format version. Each game result
+ * is then one record:
+ * </p>
+ *
+ * <pre>
+ * int     length of the rest of the record
+ * int     length of the header
+ * header  student jar, table name, student name, error message (int length + UTF-8, -1 if null),
+ *         byte flags, int final money, int rounds played, long console output bytes,
+ *         table rules (5 ints), casino rules (double, byte, int, byte, double, string),
+ *         int number of rounds, int number of hands
+ * rounds  16 bytes each: int initial bet, int money after round, int split opportunities,
+ *         int hand number after the last hand of the round
+ * hands   6 bytes each: int earnings, byte category (-1 if none), byte double down
+ * </pre>
+ *
+ * <p>
+ * All numbers are big endian. Records are fixed width after the header, so a reader can find any
+ * round or hand without reading the ones before it.
+ * </p>
+ *
+ * @see GameResultArchive
+ *
+ * @author ntl
+ *
+ */
+public class GameResultArchiveWriter implements Closeable {
+  private final FileOutputStream fileOut;
+  private final DataOutputStream out;
+
+  /**
+   * Opens an archive for appending. The file is created if it does not exist. A record at the end
+   * of the file that was not completely written is removed, so new records follow the last
+   * complete record.
+   *
+   * @param file the archive file
+   *
+   * @throws IOException if the file can not be written, or is not an archive
+   */
+  public GameResultArchiveWriter(final File file) throws IOException {
+    final boolean isNew = !file.exists() || file.length() == 0;
+    if (!isNew) {
+      final long endOfRecords;
+      try (GameResultArchive archive = new GameResultArchive(file)) {
+        endOfRecords = archive.getEndOfRecords();
+      }
+      if (endOfRecords < file.length()) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+          channel.truncate(endOfRecords);
+        }
+      }
+    }
+
+    fileOut = new FileOutputStream(file, true);
+    out = new DataOutputStream(new BufferedOutputStream(fileOut, 65536));
+    if (isNew) {
+      out.writeLong(GameResultArchive.MAGIC);
+      out.writeInt(GameResultArchive.VERSION);
+    }
+  }
+
+  /**
+   * Appends a game result to the archive
+   *
+   * @param studentJar path of the jar of the student, may be null
+   * @param tableName name of the table, may be null
+   * @param result the game result
+   *
+   * @throws IOException if the record can not be written
+   */
+  public void write(final String studentJar, final String tableName, final GameResult result)
+      throws IOException {
+    final RoundResultColumns rounds = result.getRoundResultColumns();
+    final int numberOfRounds = rounds.getNumberOfRounds();
+    final int numberOfHands = rounds.getNumberOfHands();
+
+    final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+    final DataOutputStream header = new DataOutputStream(headerBytes);
+    writeString(header, studentJar);
+    writeString(header, tableName);
+    writeString(header, result.getStudentName());
+    writeString(header, result.getGameEndedInError() ? result.getErrorMessage() : null);
+
+    final TableRules rules = result.getRules();
+    header.writeByte((result.getGameEndedInError() ? GameResultArchive.FLAG_ERROR : 0)
+        | (rules != null ? GameResultArchive.FLAG_RULES : 0));
+    header.writeInt(result.getFinalMoney());
+    header.writeInt(result.getRoundsPlayed());
+    header.writeLong(result.getConsoleOutputBytes());
+
+    if (rules != null) {
+      header.writeInt(rules.getInitialMoney());
+      header.writeInt(rules.getMinBet());
+      header.writeInt(rules.getMaxBet());
+      header.writeInt(rules.getMaxNumRounds());
+      header.writeInt(rules.getNumberOfDecks());
+
+      final CasinoRules casinoRules = rules.getCompetitionRules();
+      header.writeDouble(casinoRules.getBlackJackPayOut());
+      header.writeBoolean(casinoRules.getDealerHitsOnSoft17());
+      header.writeInt(casinoRules.getDeckPenetration());
+      header.writeBoolean(casinoRules.getUseRealCasinoRulesWhenOutOfCards());
+      header.writeDouble(casinoRules.getPayoutForPush());
+      writeString(header, casinoRules.getDescription());
+    }
+
+    header.writeInt(numberOfRounds);
+    header.writeInt(numberOfHands);
+    header.flush();
+
+    final long recordLength = 4L + headerBytes.size()
+        + (long) numberOfRounds * GameResultArchive.ROUND_RECORD_SIZE
+        + (long) numberOfHands * GameResultArchive.HAND_RECORD_SIZE;
+    if (recordLength > Integer.MAX_VALUE) {
+      throw new IOException("Game result with " + numberOfRounds + " rounds is too large to archive");
+    }
+
+    out.writeInt((int) recordLength);
+    out.writeInt(headerBytes.size());
+    headerBytes.writeTo(out);
+
+    for (int round = 0; round < numberOfRounds; round++) {
+      out.writeInt(rounds.getInitialBet(round));
+      out.writeInt(rounds.getMoneyAfterRound(round));
+      out.writeInt(rounds.getSplitOpportunities(round));
+      out.writeInt(rounds.getEndHand(round));
+    }
+
+    for (int hand = 0; hand < numberOfHands; hand++) {
+      out.writeInt(rounds.getEarnings(hand));
+      out.writeByte(rounds.getCategory(hand) == null ? -1 : rounds.getCategory(hand).ordinal());
+      out.writeBoolean(rounds.getWasDoubleDown(hand));
+    }
+  }
+
+  /**
+   * Writes the records that are buffered to the file
+   *
+   * @throws IOException
+   */
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Flushes the archive and forces it to the storage device, so that the records written so far
+   * are kept if the machine stops
+   *
+   * @throws IOException
+   */
+  public void sync() throws IOException {
+    out.flush();
+    fileOut.getFD().sync();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Writes a string as its length and UTF-8 bytes
+   *
+   * @param out
+   * @param str the string, may be null
+   * @throws IOException
+   */
+  private static void writeString(final DataOutputStream out, final String str)
+      throws IOException {
+    if (str == null) {
+      out.writeInt(-1);
+    } else {
+      final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+}
@@ -30,6 +30,16 @@ import com.ibm.vie.blackjack.player.Card;
  *
  */
 public class VieCard {
+  /**
+   * Number of distinct cards (rank and suit combinations) in a single deck
+   */
+  public static final int CARDS_PER_DECK = Suit.values().length * Rank.values().length;
+
+  /**
+   * Highest minimum score of a single card, which is the score of tens and face cards
+   */
+  public static final int MAX_CARD_SCORE = Rank.TEN.getRankMaxScore();
+
   private final Suit suit;
   private final Rank rank;
   private final Card playerCard;
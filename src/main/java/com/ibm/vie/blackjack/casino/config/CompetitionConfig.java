@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ibm.vie.blackjack.casino.BlackjackTableRuleDefaults;
+import com.ibm.vie.blackjack.casino.RandomNumberGenerator;
 import com.ibm.vie.blackjack.casino.rules.RochesterMnCasinoRules;
 import com.ibm.vie.blackjack.player.CasinoRules;
 
@@ -33,18 +34,59 @@ import com.ibm.vie.blackjack.player.CasinoRules;
  */
 @JsonInclude(Include.NON_DEFAULT)
 public class CompetitionConfig {
+  private final List<TableConfig> configuredTableConfigs;
   private final List<TableConfig> tableConfigs;
   private final CasinoRules casinoRules;
+  private final StrategyTimeLimits strategyTimeLimits;
+  private final RandomNumberGenerator randomNumberGenerator;
   
   /**
    * 
    * @param tableConfigs - list of table configs for the overall game
    */
+  public CompetitionConfig(List<TableConfig> tableConfigs, CustomCasinoRules casinoRules) {
+    this(tableConfigs, casinoRules, null);
+  }
+
+
+  /**
+   * 
+   * @param tableConfigs - list of table configs for the overall game
+   * @param casinoRules - house rules, null for the default rules
+   * @param strategyTimeLimits - limits on the time the strategy may take, null for no limits
+   */
+  public CompetitionConfig(List<TableConfig> tableConfigs, CustomCasinoRules casinoRules,
+                           StrategyTimeLimits strategyTimeLimits) {
+    this(tableConfigs, casinoRules, strategyTimeLimits, null);
+  }
+
+
+  /**
+   * 
+   * @param tableConfigs - list of table configs for the overall game
+   * @param casinoRules - house rules, null for the default rules
+   * @param strategyTimeLimits - limits on the time the strategy may take, null for no limits
+   * @param randomNumberGenerator - generator that every table shuffles with, unless the table
+   *        chooses its own. Null for the default, which reproduces earlier competitions.
+   */
   @JsonCreator
   public CompetitionConfig(@JsonProperty("tableConfigs") List<TableConfig> tableConfigs,
-                           @JsonProperty("casinoRules") CustomCasinoRules casinoRules) {
-    this.tableConfigs = tableConfigs;
+                           @JsonProperty("casinoRules") CustomCasinoRules casinoRules,
+                           @JsonProperty("strategyTimeLimits") StrategyTimeLimits strategyTimeLimits,
+                           @JsonProperty("randomNumberGenerator") RandomNumberGenerator randomNumberGenerator) {
     this.casinoRules = (casinoRules == null ? new RochesterMnCasinoRules() : casinoRules);
+    this.strategyTimeLimits = strategyTimeLimits;
+    this.randomNumberGenerator = randomNumberGenerator;
+    this.configuredTableConfigs = tableConfigs;
+    if (randomNumberGenerator == null || tableConfigs == null) {
+      this.tableConfigs = tableConfigs;
+    } else {
+      this.tableConfigs = new LinkedList<>();
+      for (TableConfig tableConfig : tableConfigs) {
+        this.tableConfigs.add(tableConfig.hasRandomNumberGenerator() ? tableConfig
+            : tableConfig.withRandomNumberGenerator(randomNumberGenerator));
+      }
+    }
   }
   
   
@@ -54,7 +96,10 @@ public class CompetitionConfig {
    */
   public CompetitionConfig() {
     tableConfigs = new LinkedList<>();
+    configuredTableConfigs = tableConfigs;
     casinoRules = new RochesterMnCasinoRules();
+    strategyTimeLimits = null;
+    randomNumberGenerator = null;
   }
   
   /**
@@ -69,11 +114,44 @@ public class CompetitionConfig {
   
   /**
    * 
-   * @return list of table configuration objects
+   * @return list of table configuration objects, with the random number generator of the
+   *         competition applied to tables that do not choose their own
    */
+  @JsonIgnore
   public List<TableConfig> getTableConfigs() {
     return tableConfigs;
   }
   
   
+  /**
+   * The table configs as they were given, which are saved so that a table only has a random
+   * number generator of its own when it chose one
+   * 
+   * @return list of table configuration objects as they were given
+   */
+  @JsonProperty("tableConfigs")
+  private List<TableConfig> getConfiguredTableConfigs() {
+    return configuredTableConfigs;
+  }
+  
+  
+  /**
+   * 
+   * @return limits on the time the strategy may take, null if the time is not limited
+   */
+  public StrategyTimeLimits getStrategyTimeLimits() {
+    return strategyTimeLimits;
+  }
+  
+  
+  /**
+   * 
+   * @return the generator that tables shuffle with unless they choose their own, null for the
+   *         default
+   */
+  public RandomNumberGenerator getRandomNumberGenerator() {
+    return randomNumberGenerator;
+  }
+  
+  
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Limits on the time a strategy may take, for a competition.
+ *
+ * <p>
+ * The per call limit applies to each call the table makes to the strategy, including creating the
+ * strategy. The per table limit applies to the whole game at one table. A limit of 0 means no
+ * limit. A table that goes over a limit ends with a
+ * {@link com.ibm.vie.blackjack.casino.exceptions.StrategyTimeoutException} as its game ending
+ * error. The limits are not enforced when the tables have observers, such as the UI.
+ * </p>
+ *
+ * <pre>
+ * "strategyTimeLimits" : { "perCallMillis" : 1000, "perTableMillis" : 60000 }
+ * </pre>
+ *
+ * @see CompetitionConfig#getStrategyTimeLimits()
+ *
+ * @author ntl
+ *
+ */
+public class StrategyTimeLimits {
+  private final long perCallMillis;
+  private final long perTableMillis;
+
+  /**
+   * Build the time limits
+   *
+   * @param perCallMillis milliseconds a single call to the strategy may take, 0 for no limit
+   * @param perTableMillis milliseconds a game at one table may take, 0 for no limit
+   *
+   * @throws IllegalArgumentException if a limit is negative
+   */
+  @JsonCreator
+  public StrategyTimeLimits(@JsonProperty("perCallMillis") final long perCallMillis,
+      @JsonProperty("perTableMillis") final long perTableMillis) {
+    if (perCallMillis < 0 || perTableMillis < 0) {
+      throw new IllegalArgumentException("Strategy time limits can not be negative");
+    }
+    this.perCallMillis = perCallMillis;
+    this.perTableMillis = perTableMillis;
+  }
+
+  /**
+   *
+   * @return milliseconds a single call to the strategy may take, 0 for no limit
+   */
+  public long getPerCallMillis() {
+    return perCallMillis;
+  }
+
+  /**
+   *
+   * @return milliseconds a game at one table may take, 0 for no limit
+   */
+  public long getPerTableMillis() {
+    return perTableMillis;
+  }
+
+  /**
+   *
+   * @return true if there is a per call or per table limit
+   */
+  @JsonIgnore
+  public boolean isLimited() {
+    return perCallMillis > 0 || perTableMillis > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "per call: " + perCallMillis + " ms, per table: " + perTableMillis + " ms";
+  }
+
+}
@@ -16,9 +16,13 @@ package com.ibm.vie.blackjack.casino.config;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.vie.blackjack.casino.CardManager;
+import com.ibm.vie.blackjack.casino.RandomNumberGenerator;
+import com.ibm.vie.blackjack.casino.ShuffleCache;
 import com.ibm.vie.blackjack.casino.Table;
 import com.ibm.vie.blackjack.casino.crooked.CardSwitchCardChooser;
 import com.ibm.vie.blackjack.casino.crooked.CardSwitchCardManager;
@@ -44,18 +48,43 @@ public class TableConfig {
   private final int deckNumber;
   private final int numRounds;
   private final String name;
+  private final RandomNumberGenerator randomNumberGenerator;
   
   private static final String DEFAULT_TABLE_NAME = "Table with no name";
   
+  /**
+   * Constructor for a table that shuffles with the default random number generator
+   * 
+   * @param name
+   * @param initialMoney
+   * @param minBet
+   * @param maxBet
+   * @param numDecks
+   * @param numRounds
+   * @param deckNumber
+   */
+  public TableConfig(
+		  final String name,
+		  final int initialMoney, 
+		  final int minBet, 
+		  final int maxBet, 
+		  final int numDecks,
+		  final int numRounds,
+		  final int deckNumber) {
+    this(name, initialMoney, minBet, maxBet, numDecks, numRounds, deckNumber, null);
+  }
+  
   /**
    * Constructor intended to be used to construct the config from a json 
    * 
+   * @param name
    * @param initialMoney
    * @param minBet
    * @param maxBet
    * @param numDecks
    * @param numRounds
    * @param deckNumber
+   * @param randomNumberGenerator - generator to shuffle with, null for the default
    */
   @JsonCreator
   public TableConfig(
@@ -65,7 +94,8 @@ public class TableConfig {
 		  @JsonProperty("maxBet") final int maxBet, 
 		  @JsonProperty("numDecks") final int numDecks,
 		  @JsonProperty("numRounds") final int numRounds,
-		  @JsonProperty("deckNumber") final int deckNumber) {
+		  @JsonProperty("deckNumber") final int deckNumber,
+		  @JsonProperty("randomNumberGenerator") final RandomNumberGenerator randomNumberGenerator) {
     this.name = (name == null || name.isEmpty()) ? DEFAULT_TABLE_NAME : name;
     this.initialMoney = initialMoney;
     this.minBet = minBet;
@@ -73,6 +103,7 @@ public class TableConfig {
     this.numDecks = numDecks;
     this.numRounds = numRounds;
     this.deckNumber = deckNumber;
+    this.randomNumberGenerator = randomNumberGenerator;
   }
   
   /**
@@ -98,6 +129,7 @@ public class TableConfig {
     this.numRounds = numRounds;
     this.deckNumber = deckNumber;
     this.name = DEFAULT_TABLE_NAME;
+    this.randomNumberGenerator = null;
   }
   
   
@@ -151,6 +183,50 @@ public class TableConfig {
   }
   
   
+  /**
+   * 
+   * @return the kind of random number generator that the config chooses, null if it uses the
+   *         default. A config without one is saved without one.
+   */
+  @JsonInclude(Include.NON_NULL)
+  public RandomNumberGenerator getRandomNumberGenerator() {
+    return randomNumberGenerator;
+  }
+  
+  
+  /**
+   * 
+   * @return the kind of random number generator that the deck is shuffled with
+   */
+  @JsonIgnore
+  public RandomNumberGenerator resolveRandomNumberGenerator() {
+    return randomNumberGenerator == null ? RandomNumberGenerator.DEFAULT : randomNumberGenerator;
+  }
+  
+  
+  /**
+   * 
+   * @return true if the config chooses a random number generator, false if it uses the default
+   */
+  @JsonIgnore
+  public boolean hasRandomNumberGenerator() {
+    return randomNumberGenerator != null;
+  }
+  
+  
+  /**
+   * Returns a copy of this config that shuffles with another kind of random number generator
+   * 
+   * @param generator - the kind of random number generator
+   * 
+   * @return the new config
+   */
+  public TableConfig withRandomNumberGenerator(RandomNumberGenerator generator) {
+    return new TableConfig(name, initialMoney, minBet, maxBet, numDecks, numRounds, deckNumber,
+        generator);
+  }
+  
+  
   /**
    * Returns a table to play blackjack on, given the rules in the
    * config and the strategy.
@@ -162,13 +238,48 @@ public class TableConfig {
    */
   @JsonIgnore
   public Table getTable(PlayerStrategy strategy, CasinoRules houseRules) {
-    TableRules  rules = new TableRules(initialMoney, minBet, maxBet, numRounds, numDecks, houseRules);
-    CardManager deck = new CardManager(rules, deckNumber);
+    TableRules  rules = getTableRules(houseRules);
+    CardManager deck = new CardManager(rules, deckNumber, resolveRandomNumberGenerator(), null);
     
     return new Table(strategy, deck, rules);
   }
   
   
+  /**
+   * Returns a table to play blackjack on, given the rules in the
+   * config and the strategy. The cards and shuffles of the table are shared
+   * with other tables through the cache, the cards that are dealt are the same.
+   * 
+   * @param strategy - the strategy that the player will use with the table
+   * @param houseRules - custom house rules for the competition
+   * @param shuffleCache - cache shared by the tables of the competition, null for no cache
+   * 
+   * @return the table to play blackjack games on
+   */
+  @JsonIgnore
+  public Table getTable(PlayerStrategy strategy, CasinoRules houseRules,
+      ShuffleCache shuffleCache) {
+    TableRules  rules = getTableRules(houseRules);
+    CardManager deck =
+        new CardManager(rules, deckNumber, resolveRandomNumberGenerator(), shuffleCache);
+    
+    return new Table(strategy, deck, rules);
+  }
+  
+  
+  /**
+   * Returns the rules of the table, given the rules in the config.
+   * 
+   * @param houseRules - custom house rules for the competition
+   * 
+   * @return the rules of the tables returned by {@link #getTable(PlayerStrategy, CasinoRules)}
+   */
+  @JsonIgnore
+  public TableRules getTableRules(CasinoRules houseRules) {
+    return new TableRules(initialMoney, minBet, maxBet, numRounds, numDecks, houseRules);
+  }
+  
+  
   /**
    * Returns the name of the table. This could be something descriptive, or could be a 
    * just for fun name that is used to describe the table.
@@ -190,7 +301,7 @@ public class TableConfig {
   @JsonIgnore
   public Table getTable(PlayerStrategy strategy) {
     TableRules  rules = new TableRules(initialMoney, minBet, maxBet, numRounds, numDecks, new RochesterMnCasinoRules());
-    CardManager deck = new CardManager(rules, deckNumber);
+    CardManager deck = new CardManager(rules, deckNumber, resolveRandomNumberGenerator(), null);
     
     return new Table(strategy, deck, rules);
   }
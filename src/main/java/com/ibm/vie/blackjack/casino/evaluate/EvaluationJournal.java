@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Journal of the progress of an evaluation, kept next to the result csv file, so that an evaluation
+ * that was stopped can be resumed without evaluating the same jars again.
+ *
+ * <p>
+ * The journal is a text file with one line for each entry, and tab separated fields:
+ * </p>
+ *
+ * <pre>
+ * BEGIN    csv length  archive length
+ * STARTED  jar path
+ * DONE     csv length  archive length  jar path  table name ...
+ * FAILED   csv length  archive length  jar path  reason
+ * </pre>
+ *
+ * <p>
+ * The BEGIN line records the lengths of the csv and archive files before the evaluation wrote to
+ * them. A STARTED line is added before a jar is evaluated. A DONE line is added when all records
+ * of a jar were written, and records the names of its tables and the lengths of the files after
+ * them. A FAILED line is added instead when the jar could not be evaluated. The archive length is
+ * -1 when there is no archive. Each line is forced to the storage device after the csv and
+ * archive files, so a line is only in the journal when the records it describes are too.
+ * </p>
+ *
+ * <p>
+ * When a journal is opened for files that an earlier evaluation was writing, the csv and archive
+ * files are cut back to the lengths of the last complete line that has them. This removes the
+ * records of a jar that was being written when the evaluation stopped, and that jar is evaluated
+ * again. A jar that was started but neither done nor failed is evaluated again too, because the
+ * evaluation may have been stopped from outside while it waited for its records to be written.
+ * When such a jar was already started once before, and was still not finished, it may be what
+ * stopped the evaluation, for example by running out of memory, so it is recorded as failed
+ * instead of being evaluated again. Failed jars are only evaluated again when that is asked for.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class EvaluationJournal implements Closeable {
+  /**
+   * Added to the name of the csv file to name the journal
+   */
+  public static final String FILE_SUFFIX = ".journal";
+
+  private static final String BEGIN = "BEGIN";
+  private static final String STARTED = "STARTED";
+  private static final String DONE = "DONE";
+  private static final String FAILED = "FAILED";
+  private static final String SEPARATOR = "\t";
+  /**
+   * Number of times a jar may be started without finishing before it is recorded as failed
+   */
+  private static final int MAX_UNFINISHED_STARTS = 2;
+  private static final String LINE_END = "\n";
+
+  private final File journalFile;
+  private final File resultCsvFile;
+  private final File archiveFile;
+  private final Map<String, List<String>> tablesByJar = new HashMap<>();
+  private final Map<String, String> failedJars = new TreeMap<>();
+  private final FileOutputStream out;
+
+
+  /**
+   * Opens the journal for a csv file, resuming an earlier evaluation if there is a journal for it
+   *
+   * @param resultCsvFile the csv file that records are appended to
+   * @param archiveFile the archive file that game results are appended to, null if there is none
+   *
+   * @throws IOException if the journal can not be read or written, or the files are shorter than
+   *         the journal records
+   */
+  public EvaluationJournal(final File resultCsvFile, final File archiveFile) throws IOException {
+    this.journalFile = getJournalFile(resultCsvFile);
+    this.resultCsvFile = resultCsvFile;
+    this.archiveFile = archiveFile;
+
+    final Map<String, Integer> unfinishedJars = new TreeMap<>();
+    final boolean resuming = journalFile.exists() && resume(unfinishedJars);
+    out = new FileOutputStream(journalFile, resuming);
+    if (!resuming) {
+      append(BEGIN, true, Collections.emptyList());
+    }
+    for (final Map.Entry<String, Integer> unfinished : unfinishedJars.entrySet()) {
+      if (unfinished.getValue() >= MAX_UNFINISHED_STARTS) {
+        fail(unfinished.getKey(), "The evaluation stopped " + unfinished.getValue()
+            + " times while this jar was evaluated");
+      }
+    }
+  }
+
+
+  /**
+   *
+   * @param resultCsvFile the csv file that records are appended to
+   * @return the journal file for the csv file
+   */
+  public static File getJournalFile(final File resultCsvFile) {
+    return new File(resultCsvFile.getPath() + FILE_SUFFIX);
+  }
+
+
+  /**
+   * Reads the complete lines of the journal, and cuts the journal, csv and archive files back to
+   * the last of them
+   *
+   * @param unfinishedJars map that the jars that were started but neither done nor failed are
+   *        added to, with the number of times they were started since they were last finished
+   * @return false if the journal has no complete lines, and the evaluation starts again
+   * @throws IOException
+   */
+  private boolean resume(final Map<String, Integer> unfinishedJars) throws IOException {
+    final byte[] bytes = Files.readAllBytes(journalFile.toPath());
+    // a line that does not end was being written when the evaluation stopped
+    int completeLength = bytes.length;
+    while (completeLength > 0 && bytes[completeLength - 1] != LINE_END.charAt(0)) {
+      completeLength--;
+    }
+    if (completeLength == 0) {
+      return false;
+    }
+
+    String[] lastLengths = null;
+    final String text = new String(bytes, 0, completeLength, StandardCharsets.UTF_8);
+    for (final String line : text.split(LINE_END)) {
+      final String[] fields = line.split(SEPARATOR, -1);
+      final boolean valid = BEGIN.equals(fields[0]) && fields.length == 3
+          || STARTED.equals(fields[0]) && fields.length == 2
+          || DONE.equals(fields[0]) && fields.length >= 4
+          || FAILED.equals(fields[0]) && fields.length == 5;
+      if (!valid) {
+        throw new IOException("Journal " + journalFile.getAbsolutePath() + " is not valid");
+      }
+      if (STARTED.equals(fields[0])) {
+        unfinishedJars.merge(unescape(fields[1]), 1, Integer::sum);
+        continue;
+      }
+      if (DONE.equals(fields[0])) {
+        final String jarPath = unescape(fields[3]);
+        final List<String> tables = new ArrayList<>();
+        for (int field = 4; field < fields.length; field++) {
+          tables.add(unescape(fields[field]));
+        }
+        tablesByJar.put(jarPath, tables);
+        failedJars.remove(jarPath);
+        unfinishedJars.remove(jarPath);
+      } else if (FAILED.equals(fields[0])) {
+        final String jarPath = unescape(fields[3]);
+        failedJars.put(jarPath, unescape(fields[4]));
+        unfinishedJars.remove(jarPath);
+      }
+      lastLengths = fields;
+    }
+    if (lastLengths == null) {
+      throw new IOException("Journal " + journalFile.getAbsolutePath() + " is not valid");
+    }
+
+    truncate(journalFile, completeLength);
+    truncate(resultCsvFile, Long.parseLong(lastLengths[1]));
+    if (archiveFile != null) {
+      truncate(archiveFile, Long.parseLong(lastLengths[2]));
+    }
+    return true;
+  }
+
+
+  /**
+   * Cuts a file back to a length
+   *
+   * @param file the file
+   * @param length length of the file when the journal was written, -1 if there is no such file
+   *
+   * @throws IOException if the file is shorter than the length
+   */
+  private void truncate(final File file, final long length) throws IOException {
+    final long actual = file.exists() ? file.length() : 0;
+    if (length < 0 || actual == length) {
+      return;
+    }
+    if (actual < length) {
+      throw new IOException(file.getAbsolutePath() + " is shorter than recorded in the journal "
+          + journalFile.getAbsolutePath() + ", delete the journal to evaluate all jars again");
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+      channel.truncate(length);
+    }
+  }
+
+
+  /**
+   *
+   * @param jarPath path of a jar
+   * @return true if all records of the jar were written
+   */
+  public synchronized boolean isDone(final String jarPath) {
+    return tablesByJar.containsKey(jarPath);
+  }
+
+
+  /**
+   *
+   * @param jarPath path of a jar
+   * @return true if the jar could not be evaluated, and has not been evaluated since
+   */
+  public synchronized boolean isFailed(final String jarPath) {
+    return failedJars.containsKey(jarPath);
+  }
+
+
+  /**
+   *
+   * @return the paths of the jars that could not be evaluated, in order of their path
+   */
+  public synchronized List<String> getFailedJars() {
+    return Collections.unmodifiableList(new ArrayList<>(failedJars.keySet()));
+  }
+
+
+  /**
+   *
+   * @param jarPath path of a jar
+   * @return names of the tables that were written for the jar, or null if the jar is not done
+   */
+  public synchronized List<String> getTables(final String jarPath) {
+    final List<String> tables = tablesByJar.get(jarPath);
+    return tables == null ? null : Collections.unmodifiableList(tables);
+  }
+
+
+  /**
+   * Records that the evaluation of a jar is starting. This may be called from any thread.
+   *
+   * @param jarPath path of the jar
+   *
+   * @throws IOException if the journal can not be written
+   */
+  public synchronized void start(final String jarPath) throws IOException {
+    append(STARTED, false, Collections.singletonList(escape(jarPath)));
+  }
+
+
+  /**
+   * Records that all records of a jar were written. The csv and archive files must already be on
+   * the storage device.
+   *
+   * @param jarPath path of the jar
+   * @param tableNames names of the tables that were written
+   *
+   * @throws IOException if the journal can not be written
+   */
+  public synchronized void commit(final String jarPath, final Collection<String> tableNames)
+      throws IOException {
+    final List<String> fields = new ArrayList<>(tableNames.size() + 1);
+    fields.add(escape(jarPath));
+    for (final String tableName : tableNames) {
+      fields.add(escape(tableName));
+    }
+    append(DONE, true, fields);
+    tablesByJar.put(jarPath, new ArrayList<>(tableNames));
+    failedJars.remove(jarPath);
+  }
+
+
+  /**
+   * Records that a jar could not be evaluated, and that none of its records were written. The csv
+   * and archive files must already be on the storage device.
+   *
+   * @param jarPath path of the jar
+   * @param reason why the jar could not be evaluated
+   *
+   * @throws IOException if the journal can not be written
+   */
+  public synchronized void fail(final String jarPath, final String reason) throws IOException {
+    append(FAILED, true, Arrays.asList(escape(jarPath), escape(String.valueOf(reason))));
+    failedJars.put(jarPath, String.valueOf(reason));
+  }
+
+
+  /**
+   * Closes and removes the journal, after the evaluation of all jars is done
+   *
+   * @throws IOException if the journal can not be removed
+   */
+  public synchronized void delete() throws IOException {
+    close();
+    Files.deleteIfExists(journalFile.toPath());
+  }
+
+
+  @Override
+  public synchronized void close() throws IOException {
+    out.close();
+  }
+
+
+  private void append(final String type, final boolean withLengths, final List<String> fields)
+      throws IOException {
+    final StringBuilder line = new StringBuilder(type);
+    if (withLengths) {
+      line.append(SEPARATOR).append(resultCsvFile.exists() ? resultCsvFile.length() : 0);
+      line.append(SEPARATOR).append(archiveFile == null ? -1
+          : archiveFile.exists() ? archiveFile.length() : 0);
+    }
+    for (final String field : fields) {
+      line.append(SEPARATOR).append(field);
+    }
+    line.append(LINE_END);
+
+    out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    out.getFD().sync();
+  }
+
+
+  private static String escape(final String field) {
+    return field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n")
+        .replace("\r", "\\r");
+  }
+
+
+  private static String unescape(final String field) {
+    final StringBuilder unescaped = new StringBuilder(field.length());
+    for (int i = 0; i < field.length(); i++) {
+      final char c = field.charAt(i);
+      if (c == '\\' && i + 1 < field.length()) {
+        final char next = field.charAt(++i);
+        unescaped.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+      } else {
+        unescaped.append(c);
+      }
+    }
+    return unescaped.toString();
+  }
+
+}
@@ -16,8 +16,31 @@
 package com.ibm.vie.blackjack.casino.evaluate;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.csv.CSVPrinter;
 import com.ibm.vie.blackjack.casino.Casino;
+import com.ibm.vie.blackjack.casino.ShuffleCache;
+import com.ibm.vie.blackjack.casino.archive.GameResultArchiveWriter;
+import com.ibm.vie.blackjack.casino.output.OutputCapture;
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.GameResultStatCalculator;
 import com.ibm.vie.blackjack.player.PlayerStrategy;
 
 /**
@@ -29,25 +52,92 @@ import com.ibm.vie.blackjack.player.PlayerStrategy;
 public class Evaluator {
 
   /**
-   * Evaluates a solution in a jar and appends to csv
+   * Result of evaluating a solution
+   */
+  private static class JarEvaluation {
+    final Map<String, GameResult> gameResults;
+    final String csvRecords;
+    final Throwable failure;
+
+    JarEvaluation(final Map<String, GameResult> gameResults, final String csvRecords) {
+      this.gameResults = gameResults;
+      this.csvRecords = csvRecords;
+      this.failure = null;
+    }
+
+    JarEvaluation(final Throwable failure) {
+      this.gameResults = null;
+      this.csvRecords = null;
+      this.failure = failure;
+    }
+  }
+
+
+  /**
+   * Evaluates a solution in a jar. Standard output of the calling thread is discarded while the
+   * solution is loaded and played.
    *
    * @param jarFile
    * @param configFile
-   * @param resultCsvFile
+   * @param shuffleCache cards and shuffles shared by all solutions
+   * @return the game results and csv records for the solution
    */
-  private static void evaluateJar(final File jarFile, final File configFile,
-      final File resultCsvFile) {
-    try {
+  @SuppressWarnings("try")
+  private static JarEvaluation evaluateJar(final File jarFile, final File configFile,
+      final ShuffleCache shuffleCache) {
+    try (OutputCapture capture = ThreadOutputRouter.discard();
+        InputStream configStream = new FileInputStream(configFile)) {
       final Class<? extends PlayerStrategy> studentClass =
           StudentClassLoader.getMyPlayerStrategyFromJar(jarFile, "student.player.MyPlayer");
-      Casino.playBlackjackBatchCsv(studentClass, configFile.getAbsolutePath(),
-          resultCsvFile.getAbsolutePath());
+      final Map<String, GameResult> gameResults =
+          Casino.playBlackjackBatch(studentClass, configStream, shuffleCache);
+      return new JarEvaluation(gameResults, Casino.toCsvRecords(studentClass, gameResults));
     } catch (final Exception e) {
       throw new RuntimeException("Error evaluating jar " + jarFile.getAbsolutePath(), e);
     }
-    System.err.flush();
-    System.out.flush();
-    System.out.println("Evaluated " + jarFile.getAbsolutePath());
+  }
+
+
+  /**
+   * Records in the journal that a jar is started, and evaluates it. Anything the solution throws,
+   * including errors such as running out of memory, is returned as the failure of the jar, so a
+   * jar fails the same way on the calling thread and on a worker.
+   *
+   * @param jarFile
+   * @param configFile
+   * @param shuffleCache cards and shuffles shared by all solutions
+   * @param journal journal of the evaluation
+   * @return the game results and csv records for the solution, or its failure
+   * @throws IOException if the journal can not be written
+   */
+  private static JarEvaluation startJar(final File jarFile, final File configFile,
+      final ShuffleCache shuffleCache, final EvaluationJournal journal) throws IOException {
+    journal.start(jarFile.getAbsolutePath());
+    try {
+      return evaluateJar(jarFile, configFile, shuffleCache);
+    } catch (final Throwable t) {
+      return new JarEvaluation(t);
+    }
+  }
+
+
+  /**
+   * Finds all jar files in a directory and its sub directories
+   *
+   * @param directory
+   * @param jars list that the jar files are added to, in order of their path
+   */
+  private static void findJars(final File directory, final List<File> jars) {
+    final File[] files =
+        directory.listFiles(f -> f.getName().endsWith(".jar") || f.isDirectory());
+    Arrays.sort(files, Comparator.comparing(File::getName));
+    for (final File f : files) {
+      if (f.isDirectory()) {
+        findJars(f, jars);
+      } else {
+        jars.add(f);
+      }
+    }
   }
 
 
@@ -60,16 +150,162 @@ public class Evaluator {
    */
   public static void evaluateDirectory(final File directory, final File configFile,
       final File resultCsvFile) {
-    for (final File f : directory.listFiles(f -> f.getName().endsWith(".jar") || f.isDirectory())) {
-      if (f.isDirectory()) {
-        evaluateDirectory(f, configFile, resultCsvFile);
-      } else {
-        try {
-          evaluateJar(f, configFile, resultCsvFile);
-        } catch (final Exception e) {
-          e.printStackTrace();
+    evaluateDirectory(directory, configFile, resultCsvFile, 1);
+  }
+
+
+  /**
+   * Evaluates all jar files in a directory, evaluating up to numberOfWorkers jars at the same time.
+   *
+   * <p>
+   * Each jar is loaded by its own class loader and played on a worker thread. The workers only
+   * produce csv records; a single writer appends them to the csv file in order of the path of the
+   * jar, so the file is the same no matter how many workers are used.
+   * </p>
+   *
+   * @param directory
+   * @param configFile
+   * @param resultCsvFile
+   * @param numberOfWorkers maximum number of jars to evaluate at the same time
+   */
+  public static void evaluateDirectory(final File directory, final File configFile,
+      final File resultCsvFile, final int numberOfWorkers) {
+    evaluateDirectory(directory, configFile, resultCsvFile, null, numberOfWorkers);
+  }
+
+
+  /**
+   * Evaluates all jar files in a directory, evaluating up to numberOfWorkers jars at the same time.
+   * The csv records are appended to a csv file, and the full game results, with every round, are
+   * appended to an archive file.
+   *
+   * <p>
+   * Progress is recorded in an {@link EvaluationJournal} next to the csv file, after the records of
+   * each jar are on the storage device. If the evaluation is stopped, running it again with the
+   * same files skips the jars that are done, and removes any records of a jar that was only partly
+   * written. The journal is removed when all jars are done.
+   * </p>
+   *
+   * @param directory
+   * @param configFile
+   * @param resultCsvFile
+   * @param archiveFile the archive file, null to write only the csv file
+   * @param numberOfWorkers maximum number of jars to evaluate at the same time
+   *
+   * @see com.ibm.vie.blackjack.casino.archive.GameResultArchive
+   */
+  public static void evaluateDirectory(final File directory, final File configFile,
+      final File resultCsvFile, final File archiveFile, final int numberOfWorkers) {
+    evaluateDirectory(directory, configFile, resultCsvFile, archiveFile, numberOfWorkers, false);
+  }
+
+
+  /**
+   * Evaluates all jar files in a directory, like
+   * {@link #evaluateDirectory(File, File, File, File, int)}.
+   *
+   * <p>
+   * A jar that can not be evaluated, whatever the solution throws, is recorded as failed in the
+   * journal and has no records. A jar that was started but not finished when the evaluation
+   * stopped is evaluated again when it is resumed. If it was also unfinished when an earlier run
+   * stopped, it may be what stopped them, and it is recorded as failed instead. When any jar failed,
+   * the journal is kept after the other jars are done, and failed jars are only evaluated again
+   * when retryFailed is set.
+   * </p>
+   *
+   * @param directory
+   * @param configFile
+   * @param resultCsvFile
+   * @param archiveFile the archive file, null to write only the csv file
+   * @param numberOfWorkers maximum number of jars to evaluate at the same time
+   * @param retryFailed true to evaluate jars that failed in an earlier run again
+   */
+  public static void evaluateDirectory(final File directory, final File configFile,
+      final File resultCsvFile, final File archiveFile, final int numberOfWorkers,
+      final boolean retryFailed) {
+    final List<File> jars = new ArrayList<>();
+    findJars(directory, jars);
+    // every solution plays the same tables, so the shuffles are only drawn once
+    final ShuffleCache shuffleCache = new ShuffleCache();
+
+    ExecutorService executor = null;
+    try (EvaluationJournal journal = new EvaluationJournal(resultCsvFile, archiveFile)) {
+      final int numberOfJars = jars.size();
+      jars.removeIf(jar -> journal.isDone(jar.getAbsolutePath())
+          || !retryFailed && journal.isFailed(jar.getAbsolutePath()));
+      if (jars.size() < numberOfJars) {
+        System.out.println("Resuming, " + (numberOfJars - jars.size()) + " of " + numberOfJars
+            + " jars were already evaluated or failed");
+      }
+
+      executor = numberOfWorkers <= 1 || jars.size() <= 1 ? null
+          : Executors.newFixedThreadPool(Math.min(numberOfWorkers, jars.size()));
+      final List<Future<JarEvaluation>> evaluations = new ArrayList<>(jars.size());
+      if (executor != null) {
+        for (final File jar : jars) {
+          evaluations
+              .add(executor.submit(() -> startJar(jar, configFile, shuffleCache, journal)));
         }
       }
+
+      try (FileOutputStream csvOut = new FileOutputStream(resultCsvFile, true);
+          Writer writer = new OutputStreamWriter(csvOut);
+          CSVPrinter printer =
+              GameResultStatCalculator.getCSVPrinter(writer, resultCsvFile.length() == 0);
+          GameResultArchiveWriter archive =
+              archiveFile == null ? null : new GameResultArchiveWriter(archiveFile)) {
+        for (int jarNum = 0; jarNum < jars.size(); jarNum++) {
+          final File jar = jars.get(jarNum);
+          final JarEvaluation evaluation = executor == null
+              ? startJar(jar, configFile, shuffleCache, journal) : evaluations.get(jarNum).get();
+
+          if (evaluation.failure == null) {
+            printer.flush();
+            writer.write(evaluation.csvRecords);
+            writer.flush();
+
+            if (archive != null) {
+              for (final Entry<String, GameResult> gameResult : evaluation.gameResults
+                  .entrySet()) {
+                archive.write(jar.getAbsolutePath(), gameResult.getKey(), gameResult.getValue());
+              }
+              archive.flush();
+            }
+            System.out.println("Evaluated " + jar.getAbsolutePath());
+          } else {
+            System.err.println("Failed to evaluate " + jar.getAbsolutePath());
+            evaluation.failure.printStackTrace();
+          }
+
+          printer.flush();
+          csvOut.getFD().sync();
+          if (archive != null) {
+            archive.sync();
+          }
+          if (evaluation.failure == null) {
+            journal.commit(jar.getAbsolutePath(), evaluation.gameResults.keySet());
+          } else {
+            journal.fail(jar.getAbsolutePath(), evaluation.failure.toString());
+          }
+        }
+      }
+
+      final List<String> failedJars = journal.getFailedJars();
+      if (failedJars.isEmpty()) {
+        journal.delete();
+      } else {
+        System.out.println(failedJars.size() + " jars failed, they are listed in "
+            + EvaluationJournal.getJournalFile(resultCsvFile).getAbsolutePath()
+            + " and are evaluated again with the retryFailed option");
+      }
+    } catch (final ExecutionException e) {
+      throw new RuntimeException("Error writing " + resultCsvFile.getAbsolutePath(), e.getCause());
+    } catch (final IOException | InterruptedException e) {
+      throw new RuntimeException("Error writing " + resultCsvFile.getAbsolutePath(), e);
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
     }
   }
 
@@ -85,7 +321,8 @@ public class Evaluator {
       final ParseResult lineOptions = parser.parse();
 
       evaluateDirectory(lineOptions.getDirectoryOfJars(), lineOptions.getConfigFile(),
-          lineOptions.getResultCsv());
+          lineOptions.getResultCsv(), lineOptions.getArchiveFile(),
+          lineOptions.getNumberOfWorkers(), lineOptions.isRetryFailed());
 
     } catch (final Exception e) {
       if (e instanceof RuntimeException) {
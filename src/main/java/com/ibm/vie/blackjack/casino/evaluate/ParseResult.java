@@ -24,12 +24,34 @@ public class ParseResult {
   private final File competitionConfigFile;
   private final File directoryOfJars;
   private final File resultCsv;
+  private final int numberOfWorkers;
+  private final File archiveFile;
+  private final boolean retryFailed;
 
   protected ParseResult(final File directoryOfJars, final File resultCsv,
       final File competitionConfig) {
+    this(directoryOfJars, resultCsv, competitionConfig, 1);
+  }
+
+  protected ParseResult(final File directoryOfJars, final File resultCsv,
+      final File competitionConfig, final int numberOfWorkers) {
+    this(directoryOfJars, resultCsv, competitionConfig, numberOfWorkers, null);
+  }
+
+  protected ParseResult(final File directoryOfJars, final File resultCsv,
+      final File competitionConfig, final int numberOfWorkers, final File archiveFile) {
+    this(directoryOfJars, resultCsv, competitionConfig, numberOfWorkers, archiveFile, false);
+  }
+
+  protected ParseResult(final File directoryOfJars, final File resultCsv,
+      final File competitionConfig, final int numberOfWorkers, final File archiveFile,
+      final boolean retryFailed) {
     this.directoryOfJars = directoryOfJars;
     this.resultCsv = resultCsv;
     this.competitionConfigFile = competitionConfig;
+    this.numberOfWorkers = numberOfWorkers;
+    this.archiveFile = archiveFile;
+    this.retryFailed = retryFailed;
   }
 
   public File getConfigFile() {
@@ -43,4 +65,16 @@ public class ParseResult {
   public File getResultCsv() {
     return resultCsv;
   }
+
+  public int getNumberOfWorkers() {
+    return numberOfWorkers;
+  }
+
+  public File getArchiveFile() {
+    return archiveFile;
+  }
+
+  public boolean isRetryFailed() {
+    return retryFailed;
+  }
 }
\ No newline at end of file
@@ -40,7 +40,12 @@ public class Parser {
     options = new Options();
     options.addRequiredOption("d", "directory", true, "root directory of jars") //
         .addRequiredOption("r", "resultFile", true, "path to the output csv file") //
-        .addRequiredOption("c", "configFile", true, "path to the competition config file");
+        .addRequiredOption("c", "configFile", true, "path to the competition config file") //
+        .addOption("w", "workers", true, "number of jars to evaluate at the same time (default 1)")
+        .addOption("b", "binaryFile", true,
+            "path to a binary archive that the results of every round are appended to")
+        .addOption("f", "retryFailed", false,
+            "evaluate the jars that failed in an earlier run for the same result file again");
   }
 
   /**
@@ -85,7 +90,20 @@ public class Parser {
     
     final File resultFile = new File(line.getOptionValue('r'));
 
-    return new ParseResult(jarDirectory, resultFile, competitionConfig);
+    final int numberOfWorkers;
+    try {
+      numberOfWorkers = Integer.parseInt(line.getOptionValue('w', "1"));
+    } catch (NumberFormatException e) {
+      throw new ParseException("The number of workers must be a number");
+    }
+    if (numberOfWorkers < 1) {
+      throw new ParseException("The number of workers must be at least 1");
+    }
+
+    final File archiveFile = line.hasOption('b') ? new File(line.getOptionValue('b')) : null;
+
+    return new ParseResult(jarDirectory, resultFile, competitionConfig, numberOfWorkers,
+        archiveFile, line.hasOption('f'));
 
   }
 
@@ -29,6 +29,11 @@ import java.security.PermissionCollection;
 import java.security.Permissions;
 import java.security.ProtectionDomain;
 import java.security.cert.Certificate;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import com.ibm.vie.blackjack.player.PlayerStrategy;
 
 
@@ -36,6 +41,11 @@ import com.ibm.vie.blackjack.player.PlayerStrategy;
  * Class loader to load a student solution and dependent classes from a jar.
  * Classes not in the jar will be loaded from the parent class path
  * 
+ * <p>
+ * A class loader that is created from a {@link File} reads every class in the jar when it is
+ * created, and defines classes from memory. A class loader that is created from a {@link URL} reads
+ * each class from the jar when the class is loaded.
+ * </p>
  * 
  * @author ntl
  *
@@ -43,10 +53,93 @@ import com.ibm.vie.blackjack.player.PlayerStrategy;
 public class StudentClassLoader extends URLClassLoader {
   private final URL jar;
 
+  /**
+   * Bytes of each class in the jar by class name, null if classes are read when they are loaded
+   */
+  private final Map<String, byte[]> classBytes;
+
 
   public StudentClassLoader(final URL jar) throws MalformedURLException {
     super(new URL[] {jar});
     this.jar = jar;
+    this.classBytes = null;
+  }
+
+  /**
+   * Creates a class loader that reads all classes of the jar at once
+   * 
+   * @param jarFile the jar to load classes from
+   * @throws IOException if the jar can not be read
+   */
+  public StudentClassLoader(final File jarFile) throws IOException {
+    this(jarFile.toURI().toURL(), readAllClasses(jarFile));
+  }
+
+  private StudentClassLoader(final URL jar, final Map<String, byte[]> classBytes) {
+    super(new URL[] {jar});
+    this.jar = jar;
+    this.classBytes = classBytes;
+  }
+
+  /**
+   * Reads every class in a jar
+   * 
+   * @param jarFile
+   * @return map of class name to the bytes of the class
+   * @throws IOException
+   */
+  private static Map<String, byte[]> readAllClasses(final File jarFile) throws IOException {
+    final Map<String, byte[]> classes = new HashMap<>();
+    try (JarFile jar = new JarFile(jarFile)) {
+      final Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        final JarEntry entry = entries.nextElement();
+        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+          final String name = entry.getName();
+          try (InputStream input = jar.getInputStream(entry)) {
+            classes.put(name.substring(0, name.length() - ".class".length()).replace('/', '.'),
+                readAll(input));
+          }
+        }
+      }
+    }
+    return classes;
+  }
+
+  /**
+   * Reads a stream to the end
+   * 
+   * @param input
+   * @return the bytes that were read
+   * @throws IOException
+   */
+  private static byte[] readAll(final InputStream input) throws IOException {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    final byte[] chunk = new byte[8192];
+    int count = input.read(chunk);
+
+    while (count != -1) {
+      buffer.write(chunk, 0, count);
+      count = input.read(chunk);
+    }
+
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Defines a class from the jar
+   * 
+   * @param name name of the class
+   * @param classData bytes of the class
+   * @return the class
+   * @throws MalformedURLException
+   */
+  private Class<?> defineJarClass(final String name, final byte[] classData)
+      throws MalformedURLException {
+    URL classUrl = new URL("jar:" + jar.toString() + "!/" + name.replace('.', '/') + ".class");
+    CodeSource source = new CodeSource(classUrl, new Certificate[] {});
+    PermissionCollection permissions = new Permissions();
+    return defineClass(name, classData, 0, classData.length, new ProtectionDomain(source, permissions));
   }
 
   @Override
@@ -54,26 +147,33 @@ public class StudentClassLoader extends URLClassLoader {
     if (name.startsWith("com.ibm")) {
       return StudentClassLoader.class.getClassLoader().loadClass(name);
     }
+
+    if (classBytes != null) {
+      synchronized (getClassLoadingLock(name)) {
+        final Class<?> loaded = findLoadedClass(name);
+        if (loaded != null) {
+          return loaded;
+        }
+
+        final byte[] classData = classBytes.get(name);
+        if (classData == null) {
+          return super.loadClass(name);
+        }
+        try {
+          return defineJarClass(name, classData);
+        } catch (Exception e) {
+          throw new ClassNotFoundException(
+              "Unable to load class " + name + " from " + jar.toString(), e);
+        }
+      }
+    }
     
     try {
       URL classUrl = new URL("jar:" + jar.toString() + "!/" + name.replace('.', '/') + ".class");
       URLConnection connection = classUrl.openConnection();
 
       try (InputStream input = connection.getInputStream()) {
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        int data = input.read();
-
-        while (data != -1) {
-          buffer.write(data);
-          data = input.read();
-        }
-
-        byte[] classData = buffer.toByteArray();
-
-        CodeSource source = new CodeSource(classUrl, new Certificate[] {});
-        PermissionCollection permissions = new Permissions();
-        return defineClass(name, classData, 0, classData.length, new ProtectionDomain(source, permissions));
-
+        return defineJarClass(name, readAll(input));
       }
 
 
@@ -91,7 +191,7 @@ public class StudentClassLoader extends URLClassLoader {
   public static Class<? extends PlayerStrategy> getMyPlayerStrategyFromJar(File jarFile,
       final String className) throws ClassNotFoundException {
 
-    try (StudentClassLoader classLoader = new StudentClassLoader(jarFile.toURI().toURL())) {
+    try (StudentClassLoader classLoader = new StudentClassLoader(jarFile)) {
       return (Class<? extends PlayerStrategy>) classLoader.loadClass(className);
     } catch (Exception e) {
       throw new RuntimeException(e);
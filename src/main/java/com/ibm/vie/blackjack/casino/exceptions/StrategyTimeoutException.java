@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.exceptions;
+
+/**
+ * This exception ends a game when the strategy takes longer than the
+ * {@link com.ibm.vie.blackjack.casino.config.StrategyTimeLimits} allow.
+ *
+ * <p>
+ * It is unchecked because it can end the game after any call to the strategy.
+ * </p>
+ *
+ * @author ntl
+ *
+ */
+public class StrategyTimeoutException extends RuntimeException {
+
+  /**
+   *
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /**
+   *
+   * @param message - a specific message documenting the limit that was exceeded
+   */
+  public StrategyTimeoutException(final String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.hand;
+
+/**
+ * Mutable dealer hand that is used by the table while a round is being played. The immutable
+ * {@link VieDealerHand} for this hand is only built when it is asked for.
+ *
+ * @author ntl
+ *
+ */
+public class DealerHandState extends HandState {
+  private VieDealerHand view = null;
+
+
+  /**
+   *
+   * @return an immutable copy of this hand, the same object is returned until the hand changes
+   */
+  public VieDealerHand toVieDealerHand() {
+    if (view == null) {
+      view = new VieDealerHand(getCards());
+    }
+    return view;
+  }
+
+
+  @Override
+  protected void handChanged() {
+    view = null;
+  }
+
+}
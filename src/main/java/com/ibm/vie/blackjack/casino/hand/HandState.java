@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.hand;
+
+import java.util.Arrays;
+import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+
+/**
+ * Mutable hand that is used by the table while a round is being played.
+ *
+ * Unlike {@link VieHand}, cards are added to this hand in place. The hard total, whether the hand
+ * has an ace, and whether the first two cards are a pair are tracked as each card is added, so
+ * scoring the hand does not require looking at the cards again.
+ *
+ * Observers and strategies are given immutable {@link VieHand} objects. Child classes build these
+ * on request, and keep them until the hand changes.
+ *
+ * @author ntl
+ *
+ */
+public abstract class HandState {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private VieCard[] cards = new VieCard[INITIAL_CAPACITY];
+  private int numCards = 0;
+  private int scoreAceAs1 = 0;
+  private boolean hasAce = false;
+  private boolean pair = false;
+
+
+  /**
+   * Adds a card to the hand
+   *
+   * @param card the card to add
+   */
+  public void addCard(final VieCard card) {
+    if (numCards == cards.length) {
+      cards = Arrays.copyOf(cards, cards.length * 2);
+    }
+    cards[numCards++] = card;
+
+    scoreAceAs1 += card.getRank().getRankMinScore();
+    hasAce |= card.getRank() == Rank.ACE;
+    pair = numCards == 2 && cards[0].getRank() == cards[1].getRank();
+
+    handChanged();
+  }
+
+
+  /**
+   * Removes all cards from the hand
+   */
+  public void clear() {
+    Arrays.fill(cards, 0, numCards, null);
+    numCards = 0;
+    scoreAceAs1 = 0;
+    hasAce = false;
+    pair = false;
+
+    handChanged();
+  }
+
+
+  /**
+   * Called every time the hand changes, so that child classes can forget any view of the hand they
+   * have built.
+   */
+  protected abstract void handChanged();
+
+
+  /**
+   *
+   * @return number of cards in the hand
+   */
+  public int getNumberOfCards() {
+    return numCards;
+  }
+
+
+  /**
+   *
+   * @param index position of the card, 0 is the first card dealt
+   * @return the card at the position
+   */
+  public VieCard getCard(final int index) {
+    return cards[index];
+  }
+
+
+  /**
+   *
+   * @return a copy of the cards in the hand, in the order they were dealt
+   */
+  public VieCard[] getCards() {
+    return Arrays.copyOf(cards, numCards);
+  }
+
+
+  /**
+   * @see VieHand#getScoreAceAs1()
+   * @return the score of the hand, with Aces being counted as 1
+   */
+  public int getScoreAceAs1() {
+    return scoreAceAs1;
+  }
+
+
+  /**
+   * @see VieHand#getScore()
+   * @return the max score for the hand
+   */
+  public int getScore() {
+    return isSoft() ? scoreAceAs1 + Rank.ACE.getRankMaxScore() - Rank.ACE.getRankMinScore()
+        : scoreAceAs1;
+  }
+
+
+  /**
+   *
+   * @return true if an ace in the hand is counted as 11
+   */
+  public boolean isSoft() {
+    return hasAce
+        && scoreAceAs1 + Rank.ACE.getRankMaxScore() - Rank.ACE.getRankMinScore() <= 21;
+  }
+
+
+  /**
+   *
+   * @return true if the hand has exactly two cards of the same rank
+   */
+  public boolean isPair() {
+    return pair;
+  }
+
+
+  /**
+   * @see VieHand#isBlackJack()
+   * @return true if this hand is a blackjack
+   */
+  public boolean isBlackJack() {
+    return numCards == 2 && getScore() == 21;
+  }
+
+
+  /**
+   * @see VieHand#isBusted()
+   * @return true if the hand is a bust
+   */
+  public boolean isBusted() {
+    return scoreAceAs1 > 21;
+  }
+
+}
@@ -143,4 +143,29 @@ public class HandUtil {
     return null;
   }
 
+
+  /**
+   * Searches for the first hand that a decision can be made on, starting at a given position.
+   *
+   * <p>
+   * Hands to the left of the hand that is being played never get another decision, and a split
+   * inserts the new hand at the position of the hand that was split. The table can therefore
+   * start each search at the hand it played last, rather than at the first hand.
+   * </p>
+   *
+   * @see #findHandForPlayerTurn(List)
+   * @param playerHands the player's hands, from dealer's left to dealer's right
+   * @param firstIndex index of the first hand to check
+   * @return the index of the hand, or -1 if there is no hand to make a decision on.
+   */
+  public static int findHandIndexForPlayerTurn(final List<PlayerHandState> playerHands,
+      final int firstIndex) {
+    for (int index = firstIndex; index < playerHands.size(); index++) {
+      if (playerHands.get(index).getRulesAllowHit()) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
 }
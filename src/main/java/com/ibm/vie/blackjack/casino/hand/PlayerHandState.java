@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.hand;
+
+import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.player.PlayerHand;
+
+/**
+ * Mutable player hand that is used by the table while a round is being played. The immutable
+ * {@link ViePlayerHand} for this hand is only built when it is asked for.
+ *
+ * @author ntl
+ *
+ */
+public class PlayerHandState extends HandState {
+  private int betPaid;
+  private boolean decisionsAllowed;
+  private ViePlayerHand view = null;
+  private PlayerHand playerView = null;
+
+
+  /**
+   * Creates an empty hand that the player can make decisions on
+   *
+   * @param betPaid the wager placed on the hand
+   */
+  public PlayerHandState(final int betPaid) {
+    this.betPaid = betPaid;
+    this.decisionsAllowed = true;
+  }
+
+
+  /**
+   * Splits this hand. The first card is moved to a new hand with the same bet, and this hand keeps
+   * the second card.
+   *
+   * @return the new hand, which is to the left of this hand
+   */
+  public PlayerHandState split() {
+    final PlayerHandState left = new PlayerHandState(betPaid);
+    left.addCard(getCard(0));
+
+    final VieCard right = getCard(1);
+    clear();
+    addCard(right);
+    return left;
+  }
+
+
+  /**
+   * Doubles the bet on the hand. No more decisions can be made on the hand after the card for the
+   * double down is added.
+   */
+  public void doubleDown() {
+    betPaid *= 2;
+    decisionsAllowed = false;
+    handChanged();
+  }
+
+
+  /**
+   * Stand on the hand, no more decisions can be made on it.
+   */
+  public void stand() {
+    decisionsAllowed = false;
+    handChanged();
+  }
+
+
+  /**
+   *
+   * @return the bet that was paid for this hand
+   */
+  public int getBetPaid() {
+    return betPaid;
+  }
+
+
+  /**
+   * @see ViePlayerHand#getRulesAllowHit()
+   * @return whether or not blackjack rules allow the player to hit on this hand.
+   */
+  public boolean getRulesAllowHit() {
+    return decisionsAllowed && getScore() < 21;
+  }
+
+
+  /**
+   *
+   * @return an immutable copy of this hand, the same object is returned until the hand changes
+   */
+  public ViePlayerHand toViePlayerHand() {
+    if (view == null) {
+      view = new ViePlayerHand(betPaid, decisionsAllowed, getCards());
+    }
+    return view;
+  }
+
+
+  /**
+   *
+   * @return information about this hand for the player's strategy, the same object is returned
+   *         until the hand changes
+   */
+  public PlayerHand toPlayerHand() {
+    if (playerView == null) {
+      playerView = toViePlayerHand().toPlayerHand();
+    }
+    return playerView;
+  }
+
+
+  @Override
+  protected void handChanged() {
+    view = null;
+    playerView = null;
+  }
+
+}
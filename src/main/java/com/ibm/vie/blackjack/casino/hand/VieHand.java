@@ -16,7 +16,6 @@ package com.ibm.vie.blackjack.casino.hand;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 import com.ibm.vie.blackjack.casino.card.VieCard;
@@ -36,15 +35,16 @@ import com.ibm.vie.blackjack.casino.card.Rank;
  */
 public class VieHand {
   private final List<VieCard> vieCards;
+  private final int scoreAceAs1;
+  private final int score;
+
   /**
    * Construct a hand from an array of cards
    *
    * @param initialCards
    */
   public VieHand(final VieCard... initialCards) {
-    final List<VieCard> newHand = new LinkedList<>();
-    newHand.addAll(Arrays.asList(initialCards));
-    vieCards = Collections.unmodifiableList(newHand);
+    this(Arrays.asList(initialCards));
   }
   
   /**
@@ -53,9 +53,9 @@ public class VieHand {
    * @param initialCards
    */
   public VieHand(final List<VieCard> initialCards) {
-    final List<VieCard> newHand = new LinkedList<>();
-    newHand.addAll(initialCards);
-    vieCards = Collections.unmodifiableList(newHand);
+    vieCards = Collections.unmodifiableList(Arrays.asList(initialCards.toArray(new VieCard[0])));
+    scoreAceAs1 = calculateScoreAceAs1(vieCards);
+    score = calculateScore(vieCards, scoreAceAs1);
   }
 
   /**
@@ -74,12 +74,7 @@ public class VieHand {
    * @return the score of the hand, with Aces being counted as 1
    */
   public int getScoreAceAs1() {
-    int score = 0;
-    for (final VieCard vieCard : vieCards) {
-      score += vieCard.getRank().getRankMinScore();
-    }
-
-    return score;
+    return scoreAceAs1;
   }
 
   /**
@@ -92,6 +87,33 @@ public class VieHand {
    * @return - the max score for the hand
    */
   public int getScore() {
+    return score;
+  }
+
+  /**
+   * Hands are immutable, so the score with aces counted as 1 is calculated once when the hand is
+   * constructed.
+   *
+   * @param vieCards cards in the hand
+   * @return the score of the cards, with Aces being counted as 1
+   */
+  private static int calculateScoreAceAs1(final List<VieCard> vieCards) {
+    int score = 0;
+    for (final VieCard vieCard : vieCards) {
+      score += vieCard.getRank().getRankMinScore();
+    }
+
+    return score;
+  }
+
+  /**
+   * Hands are immutable, so the max score is calculated once when the hand is constructed.
+   *
+   * @param vieCards cards in the hand
+   * @param scoreAceAs1 score of the cards with Aces being counted as 1
+   * @return the max score of the cards
+   */
+  private static int calculateScore(final List<VieCard> vieCards, final int scoreAceAs1) {
     /*
      * There is an implicit assumption here that only aces have a different maximum score, and that
      * the max score is a large enough value (11) such that there can only be one ace in a hand that
@@ -109,7 +131,7 @@ public class VieHand {
     }
 
     if (softAce && score > 21) {
-      return getScoreAceAs1();
+      return scoreAceAs1;
     } else {
       return score;
     }
@@ -14,17 +14,13 @@
  */
 package com.ibm.vie.blackjack.casino.observer;
 
-import java.util.LinkedList;
 import java.util.List;
 import com.ibm.vie.blackjack.casino.card.VieCard;
-import com.ibm.vie.blackjack.casino.config.TableConfig;
 import com.ibm.vie.blackjack.casino.hand.VieDealerHand;
 import com.ibm.vie.blackjack.casino.hand.ViePlayerHand;
 import com.ibm.vie.blackjack.casino.hand.ViePlayerHandPayout;
 import com.ibm.vie.blackjack.casino.stats.GameResult;
-import com.ibm.vie.blackjack.casino.stats.HandResult;
-import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
-import com.ibm.vie.blackjack.casino.stats.RoundResult;
+import com.ibm.vie.blackjack.casino.stats.GameResultRecorder;
 import com.ibm.vie.blackjack.player.GameInfo;
 import com.ibm.vie.blackjack.player.TableRules;
 
@@ -32,7 +28,8 @@ import com.ibm.vie.blackjack.player.TableRules;
  * Tracks the results of an entire game.
  *
  * This observer tracks all information necessary to build a {@link GameResult} object when
- * requested after a game of Blackjack has completed.
+ * requested after a game of Blackjack has completed. The book keeping is done by a
+ * {@link GameResultRecorder}.
  *
  * @see GameResult
  *
@@ -41,14 +38,7 @@ import com.ibm.vie.blackjack.player.TableRules;
  */
 public class GameResultObserver implements TableObserver {
 
-
-  private int chancesToSplit = 0;
-  private final TableRules rules;
-  private Exception gameEndingError = null;
-  private GameResult gameResult;
-  private int roundInitialBet;
-  private final List<RoundResult> roundResults = new LinkedList<>();
-  private final String studentName;
+  private final GameResultRecorder recorder;
 
   /**
    * Constructs the observer and associates it with a specific config.
@@ -57,8 +47,7 @@ public class GameResultObserver implements TableObserver {
    * @param rules - rules of the table
    */
   public GameResultObserver(final String studentName, final TableRules rules) {
-    this.rules = rules;
-    this.studentName = studentName;
+    recorder = new GameResultRecorder(studentName, rules);
   }
 
   /**
@@ -71,7 +60,7 @@ public class GameResultObserver implements TableObserver {
    * @return the result of the game
    */
   public GameResult getResult() {
-    return gameResult;
+    return recorder.getResult();
   }
 
   /**
@@ -83,49 +72,7 @@ public class GameResultObserver implements TableObserver {
   @Override
   public void observeEndOfRound(final GameInfo gameInfo, final VieDealerHand vieDealerHand,
       final List<ViePlayerHandPayout> hands) {
-
-    final List<HandResult> currentRoundHandResults = new LinkedList<>();
-
-
-    for (final ViePlayerHandPayout hand : hands) {
-      final HandResult result = new HandResult();
-
-      result.setEarnings(hand.getPayout() - hand.getBetPaid());
-
-      // If the bet for the hand is twice the initial bet, it must have
-      // been a double down. I wanted to track the decisions to hands
-      // to determine this, but that got complicated for hands that split.
-      result.setWasDoubleDown(hand.getBetPaid() == 2 * roundInitialBet);
-
-      switch (hand.getOutcome()) {
-        case DEALER_WIN:
-
-          if (vieDealerHand.isBlackJack()) {
-            result.setOutcomeStat(HandResultCategory.PLAYER_LOSE_DEALER_BLACKJACK);
-          } else {
-            result.setOutcomeStat(hand.isBusted() ? HandResultCategory.PLAYER_LOSE_BUST
-                : HandResultCategory.PLAYER_LOSE_NO_BUST);
-          }
-          break;
-        case PLAYER_WIN:
-          result.setOutcomeStat(HandResultCategory.PLAYER_WIN_NO_BLACKJACK);
-          break;
-        case PLAYER_WIN_W_BLACKJACK:
-          result.setOutcomeStat(HandResultCategory.PLAYER_BLACKJACK);
-          break;
-        case PUSH:
-          result.setOutcomeStat(HandResultCategory.PUSH);
-          break;
-      }
-
-      currentRoundHandResults.add(result);
-    }
-
-    // create the round result
-    final RoundResult result =
-        new RoundResult(roundInitialBet, currentRoundHandResults.toArray(new HandResult[0]),
-            chancesToSplit, gameInfo.getAvailableMoney());
-    roundResults.add(result);
+    recorder.endOfRound(gameInfo.getAvailableMoney(), vieDealerHand.isBlackJack(), hands);
   }
 
   /**
@@ -134,18 +81,16 @@ public class GameResultObserver implements TableObserver {
    */
   @Override
   public void observeGameIsOver(final GameInfo gameInfo) {
-    gameResult = new GameResult(gameInfo.getAvailableMoney(), gameInfo.getRoundNumber(),
-        roundResults, rules, gameEndingError, studentName);
+    recorder.gameIsOver(gameInfo.getAvailableMoney(), gameInfo.getRoundNumber());
   }
 
 
   /**
-   * Cache the initial bet for the round, and reset {@link #chancesToSplit}
+   * Cache the initial bet for the round, and reset the count of chances to split
    */
   @Override
   public void observeInitialBet(final GameInfo gameInfo, final int betAmount) {
-    roundInitialBet = betAmount;
-    chancesToSplit = 0;
+    recorder.initialBet(betAmount);
   }
 
 
@@ -174,13 +119,7 @@ public class GameResultObserver implements TableObserver {
   @Override
   public void observePlayerTurn(final GameInfo gameInfo, final ViePlayerHand currentHand,
       final VieCard dealerUpCard, final List<ViePlayerHand> allPlayerHands) {
-
-    if (currentHand.getCards().size() == 2
-        && currentHand.getCards().get(0).getRank().equals(currentHand.getCards().get(1).getRank())
-        && gameInfo.getAvailableMoney() > currentHand.getBetPaid()) {
-      chancesToSplit++;
-    }
-
+    recorder.playerTurn(gameInfo.getAvailableMoney(), currentHand);
   }
 
 
@@ -191,7 +130,7 @@ public class GameResultObserver implements TableObserver {
   @Override
   public void observeProgramError(final GameInfo gameInfo, final List<ViePlayerHand> allPlayerHands,
       final VieDealerHand vieDealerHand, final Exception e) {
-    gameEndingError = e;
+    recorder.programError(e);
   }
 
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Standard output of one thread, while it is routed by the {@link ThreadOutputRouter}.
+ *
+ * <p>
+ * Every byte written is counted. Up to a limit, bytes can be passed on to the default output,
+ * and up to another limit bytes can be kept in memory. Everything else is discarded.
+ * </p>
+ *
+ * <p>
+ * Closing the capture gives the thread back the output it had before the capture started.
+ * </p>
+ *
+ * @see ThreadOutputRouter
+ *
+ * @author ntl
+ *
+ */
+public class OutputCapture implements AutoCloseable {
+  private final OutputCapture previous;
+  private final Sink sink;
+  private final PrintStream stream;
+  private boolean closed = false;
+
+  /**
+   * Output stream that counts, passes on and captures bytes
+   */
+  private static class Sink extends OutputStream {
+    private final PrintStream passThrough;
+    private final long passThroughLimit;
+    private final ByteArrayOutputStream captured;
+    private final int captureLimit;
+    private long count = 0;
+
+    Sink(final PrintStream passThrough, final long passThroughLimit, final int captureLimit) {
+      this.passThrough = passThrough;
+      this.passThroughLimit = passThroughLimit;
+      this.captured = captureLimit > 0 ? new ByteArrayOutputStream() : null;
+      this.captureLimit = captureLimit;
+    }
+
+    @Override
+    public void write(final int b) {
+      if (passThrough != null && count < passThroughLimit) {
+        passThrough.write(b);
+      }
+      if (captured != null && count < captureLimit) {
+        captured.write(b);
+      }
+      count++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      if (passThrough != null && count < passThroughLimit) {
+        passThrough.write(b, off, (int) Math.min(len, passThroughLimit - count));
+      }
+      if (captured != null && count < captureLimit) {
+        captured.write(b, off, (int) Math.min(len, captureLimit - count));
+      }
+      count += len;
+    }
+
+    @Override
+    public void flush() {
+      if (passThrough != null) {
+        passThrough.flush();
+      }
+    }
+  }
+
+  /**
+   * Creates a capture for the current thread
+   *
+   * @param previous capture that was in effect for the thread, null if none
+   * @param passThrough stream that the first bytes are passed to, may be null
+   * @param passThroughLimit number of bytes to pass on
+   * @param captureLimit number of bytes to keep in memory
+   */
+  OutputCapture(final OutputCapture previous, final PrintStream passThrough,
+      final long passThroughLimit, final int captureLimit) {
+    this.previous = previous;
+    this.sink = new Sink(passThrough, passThroughLimit, captureLimit);
+    this.stream = new PrintStream(sink, true);
+  }
+
+  /**
+   *
+   * @return the stream that the thread writes to
+   */
+  PrintStream getStream() {
+    return stream;
+  }
+
+  /**
+   *
+   * @return the capture that was in effect before this one
+   */
+  OutputCapture getPrevious() {
+    return previous;
+  }
+
+  /**
+   * Returns the number of bytes the thread has written, including bytes that were discarded.
+   *
+   * @return number of bytes written
+   */
+  public long getByteCount() {
+    stream.flush();
+    return sink.count;
+  }
+
+  /**
+   * Returns the output that was kept in memory.
+   *
+   * @return the captured output, or an empty string if output is not captured
+   */
+  public String getCapturedOutput() {
+    stream.flush();
+    if (sink.captured == null) {
+      return "";
+    }
+    try {
+      return sink.captured.toString(System.getProperty("file.encoding"));
+    } catch (final UnsupportedEncodingException e) {
+      return sink.captured.toString();
+    }
+  }
+
+  /**
+   * Stops the capture, the thread writes to the output it used before the capture started. Must
+   * be called by the thread that started the capture.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      stream.flush();
+      ThreadOutputRouter.endCapture(this);
+    }
+  }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.output;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Standard output that can be routed separately for each thread.
+ *
+ * <p>
+ * The router is installed as {@link System#out} once, and is never replaced. A thread that plays a
+ * table can then discard, limit or capture whatever the strategy prints by starting an
+ * {@link OutputCapture}, without changing the output of any other thread. Threads that have not
+ * started a capture write to the default output, which is the standard output at the time the
+ * router was installed.
+ * </p>
+ *
+ * <p>
+ * Captures of a thread are nested. Closing a capture gives the thread back the output it had
+ * before the capture started, so captures must be closed in the reverse order they were started,
+ * preferably with try-with-resources:
+ * </p>
+ *
+ * <pre>
+ * try (OutputCapture capture = ThreadOutputRouter.discard()) {
+ *   result = table.playManyRoundsOfBlackJackHeadless(name);
+ *   bytes = capture.getByteCount();
+ * }
+ * </pre>
+ *
+ * @author ntl
+ *
+ */
+public final class ThreadOutputRouter extends PrintStream {
+  private static final ThreadLocal<OutputCapture> route = new ThreadLocal<>();
+  private static volatile PrintStream defaultOutput = System.out;
+  private static ThreadOutputRouter router = null;
+
+  /**
+   * Creates the router, only one is ever created
+   */
+  private ThreadOutputRouter() {
+    super(new OutputStream() {
+      @Override
+      public void write(final int b) {
+        target().write(b);
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) {
+        target().write(b, off, len);
+      }
+    }, true);
+  }
+
+
+  /**
+   * Installs the router as {@link System#out}, if it is not already installed. The standard output
+   * that is replaced becomes the default output.
+   *
+   * @return the router
+   */
+  public static synchronized ThreadOutputRouter install() {
+    if (router == null) {
+      router = new ThreadOutputRouter();
+    }
+    if (System.out != router) {
+      defaultOutput = System.out;
+      System.setOut(router);
+    }
+    return router;
+  }
+
+
+  /**
+   * Discards all output of the current thread, until the capture is closed. The bytes written are
+   * still counted.
+   *
+   * @return the capture, which must be closed by the current thread
+   */
+  public static OutputCapture discard() {
+    return startCapture(null, 0, 0);
+  }
+
+
+  /**
+   * Passes on at most maxBytes of output of the current thread, and discards the rest until the
+   * capture is closed. The output is passed to where the thread was writing before the capture
+   * started.
+   *
+   * @param maxBytes number of bytes to pass on
+   * @return the capture, which must be closed by the current thread
+   */
+  public static OutputCapture limit(final long maxBytes) {
+    return startCapture(target(), maxBytes, 0);
+  }
+
+
+  /**
+   * Keeps at most maxBytes of output of the current thread in memory, and discards the rest until
+   * the capture is closed.
+   *
+   * @param maxBytes number of bytes to keep
+   * @return the capture, which must be closed by the current thread
+   *
+   * @see OutputCapture#getCapturedOutput()
+   */
+  public static OutputCapture capture(final int maxBytes) {
+    return startCapture(null, 0, maxBytes);
+  }
+
+
+  /**
+   * Returns the output used by threads without a capture
+   *
+   * @return the default output
+   */
+  public static PrintStream getDefaultOutput() {
+    return defaultOutput;
+  }
+
+
+  /**
+   * Changes the output used by threads without a capture. This is the replacement for
+   * {@link System#setOut(PrintStream)} once the router is installed.
+   *
+   * @param output the new default output
+   */
+  public static void setDefaultOutput(final PrintStream output) {
+    install();
+    defaultOutput = output;
+  }
+
+
+  /**
+   * Starts a capture on the current thread
+   *
+   * @param passThrough stream that the first bytes are passed to, may be null
+   * @param passThroughLimit number of bytes to pass on
+   * @param captureLimit number of bytes to keep in memory
+   * @return the capture
+   */
+  private static OutputCapture startCapture(final PrintStream passThrough,
+      final long passThroughLimit, final int captureLimit) {
+    install();
+    final OutputCapture capture =
+        new OutputCapture(route.get(), passThrough, passThroughLimit, captureLimit);
+    route.set(capture);
+    return capture;
+  }
+
+
+  /**
+   * Ends a capture of the current thread
+   *
+   * @param capture the capture, must be the last capture the thread started
+   *
+   * @throws IllegalStateException if the capture is not the current capture of the thread
+   */
+  static void endCapture(final OutputCapture capture) {
+    if (route.get() != capture) {
+      throw new IllegalStateException("Output capture is not the current capture of this thread");
+    }
+    if (capture.getPrevious() == null) {
+      route.remove();
+    } else {
+      route.set(capture.getPrevious());
+    }
+  }
+
+
+  /**
+   *
+   * @return the stream the current thread writes to
+   */
+  private static PrintStream target() {
+    final OutputCapture capture = route.get();
+    return capture == null ? defaultOutput : capture.getStream();
+  }
+
+
+  // Every method of PrintStream is passed to the target of the current thread, so that the
+  // lock of the router is never taken and threads do not wait for each other.
+
+  @Override
+  public void flush() {
+    target().flush();
+  }
+
+  /**
+   * The router is never closed, the output of the current thread is flushed instead
+   */
+  @Override
+  public void close() {
+    flush();
+  }
+
+  @Override
+  public boolean checkError() {
+    return target().checkError();
+  }
+
+  @Override
+  public void write(final int b) {
+    target().write(b);
+  }
+
+  @Override
+  public void write(final byte[] buf, final int off, final int len) {
+    target().write(buf, off, len);
+  }
+
+  @Override
+  public void print(final boolean b) {
+    target().print(b);
+  }
+
+  @Override
+  public void print(final char c) {
+    target().print(c);
+  }
+
+  @Override
+  public void print(final int i) {
+    target().print(i);
+  }
+
+  @Override
+  public void print(final long l) {
+    target().print(l);
+  }
+
+  @Override
+  public void print(final float f) {
+    target().print(f);
+  }
+
+  @Override
+  public void print(final double d) {
+    target().print(d);
+  }
+
+  @Override
+  public void print(final char[] s) {
+    target().print(s);
+  }
+
+  @Override
+  public void print(final String s) {
+    target().print(s);
+  }
+
+  @Override
+  public void print(final Object obj) {
+    target().print(obj);
+  }
+
+  @Override
+  public void println() {
+    target().println();
+  }
+
+  @Override
+  public void println(final boolean x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final char x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final int x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final long x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final float x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final double x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final char[] x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final String x) {
+    target().println(x);
+  }
+
+  @Override
+  public void println(final Object x) {
+    target().println(x);
+  }
+
+  @Override
+  public PrintStream printf(final String format, final Object... args) {
+    target().printf(format, args);
+    return this;
+  }
+
+  @Override
+  public PrintStream printf(final Locale l, final String format, final Object... args) {
+    target().printf(l, format, args);
+    return this;
+  }
+
+  @Override
+  public PrintStream format(final String format, final Object... args) {
+    target().format(format, args);
+    return this;
+  }
+
+  @Override
+  public PrintStream format(final Locale l, final String format, final Object... args) {
+    target().format(l, format, args);
+    return this;
+  }
+
+  @Override
+  public PrintStream append(final CharSequence csq) {
+    target().append(csq);
+    return this;
+  }
+
+  @Override
+  public PrintStream append(final CharSequence csq, final int start, final int end) {
+    target().append(csq, start, end);
+    return this;
+  }
+
+  @Override
+  public PrintStream append(final char c) {
+    target().append(c);
+    return this;
+  }
+
+}
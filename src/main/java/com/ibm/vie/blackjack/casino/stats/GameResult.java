@@ -31,9 +31,11 @@ public class GameResult {
   private final TableRules rules;
   private final int finalMoney;
   private final Exception gameEndingException;
-  private final List<RoundResult> roundResults;
+  private final RoundResultColumns roundResults;
   private final int roundsPlayed;
   private final String studentName;
+  private final long consoleOutputBytes;
+  private final StrategyLatency strategyLatency;
 
   /**
    * Builds a game result
@@ -47,12 +49,93 @@ public class GameResult {
    */
   public GameResult(final int finalMoney, final int roundsPlayed, final List<RoundResult> outcomes,
       final TableRules rules, final Exception gameEndingException, final String studentName) {
+    this(finalMoney, roundsPlayed, outcomes, rules, gameEndingException, studentName, 0);
+  }
+
+  /**
+   * Builds a game result
+   *
+   * @param finalMoney final amount of money at the end of the game
+   * @param roundsPlayed total number of rounds played in the game
+   * @param outcomes list of round results, which is copied into columns
+   * @param rules the table rules
+   * @param gameEndingException an exception that ended the game, may be null if not exception
+   * @param studentName name of the student that owns the strategy
+   * @param consoleOutputBytes number of bytes the strategy wrote to standard output
+   */
+  public GameResult(final int finalMoney, final int roundsPlayed, final List<RoundResult> outcomes,
+      final TableRules rules, final Exception gameEndingException, final String studentName,
+      final long consoleOutputBytes) {
+    this(finalMoney, roundsPlayed, toColumns(outcomes), rules, gameEndingException, studentName,
+        consoleOutputBytes);
+  }
+
+  /**
+   * Builds a game result
+   *
+   * @param finalMoney final amount of money at the end of the game
+   * @param roundsPlayed total number of rounds played in the game
+   * @param outcomes the round results, no rounds may be added after the game result is built
+   * @param rules the table rules
+   * @param gameEndingException an exception that ended the game, may be null if not exception
+   * @param studentName name of the student that owns the strategy
+   * @param consoleOutputBytes number of bytes the strategy wrote to standard output
+   */
+  public GameResult(final int finalMoney, final int roundsPlayed, final RoundResultColumns outcomes,
+      final TableRules rules, final Exception gameEndingException, final String studentName,
+      final long consoleOutputBytes) {
+    this(finalMoney, roundsPlayed, outcomes, rules, gameEndingException, studentName,
+        consoleOutputBytes, new StrategyLatency());
+  }
+
+  /**
+   * Builds a game result
+   *
+   * @param finalMoney final amount of money at the end of the game
+   * @param roundsPlayed total number of rounds played in the game
+   * @param outcomes the round results, no rounds may be added after the game result is built
+   * @param rules the table rules
+   * @param gameEndingException an exception that ended the game, may be null if not exception
+   * @param studentName name of the student that owns the strategy
+   * @param consoleOutputBytes number of bytes the strategy wrote to standard output
+   * @param strategyLatency time spent in the methods of the strategy
+   */
+  public GameResult(final int finalMoney, final int roundsPlayed, final RoundResultColumns outcomes,
+      final TableRules rules, final Exception gameEndingException, final String studentName,
+      final long consoleOutputBytes, final StrategyLatency strategyLatency) {
     this.finalMoney = finalMoney;
     this.roundsPlayed = roundsPlayed;
     roundResults = outcomes;
     this.rules = rules;
     this.gameEndingException = gameEndingException;
     this.studentName = studentName;
+    this.consoleOutputBytes = consoleOutputBytes;
+    this.strategyLatency = strategyLatency;
+  }
+
+  /**
+   * Copies round results into columns
+   *
+   * @param outcomes list of round results
+   * @return the columns
+   */
+  private static RoundResultColumns toColumns(final List<RoundResult> outcomes) {
+    final RoundResultColumns columns = new RoundResultColumns();
+    for (final RoundResult round : outcomes) {
+      columns.addRound(round);
+    }
+    return columns;
+  }
+
+  /**
+   * Returns a copy of this result with a different count of console output
+   *
+   * @param consoleOutputBytes number of bytes written to standard output while the game was played
+   * @return a new game result, with the same rounds as this one
+   */
+  public GameResult withConsoleOutputBytes(final long consoleOutputBytes) {
+    return new GameResult(finalMoney, roundsPlayed, roundResults, rules, gameEndingException,
+        studentName, consoleOutputBytes, strategyLatency);
   }
 
   /**
@@ -112,9 +195,23 @@ public class GameResult {
   /**
    * returns a list of details about each round
    *
-   * @return list of round results
+   * <p>
+   * The rounds are stored in columns, and the round objects are created when they are read. Use
+   * {@link #getRoundResultColumns()} to read every round of a long game.
+   * </p>
+   *
+   * @return read only list of round results
    */
   public List<RoundResult> getRoundResults() {
+    return roundResults.asList();
+  }
+
+  /**
+   * returns the details about each round, stored in columns
+   *
+   * @return round results
+   */
+  public RoundResultColumns getRoundResultColumns() {
     return roundResults;
   }
 
@@ -136,4 +233,22 @@ public class GameResult {
   public String getStudentName() {
     return studentName;
   }
+
+  /**
+   * returns the number of bytes written to standard output while the game was played
+   *
+   * @return number of bytes, 0 if the output was not counted
+   */
+  public long getConsoleOutputBytes() {
+    return consoleOutputBytes;
+  }
+
+  /**
+   * returns the time the strategy spent in each of its methods
+   *
+   * @return latency of the strategy, empty if the calls were not timed
+   */
+  public StrategyLatency getStrategyLatency() {
+    return strategyLatency;
+  }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import java.util.List;
+import com.ibm.vie.blackjack.casino.hand.ViePlayerHand;
+import com.ibm.vie.blackjack.casino.hand.ViePlayerHandPayout;
+import com.ibm.vie.blackjack.casino.observer.GameResultObserver;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Builds a {@link GameResult} from the events of a game.
+ *
+ * <p>
+ * This holds the book keeping that {@link GameResultObserver} does for each event, so that a table
+ * that is played without observers can record the same result by calling these methods directly.
+ * </p>
+ *
+ * @see GameResultObserver
+ * @see com.ibm.vie.blackjack.casino.Table#playManyRoundsOfBlackJackHeadless(String)
+ *
+ * @author ntl
+ *
+ */
+public class GameResultRecorder {
+  private int chancesToSplit = 0;
+  private final TableRules rules;
+  private Exception gameEndingError = null;
+  private GameResult gameResult;
+  private int roundInitialBet;
+  private final RoundResultColumns roundResults = new RoundResultColumns();
+  private final StrategyLatency strategyLatency = new StrategyLatency();
+  private final String studentName;
+
+  /**
+   * Constructs the recorder for a game
+   *
+   * @param studentName name of the student
+   * @param rules - rules of the table
+   */
+  public GameResultRecorder(final String studentName, final TableRules rules) {
+    this.rules = rules;
+    this.studentName = studentName;
+  }
+
+  /**
+   * Retrieves the game result
+   *
+   * @return the result of the game, or null if {@link #gameIsOver(int, int)} has not been called
+   */
+  public GameResult getResult() {
+    return gameResult;
+  }
+
+  /**
+   * Records the initial bet of a round, and starts counting chances to split for the round
+   *
+   * @param betAmount the initial bet
+   */
+  public void initialBet(final int betAmount) {
+    roundInitialBet = betAmount;
+    chancesToSplit = 0;
+  }
+
+  /**
+   * Records the start of a player's turn on a hand. A hand of two cards of the same rank is a chance
+   * to split, when the player has enough money to cover the bet.
+   *
+   * @param availableMoney money available to the player
+   * @param currentHand the hand that is about to be played
+   */
+  public void playerTurn(final int availableMoney, final ViePlayerHand currentHand) {
+    if (currentHand.getCards().size() == 2
+        && currentHand.getCards().get(0).getRank().equals(currentHand.getCards().get(1).getRank())
+        && availableMoney > currentHand.getBetPaid()) {
+      chancesToSplit++;
+    }
+  }
+
+  /**
+   * Records the round result at the end of the round.
+   *
+   * @param availableMoney money available to the player after the bets are settled
+   * @param dealerHasBlackJack true if the dealer's hand is a blackjack
+   * @param hands the settled player hands
+   */
+  public void endOfRound(final int availableMoney, final boolean dealerHasBlackJack,
+      final List<ViePlayerHandPayout> hands) {
+    for (final ViePlayerHandPayout hand : hands) {
+      HandResultCategory outcomeStat = null;
+
+      switch (hand.getOutcome()) {
+        case DEALER_WIN:
+
+          if (dealerHasBlackJack) {
+            outcomeStat = HandResultCategory.PLAYER_LOSE_DEALER_BLACKJACK;
+          } else {
+            outcomeStat = hand.isBusted() ? HandResultCategory.PLAYER_LOSE_BUST
+                : HandResultCategory.PLAYER_LOSE_NO_BUST;
+          }
+          break;
+        case PLAYER_WIN:
+          outcomeStat = HandResultCategory.PLAYER_WIN_NO_BLACKJACK;
+          break;
+        case PLAYER_WIN_W_BLACKJACK:
+          outcomeStat = HandResultCategory.PLAYER_BLACKJACK;
+          break;
+        case PUSH:
+          outcomeStat = HandResultCategory.PUSH;
+          break;
+      }
+
+      // If the bet for the hand is twice the initial bet, it must have
+      // been a double down. I wanted to track the decisions to hands
+      // to determine this, but that got complicated for hands that split.
+      roundResults.addHand(hand.getPayout() - hand.getBetPaid(), outcomeStat,
+          hand.getBetPaid() == 2 * roundInitialBet);
+    }
+
+    // record the round result
+    roundResults.endRound(roundInitialBet, chancesToSplit, availableMoney);
+  }
+
+  /**
+   * Records how long a call of the strategy took
+   *
+   * @param callback the method of the strategy that was called
+   * @param nanos time spent in the method
+   */
+  public void strategyCalled(final StrategyCallback callback, final long nanos) {
+    strategyLatency.record(callback, nanos);
+  }
+
+  /**
+   * Records an error that ended the game
+   *
+   * @param e the error
+   */
+  public void programError(final Exception e) {
+    gameEndingError = e;
+  }
+
+  /**
+   * Creates the game result at the end of the game
+   *
+   * @param availableMoney money available to the player at the end of the game
+   * @param roundNumber the last round number of the game
+   */
+  public void gameIsOver(final int availableMoney, final int roundNumber) {
+    gameResult = new GameResult(availableMoney, roundNumber, roundResults, rules, gameEndingError,
+        studentName, 0, strategyLatency);
+  }
+
+}
@@ -14,12 +14,14 @@
  */
 package com.ibm.vie.blackjack.casino.stats;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.math3.stat.Frequency;
@@ -35,13 +37,20 @@ import com.ibm.vie.blackjack.player.PlayerStrategy;
  *
  */
 public class GameResultStatCalculator {
+  /**
+   * Headers of the latency columns, which follow the description of each
+   * {@link StrategyCallback}
+   */
+  private static final String[] LATENCY_HEADERS =
+      {"Calls", "Mean ns", "p50 ns", "p99 ns", "Max ns"};
+
   /**
    * Headers for CSV output of the statistics
    *
    */
-  public static final String[] CSV_HEADERS =
+  public static final String[] CSV_HEADERS = withLatencyHeaders(
   //@formatter:off
-      {
+      new String[] {
        "Student Jar",
        "Student Name",
        "Table Name",
@@ -81,11 +90,29 @@ public class GameResultStatCalculator {
        "Times the max bet was made",
        "Mean Bet",
        "Max Available Money",
-       "Min Available Money"
-       };
+       "Min Available Money",
+       "Console Output Bytes"
+       });
   
 // @formatter:on
 
+
+  /**
+   * Adds the latency columns of each {@link StrategyCallback} to the headers
+   *
+   * @param headers headers of the other statistics
+   * @return the headers, followed by the latency headers
+   */
+  private static String[] withLatencyHeaders(final String[] headers) {
+    final List<String> allHeaders = new ArrayList<>(Arrays.asList(headers));
+    for (final StrategyCallback callback : StrategyCallback.values()) {
+      for (final String latencyHeader : LATENCY_HEADERS) {
+        allHeaders.add(callback.getDescription() + " " + latencyHeader);
+      }
+    }
+    return allHeaders.toArray(new String[allHeaders.size()]);
+  }
+
   final String studentJarPath;
   /**
    * Returns a csv printer for the writer
@@ -97,7 +124,7 @@ public class GameResultStatCalculator {
    *
    * @throws IOException
    */
-  public static CSVPrinter getCSVPrinter(final FileWriter writer, final boolean addHeaders)
+  public static CSVPrinter getCSVPrinter(final Writer writer, final boolean addHeaders)
       throws IOException {
     if (addHeaders) {
       return new CSVPrinter(writer,
@@ -110,11 +137,7 @@ public class GameResultStatCalculator {
   private final GameResult gameResult;
   private final String nameOfTable;
 
-  private final List<HandResult> hands;
-
-
-
-  private final List<RoundResult> rounds;
+  private final GameResultSummary summary;
 
   public static String getPathToJar(Class<? extends PlayerStrategy> strategy) {
     String path = null;
@@ -136,9 +159,7 @@ public class GameResultStatCalculator {
   public GameResultStatCalculator(final String studentJarPath, final String nameOfTable, final GameResult gameResult) {
     this.gameResult = gameResult;
     this.nameOfTable = nameOfTable;
-    rounds = gameResult.getRoundResults();
-    hands = rounds.stream().flatMap(round -> round.getHandResults().stream())
-        .collect(Collectors.toList());
+    summary = GameResultSummary.of(gameResult);
     
     this.studentJarPath = studentJarPath; 
        
@@ -154,9 +175,7 @@ public class GameResultStatCalculator {
   public GameResultStatCalculator(final String nameOfTable, final GameResult gameResult) {
     this.gameResult = gameResult;
     this.nameOfTable = nameOfTable;
-    rounds = gameResult.getRoundResults();
-    hands = rounds.stream().flatMap(round -> round.getHandResults().stream())
-        .collect(Collectors.toList());
+    summary = GameResultSummary.of(gameResult);
     
     this.studentJarPath = ""; 
        
@@ -168,8 +187,12 @@ public class GameResultStatCalculator {
    * @return descriptive stats about betting
    */
   public DescriptiveStatistics getBetStats() {
-    return new DescriptiveStatistics(
-        rounds.stream().mapToDouble(round -> round.getInitialBet()).toArray());
+    final RoundResultColumns rounds = gameResult.getRoundResultColumns();
+    final double[] bets = new double[rounds.getNumberOfRounds()];
+    for (int round = 0; round < bets.length; round++) {
+      bets[round] = rounds.getInitialBet(round);
+    }
+    return new DescriptiveStatistics(bets);
   }
 
   /**
@@ -178,8 +201,7 @@ public class GameResultStatCalculator {
    * @return earnings
    */
   public int getDoubleDownEarnings() {
-    return hands.stream().filter(hand -> hand.getWasDoubleDown())
-        .mapToInt(hand -> hand.getEarnings()).sum();
+    return summary.getDoubleDownEarnings();
   }
 
   public boolean gameEndedInError() {
@@ -195,10 +217,7 @@ public class GameResultStatCalculator {
    * @return a {@link Frequency} object, where the elements are of type {@link HandResultCategory}
    */
   public Frequency getDoubleDownHandCategoryFrequency() {
-    final Frequency freq = new Frequency(HandResultCategory.descendingOutcome);
-    hands.stream().filter(hand -> hand.getWasDoubleDown())
-        .forEach(hand -> freq.addValue(hand.getResultStat()));
-    return freq;
+    return summary.getDoubleDownHandCategoryFrequency();
   }
 
   /**
@@ -219,12 +238,7 @@ public class GameResultStatCalculator {
    * @return a {@link Frequency} object, where the elements are of type {@link HandResultCategory}
    */
   public Frequency getFreqFromRoundsWithSplit() {
-    final Frequency freq = new Frequency(HandResultCategory.descendingOutcome);
-    rounds.stream().filter(round -> round.getActualSplits() > 0)
-        .flatMap(round -> round.getHandResults().stream())
-        .forEach(hand -> freq.addValue(hand.getResultStat()));
-
-    return freq;
+    return summary.getSplitHandCategoryFrequency();
   }
 
 
@@ -239,9 +253,7 @@ public class GameResultStatCalculator {
    * @return a {@link Frequency} object, where the elements are of type {@link HandResultCategory}
    */
   public Frequency getHandCategoryFrequency() {
-    final Frequency freq = new Frequency(HandResultCategory.descendingOutcome);
-    hands.forEach(hand -> freq.addValue(hand.getResultStat()));
-    return freq;
+    return summary.getHandCategoryFrequency();
   }
 
 
@@ -252,7 +264,7 @@ public class GameResultStatCalculator {
    * @return max amount of available money
    */
   public int getMaxAvailableMoney() {
-    return rounds.stream().mapToInt(round -> round.getMoneyAfterRound()).max().orElse(-1);
+    return summary.getMaxAvailableMoney();
   }
 
 
@@ -263,7 +275,7 @@ public class GameResultStatCalculator {
    * @return min amount of available money
    */
   public int getMinAvailableMoney() {
-    return rounds.stream().mapToInt(round -> round.getMoneyAfterRound()).min().orElse(-1);
+    return summary.getMinAvailableMoney();
   }
 
   /**
@@ -273,7 +285,7 @@ public class GameResultStatCalculator {
    * @return number of potential splits
    */
   public int getNumSpiltHandOpportunities() {
-    return rounds.stream().mapToInt(round -> round.getSplitOpportunities()).sum();
+    return summary.getSplitOpportunities();
   }
 
 
@@ -282,8 +294,7 @@ public class GameResultStatCalculator {
    * @return number of times the initial bet was the maximum
    */
   public int getNumTimesInitialBetIsMax() {
-    return (int) rounds.stream()
-        .filter(round -> round.getInitialBet() == gameResult.getRules().getMaxBet()).count();
+    return summary.getTimesBetIsMax();
   }
 
 
@@ -292,8 +303,7 @@ public class GameResultStatCalculator {
    * @return number of times the initial bet was the minimum
    */
   public int getNumTimesInitialBetIsMin() {
-    return (int) rounds.stream()
-        .filter(round -> round.getInitialBet() == gameResult.getRules().getMinBet()).count();
+    return summary.getTimesBetIsMin();
   }
 
 
@@ -303,7 +313,7 @@ public class GameResultStatCalculator {
    * @return number of splits
    */
   public int getNumTimesSplit() {
-    return rounds.stream().mapToInt(round -> round.getActualSplits()).sum();
+    return summary.getActualSplits();
   }
 
   /**
@@ -312,9 +322,7 @@ public class GameResultStatCalculator {
    * @return earnings
    */
   public int getSplitEarnings() {
-    return rounds.stream().filter(round -> round.getActualSplits() > 0)
-        .flatMap(round -> round.getHandResults().stream()).mapToInt(hand -> hand.getEarnings())
-        .sum();
+    return summary.getSplitEarnings();
   }
 
 
@@ -346,7 +354,7 @@ public class GameResultStatCalculator {
    * @return total earnings
    */
   public int getTotalEarnings() {
-    return hands.stream().mapToInt(hand -> hand.getEarnings()).sum();
+    return summary.getTotalEarnings();
   }
 
   /**
@@ -354,7 +362,7 @@ public class GameResultStatCalculator {
    * @return number of hands played across all rounds
    */
   public int getTotalNumberOfHandsPlayed() {
-    return hands.size();
+    return summary.getNumberOfHands();
   }
 
 
@@ -363,7 +371,7 @@ public class GameResultStatCalculator {
    * @return number of rounds played
    */
   public int getTotalNumberOfRoundsPlayed() {
-    return rounds.size();
+    return summary.getNumberOfRounds();
   }
 
 
@@ -378,8 +386,8 @@ public class GameResultStatCalculator {
     final Frequency split_freq = this.getFreqFromRoundsWithSplit();
     final Frequency dd_freq = this.getDoubleDownHandCategoryFrequency();
 
-    
-    printer.printRecord(
+    final List<Object> values = new ArrayList<>(CSV_HEADERS.length);
+    Collections.addAll(values,
         studentJarPath, 
         gameResult.getStudentName(), //
         nameOfTable, //
@@ -414,9 +422,21 @@ public class GameResultStatCalculator {
 
         this.getNumTimesInitialBetIsMin(), //
         this.getNumTimesInitialBetIsMax(), //
-        this.getBetStats().getMean(), //
+        summary.getMeanBet(), //
         this.getMaxAvailableMoney(), //
-        this.getMinAvailableMoney());
+        this.getMinAvailableMoney(), //
+        gameResult.getConsoleOutputBytes());
+
+    // in the same order as the latency headers
+    final StrategyLatency latency = gameResult.getStrategyLatency();
+    for (final StrategyCallback callback : StrategyCallback.values()) {
+      final LatencyHistogram histogram = latency.get(callback);
+      Collections.addAll(values, histogram.getCount(), histogram.getMeanNanos(),
+          histogram.getPercentileNanos(50), histogram.getPercentileNanos(99),
+          histogram.getMaxNanos());
+    }
+
+    printer.printRecord(values);
   }
 
   /**
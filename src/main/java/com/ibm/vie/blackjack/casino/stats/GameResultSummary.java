@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import org.apache.commons.math3.stat.Frequency;
+import com.ibm.vie.blackjack.player.TableRules;
+
+/**
+ * Counts and sums of the rounds of a game, that are updated one round at a time.
+ *
+ * <p>
+ * Every statistic that {@link GameResultStatCalculator} prints to a csv record is kept here, so a
+ * game is summarized by a single pass over its rounds, without building lists of hands.
+ * </p>
+ *
+ * @see GameResultStatCalculator
+ *
+ * @author ntl
+ *
+ */
+public class GameResultSummary {
+  private static final int NUMBER_OF_CATEGORIES = HandResultCategory.values().length;
+
+  private final int minBet;
+  private final int maxBet;
+
+  private int rounds = 0;
+  private int hands = 0;
+  private int totalEarnings = 0;
+
+  private int splitOpportunities = 0;
+  private int actualSplits = 0;
+  private int splitEarnings = 0;
+
+  private int doubleDownEarnings = 0;
+
+  private int timesBetIsMin = 0;
+  private int timesBetIsMax = 0;
+  private long betSum = 0;
+
+  private int minAvailableMoney = Integer.MAX_VALUE;
+  private int maxAvailableMoney = Integer.MIN_VALUE;
+
+  private final long[] handCategoryCounts = new long[NUMBER_OF_CATEGORIES];
+  private final long[] splitCategoryCounts = new long[NUMBER_OF_CATEGORIES];
+  private final long[] doubleDownCategoryCounts = new long[NUMBER_OF_CATEGORIES];
+
+  /**
+   * Constructs an empty summary
+   *
+   * @param minBet minimum bet of the table
+   * @param maxBet maximum bet of the table
+   */
+  public GameResultSummary(final int minBet, final int maxBet) {
+    this.minBet = minBet;
+    this.maxBet = maxBet;
+  }
+
+  /**
+   * Summarizes all rounds of a game
+   *
+   * @param gameResult the game
+   * @return a new summary
+   */
+  public static GameResultSummary of(final GameResult gameResult) {
+    return of(gameResult.getRoundResultColumns(), gameResult.getRules());
+  }
+
+  /**
+   * Summarizes all rounds of a game
+   *
+   * @param rounds the rounds of the game
+   * @param rules rules of the table the game was played at, may be null
+   * @return a new summary
+   */
+  public static GameResultSummary of(final RoundResultView rounds, final TableRules rules) {
+    // bets are never negative, so a game without rules never counts min or max bets
+    final GameResultSummary summary = rules == null ? new GameResultSummary(-1, -1)
+        : new GameResultSummary(rules.getMinBet(), rules.getMaxBet());
+
+    for (int round = 0; round < rounds.getNumberOfRounds(); round++) {
+      summary.add(rounds, round);
+    }
+    return summary;
+  }
+
+  /**
+   * Adds a round to the summary
+   *
+   * @param round the result of a finished round
+   */
+  public void add(final RoundResult round) {
+    addRound(round.getInitialBet(), round.getSplitOpportunities(), round.getMoneyAfterRound(),
+        round.getActualSplits());
+
+    for (final HandResult hand : round.getHandResults()) {
+      addHand(hand.getEarnings(), hand.getResultStat(), hand.getWasDoubleDown(),
+          round.getActualSplits() > 0);
+    }
+  }
+
+  /**
+   * Adds a round to the summary
+   *
+   * @param columns the rounds of a game
+   * @param round round number of the round to add
+   */
+  public void add(final RoundResultView columns, final int round) {
+    final int firstHand = columns.getFirstHand(round);
+    final int endHand = columns.getEndHand(round);
+    final int roundActualSplits = endHand - firstHand - 1;
+
+    addRound(columns.getInitialBet(round), columns.getSplitOpportunities(round),
+        columns.getMoneyAfterRound(round), roundActualSplits);
+
+    for (int hand = firstHand; hand < endHand; hand++) {
+      addHand(columns.getEarnings(hand), columns.getCategory(hand),
+          columns.getWasDoubleDown(hand), roundActualSplits > 0);
+    }
+  }
+
+  /**
+   * Adds the values of a round, without its hands
+   */
+  private void addRound(final int bet, final int roundSplitOpportunities, final int moneyAfterRound,
+      final int roundActualSplits) {
+    rounds++;
+    splitOpportunities += roundSplitOpportunities;
+    actualSplits += roundActualSplits;
+
+    betSum += bet;
+    if (bet == minBet) {
+      timesBetIsMin++;
+    }
+    if (bet == maxBet) {
+      timesBetIsMax++;
+    }
+
+    minAvailableMoney = Math.min(minAvailableMoney, moneyAfterRound);
+    maxAvailableMoney = Math.max(maxAvailableMoney, moneyAfterRound);
+  }
+
+  /**
+   * Adds the values of a hand
+   */
+  private void addHand(final int earnings, final HandResultCategory resultStat,
+      final boolean wasDoubleDown, final boolean roundHasSplit) {
+    final int category = resultStat == null ? -1 : resultStat.ordinal();
+
+    hands++;
+    totalEarnings += earnings;
+    if (category >= 0) {
+      handCategoryCounts[category]++;
+    }
+
+    if (roundHasSplit) {
+      splitEarnings += earnings;
+      if (category >= 0) {
+        splitCategoryCounts[category]++;
+      }
+    }
+
+    if (wasDoubleDown) {
+      doubleDownEarnings += earnings;
+      if (category >= 0) {
+        doubleDownCategoryCounts[category]++;
+      }
+    }
+  }
+
+  /**
+   * Builds a frequency from counts by category
+   *
+   * @param counts counts, indexed by the ordinal of the category
+   * @return a new {@link Frequency} object, where the elements are of type
+   *         {@link HandResultCategory}
+   */
+  private static Frequency toFrequency(final long[] counts) {
+    final Frequency freq = new Frequency(HandResultCategory.descendingOutcome);
+    for (final HandResultCategory category : HandResultCategory.values()) {
+      if (counts[category.ordinal()] > 0) {
+        freq.incrementValue(category, counts[category.ordinal()]);
+      }
+    }
+    return freq;
+  }
+
+  /**
+   *
+   * @return number of rounds played
+   */
+  public int getNumberOfRounds() {
+    return rounds;
+  }
+
+  /**
+   *
+   * @return number of hands played across all rounds
+   */
+  public int getNumberOfHands() {
+    return hands;
+  }
+
+  /**
+   *
+   * @return the sum of payout - betPaid for all hands
+   */
+  public int getTotalEarnings() {
+    return totalEarnings;
+  }
+
+  /**
+   *
+   * @return number of opportunities to split
+   */
+  public int getSplitOpportunities() {
+    return splitOpportunities;
+  }
+
+  /**
+   *
+   * @return number of times the player actually split
+   */
+  public int getActualSplits() {
+    return actualSplits;
+  }
+
+  /**
+   *
+   * @return the sum of payout - betPaid for hands in rounds where there was at least one split
+   */
+  public int getSplitEarnings() {
+    return splitEarnings;
+  }
+
+  /**
+   *
+   * @return the sum of payout - betPaid for hands where a double down was done
+   */
+  public int getDoubleDownEarnings() {
+    return doubleDownEarnings;
+  }
+
+  /**
+   *
+   * @return number of times the initial bet was the minimum
+   */
+  public int getTimesBetIsMin() {
+    return timesBetIsMin;
+  }
+
+  /**
+   *
+   * @return number of times the initial bet was the maximum
+   */
+  public int getTimesBetIsMax() {
+    return timesBetIsMax;
+  }
+
+  /**
+   *
+   * @return mean of the initial bets, NaN if no round was played
+   */
+  public double getMeanBet() {
+    return rounds == 0 ? Double.NaN : (double) betSum / rounds;
+  }
+
+  /**
+   *
+   * @return min available money after a round, -1 if no round was played
+   */
+  public int getMinAvailableMoney() {
+    return rounds == 0 ? -1 : minAvailableMoney;
+  }
+
+  /**
+   *
+   * @return max available money after a round, -1 if no round was played
+   */
+  public int getMaxAvailableMoney() {
+    return rounds == 0 ? -1 : maxAvailableMoney;
+  }
+
+  /**
+   *
+   * @return frequency of each category across all hands
+   */
+  public Frequency getHandCategoryFrequency() {
+    return toFrequency(handCategoryCounts);
+  }
+
+  /**
+   *
+   * @return frequency of each category across hands of rounds with a split
+   */
+  public Frequency getSplitHandCategoryFrequency() {
+    return toFrequency(splitCategoryCounts);
+  }
+
+  /**
+   *
+   * @return frequency of each category across hands that were doubled down
+   */
+  public Frequency getDoubleDownHandCategoryFrequency() {
+    return toFrequency(doubleDownCategoryCounts);
+  }
+
+}
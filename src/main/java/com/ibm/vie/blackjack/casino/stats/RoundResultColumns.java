@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact storage for the rounds of a game.
+ *
+ * <p>
+ * Each value of a round or hand is kept in its own array of primitives, so a game of a million
+ * rounds is a handful of arrays rather than millions of {@link RoundResult} and {@link HandResult}
+ * objects. Hands are numbered across the whole game, the hands of a round are consecutive.
+ * </p>
+ *
+ * <p>
+ * {@link #asList()} gives the rounds as a list of {@link RoundResult}. The round objects are
+ * created each time an element of the list is read, so statistics that read every round should
+ * use the getters of this class instead.
+ * </p>
+ *
+ * @see GameResult#getRoundResults()
+ * @see RoundResultView
+ *
+ * @author ntl
+ *
+ */
+public final class RoundResultColumns implements RoundResultView {
+  private static final HandResultCategory[] CATEGORIES = HandResultCategory.values();
+  private static final byte NO_CATEGORY = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  // one entry for each round
+  private int rounds = 0;
+  private int[] initialBet = new int[INITIAL_CAPACITY];
+  private int[] moneyAfterRound = new int[INITIAL_CAPACITY];
+  private int[] splitOpportunities = new int[INITIAL_CAPACITY];
+  private int[] handEnd = new int[INITIAL_CAPACITY];
+
+  // one entry for each hand
+  private int hands = 0;
+  private int[] earnings = new int[INITIAL_CAPACITY];
+  private byte[] category = new byte[INITIAL_CAPACITY];
+  private boolean[] wasDoubleDown = new boolean[INITIAL_CAPACITY];
+
+  /**
+   * Adds a hand to the round that is being recorded. The round is added by
+   * {@link #endRound(int, int, int)}.
+   *
+   * @param handEarnings payout minus the bet paid for the hand
+   * @param handCategory outcome category of the hand, may be null
+   * @param handWasDoubleDown true if the hand involved a double down decision
+   */
+  public void addHand(final int handEarnings, final HandResultCategory handCategory,
+      final boolean handWasDoubleDown) {
+    if (hands == earnings.length) {
+      final int capacity = hands * 2;
+      earnings = Arrays.copyOf(earnings, capacity);
+      category = Arrays.copyOf(category, capacity);
+      wasDoubleDown = Arrays.copyOf(wasDoubleDown, capacity);
+    }
+    earnings[hands] = handEarnings;
+    category[hands] = handCategory == null ? NO_CATEGORY : (byte) handCategory.ordinal();
+    wasDoubleDown[hands] = handWasDoubleDown;
+    hands++;
+  }
+
+  /**
+   * Adds a round, with the hands that were added since the previous round
+   *
+   * @param roundInitialBet the initial amount that was bet in the round
+   * @param roundSplitOpportunities number of opportunities to split in the round
+   * @param roundMoneyAfterRound the amount of money after the round completed
+   */
+  public void endRound(final int roundInitialBet, final int roundSplitOpportunities,
+      final int roundMoneyAfterRound) {
+    if (rounds == initialBet.length) {
+      final int capacity = rounds * 2;
+      initialBet = Arrays.copyOf(initialBet, capacity);
+      moneyAfterRound = Arrays.copyOf(moneyAfterRound, capacity);
+      splitOpportunities = Arrays.copyOf(splitOpportunities, capacity);
+      handEnd = Arrays.copyOf(handEnd, capacity);
+    }
+    initialBet[rounds] = roundInitialBet;
+    splitOpportunities[rounds] = roundSplitOpportunities;
+    moneyAfterRound[rounds] = roundMoneyAfterRound;
+    handEnd[rounds] = hands;
+    rounds++;
+  }
+
+  /**
+   * Adds a copy of a round
+   *
+   * @param round the round result
+   */
+  public void addRound(final RoundResult round) {
+    for (final HandResult hand : round.getHandResults()) {
+      addHand(hand.getEarnings(), hand.getResultStat(), hand.getWasDoubleDown());
+    }
+    endRound(round.getInitialBet(), round.getSplitOpportunities(), round.getMoneyAfterRound());
+  }
+
+  @Override
+  public int getNumberOfRounds() {
+    return rounds;
+  }
+
+  @Override
+  public int getNumberOfHands() {
+    return handEnd(rounds - 1);
+  }
+
+  @Override
+  public int getInitialBet(final int round) {
+    return initialBet[round];
+  }
+
+  @Override
+  public int getMoneyAfterRound(final int round) {
+    return moneyAfterRound[round];
+  }
+
+  @Override
+  public int getSplitOpportunities(final int round) {
+    return splitOpportunities[round];
+  }
+
+  @Override
+  public int getFirstHand(final int round) {
+    return handEnd(round - 1);
+  }
+
+  @Override
+  public int getEndHand(final int round) {
+    return handEnd(round);
+  }
+
+  @Override
+  public int getEarnings(final int hand) {
+    return earnings[hand];
+  }
+
+  @Override
+  public HandResultCategory getCategory(final int hand) {
+    return category[hand] == NO_CATEGORY ? null : CATEGORIES[category[hand]];
+  }
+
+  @Override
+  public boolean getWasDoubleDown(final int hand) {
+    return wasDoubleDown[hand];
+  }
+
+  /**
+   * Creates the result object for a round
+   *
+   * @param round round number, starting at 0
+   * @return a new round result
+   */
+  public RoundResult getRound(final int round) {
+    final int firstHand = getFirstHand(round);
+    final HandResult[] roundHands = new HandResult[getEndHand(round) - firstHand];
+    for (int i = 0; i < roundHands.length; i++) {
+      final HandResult hand = new HandResult();
+      hand.setEarnings(earnings[firstHand + i]);
+      hand.setOutcomeStat(getCategory(firstHand + i));
+      hand.setWasDoubleDown(wasDoubleDown[firstHand + i]);
+      roundHands[i] = hand;
+    }
+    return new RoundResult(initialBet[round], roundHands, splitOpportunities[round],
+        moneyAfterRound[round]);
+  }
+
+  /**
+   * Returns a read only view of the rounds. Rounds added later are included in the view.
+   *
+   * @return list of round results
+   */
+  public List<RoundResult> asList() {
+    return new RoundList();
+  }
+
+  /**
+   *
+   * @param round round number, -1 for "before the first round"
+   * @return hand number after the last hand of the round
+   */
+  private int handEnd(final int round) {
+    return round < 0 ? 0 : handEnd[round];
+  }
+
+  /**
+   * List view of the rounds
+   */
+  private class RoundList extends AbstractList<RoundResult> implements RandomAccess {
+    @Override
+    public RoundResult get(final int index) {
+      if (index < 0 || index >= rounds) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rounds);
+      }
+      return getRound(index);
+    }
+
+    @Override
+    public int size() {
+      return rounds;
+    }
+  }
+
+}
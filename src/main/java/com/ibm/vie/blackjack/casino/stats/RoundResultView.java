@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+/**
+ * Read access to the rounds of a game, one value at a time.
+ *
+ * <p>
+ * Rounds and hands are numbered from 0. Hands are numbered across the whole game, and the hands of
+ * a round are numbered from {@link #getFirstHand(int)} up to, but not including,
+ * {@link #getEndHand(int)}.
+ * </p>
+ *
+ * @see RoundResultColumns
+ * @see GameResultSummary
+ *
+ * @author ntl
+ *
+ */
+public interface RoundResultView {
+
+  /**
+   *
+   * @return number of rounds
+   */
+  int getNumberOfRounds();
+
+  /**
+   *
+   * @return number of hands across all rounds
+   */
+  int getNumberOfHands();
+
+  /**
+   *
+   * @param round round number, starting at 0
+   * @return the initial amount that was bet in the round
+   */
+  int getInitialBet(int round);
+
+  /**
+   *
+   * @param round round number, starting at 0
+   * @return the amount of money after the round completed
+   */
+  int getMoneyAfterRound(int round);
+
+  /**
+   *
+   * @param round round number, starting at 0
+   * @return number of opportunities to split in the round
+   */
+  int getSplitOpportunities(int round);
+
+  /**
+   *
+   * @param round round number, starting at 0
+   * @return the hand number of the first hand of the round
+   */
+  int getFirstHand(int round);
+
+  /**
+   *
+   * @param round round number, starting at 0
+   * @return the hand number after the last hand of the round
+   */
+  int getEndHand(int round);
+
+  /**
+   *
+   * @param hand hand number, starting at 0
+   * @return payout minus the bet paid for the hand
+   */
+  int getEarnings(int hand);
+
+  /**
+   *
+   * @param hand hand number, starting at 0
+   * @return the outcome category of the hand, may be null
+   */
+  HandResultCategory getCategory(int hand);
+
+  /**
+   *
+   * @param hand hand number, starting at 0
+   * @return true if the hand involved a double down decision
+   */
+  boolean getWasDoubleDown(int hand);
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import com.ibm.vie.blackjack.player.PlayerStrategy;
+
+/**
+ * The methods of a {@link PlayerStrategy} that the table calls during a game
+ *
+ * @see StrategyLatency
+ *
+ * @author ntl
+ *
+ */
+public enum StrategyCallback {
+  /**
+   * {@link PlayerStrategy#placeInitialBet(com.ibm.vie.blackjack.player.GameInfo)}
+   */
+  PLACE_INITIAL_BET("Bet"),
+
+  /**
+   * {@link PlayerStrategy#decideHowToPlayHand(com.ibm.vie.blackjack.player.GameInfo, com.ibm.vie.blackjack.player.PlayerHand, java.util.List, com.ibm.vie.blackjack.player.Card)}
+   */
+  DECIDE_HOW_TO_PLAY_HAND("Play Hand"),
+
+  /**
+   * {@link PlayerStrategy#decideToWalkAway(com.ibm.vie.blackjack.player.GameInfo, java.util.List, com.ibm.vie.blackjack.player.DealerHand)}
+   */
+  DECIDE_TO_WALK_AWAY("Walk Away");
+
+  private final String description;
+
+  private StrategyCallback(final String description) {
+    this.description = description;
+  }
+
+  /**
+   *
+   * @return short description, used in the CSV headers
+   */
+  public String getDescription() {
+    return description;
+  }
+}
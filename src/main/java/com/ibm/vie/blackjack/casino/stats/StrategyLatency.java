@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+/**
+ * How long the strategy took in each of its methods during a game, one {@link LatencyHistogram}
+ * for each {@link StrategyCallback}.
+ *
+ * @see GameResult#getStrategyLatency()
+ *
+ * @author ntl
+ *
+ */
+public class StrategyLatency {
+  private static final StrategyCallback[] CALLBACKS = StrategyCallback.values();
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[CALLBACKS.length];
+
+  /**
+   * Creates empty histograms
+   */
+  public StrategyLatency() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Records one call of the strategy
+   *
+   * @param callback the method that was called
+   * @param nanos time spent in the method
+   */
+  public void record(final StrategyCallback callback, final long nanos) {
+    histograms[callback.ordinal()].record(nanos);
+  }
+
+  /**
+   *
+   * @param callback a method of the strategy
+   * @return the durations of the calls of the method
+   */
+  public LatencyHistogram get(final StrategyCallback callback) {
+    return histograms[callback.ordinal()];
+  }
+
+  /**
+   *
+   * @return total nanoseconds spent in the strategy
+   */
+  public long getTotalNanos() {
+    long total = 0;
+    for (final LatencyHistogram histogram : histograms) {
+      total += histogram.getTotalNanos();
+    }
+    return total;
+  }
+
+}
@@ -33,6 +33,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.plaf.metal.MetalButtonUI;
 
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
+
 public class StatsLoadingScreen extends Screen {
 	protected JPanel statsGraph;
 	protected JLabel loadingLabel;
@@ -68,7 +70,7 @@ public class StatsLoadingScreen extends Screen {
 			redirectedOutput.close();
 			redirectedOutput = null;
 
-			System.setOut(originalStdOut);
+			ThreadOutputRouter.setDefaultOutput(originalStdOut);
 			originalStdOut = null;
 			System.out.println("Directing standard output back to console.");
 
@@ -85,11 +87,11 @@ public class StatsLoadingScreen extends Screen {
 			throw new IllegalArgumentException("An attempt was made to redirect standard out more than once!");
 		}
 
-		originalStdOut = System.out;
+		originalStdOut = ThreadOutputRouter.getDefaultOutput();
 		try {
 			System.out.println("Redirecting standard output to consoleOutput.out");
 			redirectedOutput = new FileOutputStream("consoleOutput.out");
-			System.setOut(new PrintStream(redirectedOutput));
+			ThreadOutputRouter.setDefaultOutput(new PrintStream(redirectedOutput));
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
 		}
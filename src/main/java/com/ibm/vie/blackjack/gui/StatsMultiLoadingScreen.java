@@ -33,6 +33,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.plaf.metal.MetalButtonUI;
 
+import com.ibm.vie.blackjack.casino.output.ThreadOutputRouter;
+
 public class StatsMultiLoadingScreen extends Screen {
 	protected List<JPanel> statsGraphs;
 	protected JLabel loadingLabel;
@@ -171,11 +173,11 @@ public class StatsMultiLoadingScreen extends Screen {
 			throw new IllegalArgumentException("An attempt was made to redirect standard out more than once!");
 		}
 
-		originalStdOut = System.out;
+		originalStdOut = ThreadOutputRouter.getDefaultOutput();
 		try {
 			System.out.println("Redirecting standard output to consoleOutput.out");
 			redirectedOutput = new FileOutputStream("consoleOutput.out");
-			System.setOut(new PrintStream(redirectedOutput));
+			ThreadOutputRouter.setDefaultOutput(new PrintStream(redirectedOutput));
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
 		}
@@ -195,7 +197,7 @@ public class StatsMultiLoadingScreen extends Screen {
 			redirectedOutput.close();
 			redirectedOutput = null;
 
-			System.setOut(originalStdOut);
+			ThreadOutputRouter.setDefaultOutput(originalStdOut);
 			originalStdOut = null;
 			System.out.println("Directing standard output back to console.");
 
@@ -35,6 +35,33 @@ public class GameInfo {
   private final TableRules rules;
   private final int roundNumber;
   private final List<Card> cardsInDiscardTray;
+  private final int discardTrayVersion;
+  private final int[] discardTrayCountsByScore;
+  private final int hiLoCount;
+  private final int cardsRemainingInShoe;
+
+  /**
+   * Highest score of a single card, which is the score of tens and face cards. Aces are counted with
+   * a score of 1.
+   */
+  public static final int MAX_CARD_SCORE = 10;
+
+  /**
+   * Constructs the game information
+   *
+   * @param availableMoney current amount of available money
+   * @param rules the rules of the table
+   * @param roundNumber the current or most recently completed round number
+   * @param cardsInDiscardTray list of cards in the discard tray. The card counts are computed from
+   *        the list.
+   * @param cardsRemainingInShoe number of cards that have not been dealt since the last shuffle.
+   *        Cards on the table and the burn card are not in the shoe.
+   */
+  public GameInfo(final int availableMoney, final TableRules rules, final int roundNumber,
+      final List<Card> cardsInDiscardTray, final int cardsRemainingInShoe) {
+    this(availableMoney, rules, roundNumber, cardsInDiscardTray, 0,
+        countByScore(cardsInDiscardTray), cardsRemainingInShoe);
+  }
 
   /**
    * Constructs the game information
@@ -43,13 +70,43 @@ public class GameInfo {
    * @param rules the rules of the table
    * @param roundNumber the current or most recently completed round number
    * @param cardsInDiscardTray list of cards in the discard tray
+   * @param discardTrayVersion identifies the contents of the discard tray
+   * @param discardTrayCountsByScore number of cards in the discard tray, indexed by the minimum
+   *        score of the card. The array is not copied and must not be changed after this call.
+   * @param cardsRemainingInShoe number of cards that have not been dealt since the last shuffle
    */
   public GameInfo(final int availableMoney, final TableRules rules, final int roundNumber,
-      final List<Card> cardsInDiscardTray) {
+      final List<Card> cardsInDiscardTray, final int discardTrayVersion,
+      final int[] discardTrayCountsByScore, final int cardsRemainingInShoe) {
     this.availableMoney = availableMoney;
     this.rules = rules;
     this.roundNumber = roundNumber;
     this.cardsInDiscardTray = cardsInDiscardTray;
+    this.discardTrayVersion = discardTrayVersion;
+    this.discardTrayCountsByScore = discardTrayCountsByScore;
+    this.cardsRemainingInShoe = cardsRemainingInShoe;
+
+    // Hi-Lo: low cards (2-6) count +1, tens and aces count -1
+    int count = -discardTrayCountsByScore[1] - discardTrayCountsByScore[MAX_CARD_SCORE];
+    for (int score = 2; score <= 6; score++) {
+      count += discardTrayCountsByScore[score];
+    }
+    this.hiLoCount = count;
+  }
+
+
+  /**
+   * Counts the cards in a list by minimum score
+   *
+   * @param cards the cards to count
+   * @return array of counts, indexed by the minimum score of the card
+   */
+  private static int[] countByScore(final List<Card> cards) {
+    final int[] counts = new int[MAX_CARD_SCORE + 1];
+    for (final Card card : cards) {
+      counts[card.getMinScore()]++;
+    }
+    return counts;
   }
 
 
@@ -99,6 +156,67 @@ public class GameInfo {
     return cardsInDiscardTray;
   }
 
+  /**
+   * The version of the discard tray changes whenever cards are added to the discard tray, or the
+   * discard tray is emptied by a shuffle.
+   *
+   * A strategy that counts cards can remember the version it last looked at, and only needs to look
+   * at the discard tray again when the version is different.
+   *
+   * @return a number that identifies the contents of the discard tray
+   */
+  public int getDiscardTrayVersion() {
+    return discardTrayVersion;
+  }
+
+  /**
+   * Returns how many cards with a score are in the discard tray. This gives the same answer as
+   * counting the cards in {@link GameInfo#getCardsInDiscardTray()}, but does not need to look at
+   * each card.
+   *
+   * @param minScore the minimum score of the card, 1 for an ace and 10 for tens and face cards
+   * @return number of cards in the discard tray with the score
+   */
+  public int getNumberOfCardsInDiscardTray(final int minScore) {
+    return discardTrayCountsByScore[minScore];
+  }
+
+  /**
+   * Returns the number of cards in the discard tray for every score. The array is indexed by the
+   * minimum score of the card, so index 1 is the number of aces and index 10 is the number of tens
+   * and face cards. Index 0 is always 0.
+   *
+   * @return a new array with the number of cards in the discard tray, by card score
+   */
+  public int[] getDiscardTrayCountsByScore() {
+    return discardTrayCountsByScore.clone();
+  }
+
+  /**
+   * Returns the Hi-Lo count of the cards in the discard tray. Cards with a score of 2 through 6
+   * count +1, cards with a score of 7 through 9 count 0, and tens, face cards and aces count -1.
+   *
+   * A high count means the cards that have not been seen yet have more tens and aces than usual.
+   * Cards that are on the table in the current round are not included.
+   *
+   * @return the Hi-Lo running count for the discard tray
+   */
+  public int getHiLoCount() {
+    return hiLoCount;
+  }
+
+  /**
+   * Returns the number of cards in the shoe that have not been dealt. When the deck is shuffled
+   * the cards in the discard tray are returned to the shoe.
+   *
+   * This can be used with {@link GameInfo#getHiLoCount()} to calculate a count per remaining deck.
+   *
+   * @return number of cards remaining in the shoe
+   */
+  public int getNumberOfCardsRemainingInShoe() {
+    return cardsRemainingInShoe;
+  }
+
   /**
    * Convenience method to retrieve the minimum bet from the table rules
    * 
@@ -12,16 +12,22 @@
  */
 package com.ibm.vie.blackjack.casino;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
 import com.ibm.vie.blackjack.casino.card.Rank;
 import com.ibm.vie.blackjack.casino.card.Suit;
 import com.ibm.vie.blackjack.casino.card.VieCard;
+import com.ibm.vie.blackjack.player.Card;
 import com.ibm.vie.blackjack.player.CasinoRules;
+import com.ibm.vie.blackjack.player.GameInfo;
 import com.ibm.vie.blackjack.player.TableRules;
 
 public class CardManagerTest {
@@ -367,6 +373,71 @@ public class CardManagerTest {
   }
 
 
+  @Test
+  public void when_shuffle_cache_is_shared_then_order_is_the_same_as_without_cache() {
+    final TableRules rules = getAdvancedCasinoRules(2);
+    final ShuffleCache cache = new ShuffleCache();
+
+    CardManager uncached = new CardManager(rules, 1234);
+    CardManager cached1 = new CardManager(rules, 1234, cache);
+    CardManager cached2 = new CardManager(rules, 1234, cache);
+
+    for (int round = 0; round < 60; round++) {
+      // round 41 runs out of cards with cards on the table, so fewer cards are shuffled
+      final int numDraws = round == 41 ? 100 : 5 + round % 7;
+      for (int drawNum = 0; drawNum < numDraws; drawNum++) {
+        VieCard card = cached1.drawCard();
+        Assert.assertEquals(uncached.drawCard(), card);
+        Assert.assertSame("cards are shared", card, cached2.drawCard());
+      }
+      uncached.collectLiveCards();
+      cached1.collectLiveCards();
+      cached2.collectLiveCards();
+      if (round % 3 == 0 || uncached.getLastShuffleDueToEmptyDeck()) {
+        uncached.shuffle();
+        cached1.shuffle();
+        cached2.shuffle();
+      }
+    }
+    Assert.assertEquals(1, cache.getNumberOfSequences());
+  }
+
+
+  @Test
+  public void when_splittable_generator_then_order_is_repeatable_and_all_cards_are_dealt() {
+    final TableRules rules = getAdvancedCasinoRules(2);
+    final ShuffleCache cache = new ShuffleCache();
+
+    CardManager deck1 = new CardManager(rules, 1234, RandomNumberGenerator.SPLITTABLE, null);
+    CardManager deck2 = new CardManager(rules, 1234, RandomNumberGenerator.SPLITTABLE, cache);
+    CardManager compatible = new CardManager(rules, 1234);
+
+    SuitRankCounter counter = new SuitRankCounter();
+    int matchesWithCompatible = 0;
+    for (int round = 0; round < 20; round++) {
+      for (int drawNum = 0; drawNum < 52 * 2; drawNum++) {
+        VieCard card = deck1.drawCard();
+        Assert.assertEquals(card, deck2.drawCard());
+        if (card.equals(compatible.drawCard())) {
+          matchesWithCompatible++;
+        }
+        if (round == 0) {
+          counter.incrementCount(card);
+        }
+      }
+      deck1.collectLiveCards();
+      deck2.collectLiveCards();
+      compatible.collectLiveCards();
+      deck1.shuffle();
+      deck2.shuffle();
+      compatible.shuffle();
+    }
+
+    counter.assertAllCombinationsHaveCount(2);
+    Assert.assertTrue("matches = " + matchesWithCompatible, matchesWithCompatible < 20 * 52);
+  }
+
+
   @Test
   public void when_ordered_deck_then_deck_is_correctly_ordered() {
     CardManager deck = new CardManager(getTableRulesForNumDecks(1), 1234);
@@ -381,4 +452,133 @@ public class CardManagerTest {
         deck.getRemainingCardsInShoe() == 48);
   }
 
+
+  @Test
+  public void when_seeded_then_order_matches_collections_shuffle() {
+    final int numDecks = 6;
+    final int seed = 4321;
+
+    // reference implementation: shuffle a list of cards in a fresh deck order
+    final List<VieCard> expected = new LinkedList<>();
+    for (int deckNum = 0; deckNum < numDecks; deckNum++) {
+      for (final Suit suit : Suit.values()) {
+        for (final Rank rank : Rank.values()) {
+          expected.add(new VieCard(rank, suit));
+        }
+      }
+    }
+    final Random rnd = new Random(seed);
+    Collections.shuffle(expected, rnd);
+
+    final CardManager deck = new CardManager(getTableRulesForNumDecks(numDecks), seed);
+
+    // draw half the shoe, discard it and shuffle what is left together with the discard tray
+    final List<VieCard> discarded = new LinkedList<>();
+    for (int drawNum = 0; drawNum < expected.size() / 2; drawNum++) {
+      final VieCard card = deck.drawCard();
+      Assert.assertEquals(expected.get(0), card);
+      discarded.add(expected.remove(0));
+    }
+    deck.collectLiveCards();
+    Assert.assertEquals(discarded, deck.getCardsInDiscardTray());
+
+    deck.shuffle();
+    expected.addAll(discarded);
+    Collections.shuffle(expected, rnd);
+
+    Assert.assertTrue(deck.getCardsInDiscardTray().isEmpty());
+    for (final VieCard card : expected) {
+      Assert.assertEquals(card, deck.drawCard());
+    }
+  }
+
+
+
+  @Test
+  public void when_discard_tray_changes_then_old_card_info_is_unchanged() {
+    final CardManager deck = new CardManager(getTableRulesForNumDecks(1), 1234);
+    final int version = deck.getDiscardTrayVersion();
+    Assert.assertTrue(deck.getCardInfoInDiscardTray().isEmpty());
+
+    deck.drawCard();
+    deck.drawCard();
+    deck.collectLiveCards();
+    final List<Card> firstRound = deck.getCardInfoInDiscardTray();
+    Assert.assertEquals(version + 1, deck.getDiscardTrayVersion());
+    Assert.assertEquals(VieCard.toCardList(deck.getCardsInDiscardTray()), firstRound);
+    Assert.assertSame(firstRound, deck.getCardInfoInDiscardTray());
+
+    // nothing was drawn, so the tray does not change
+    deck.collectLiveCards();
+    Assert.assertSame(firstRound, deck.getCardInfoInDiscardTray());
+
+    deck.drawCard();
+    deck.collectLiveCards();
+    Assert.assertEquals(version + 2, deck.getDiscardTrayVersion());
+    Assert.assertEquals(2, firstRound.size());
+    Assert.assertEquals(3, deck.getCardInfoInDiscardTray().size());
+    Assert.assertEquals(firstRound, deck.getCardInfoInDiscardTray().subList(0, 2));
+
+    final List<Card> secondRound = deck.getCardInfoInDiscardTray();
+    deck.shuffle();
+    Assert.assertEquals(version + 3, deck.getDiscardTrayVersion());
+    Assert.assertTrue(deck.getCardInfoInDiscardTray().isEmpty());
+
+    deck.drawCard();
+    deck.drawCard();
+    deck.drawCard();
+    deck.collectLiveCards();
+    Assert.assertEquals(VieCard.toCardList(deck.getCardsInDiscardTray()),
+        deck.getCardInfoInDiscardTray());
+    Assert.assertEquals(firstRound, secondRound.subList(0, 2));
+    Assert.assertEquals(3, secondRound.size());
+  }
+
+
+  @Test
+  public void when_card_scores_are_indexed_then_player_and_casino_agree() {
+    Assert.assertEquals(VieCard.MAX_CARD_SCORE, GameInfo.MAX_CARD_SCORE);
+  }
+
+
+  @Test
+  public void when_cards_are_collected_then_counts_match_discard_tray() {
+    final TableRules rules = getTableRulesForNumDecks(2);
+    final CardManager deck = new CardManager(rules, 1234);
+    final Random rnd = new Random(99);
+
+    for (int round = 0; round < 60; round++) {
+      final int numDraws = 4 + rnd.nextInt(8);
+      for (int drawNum = 0; drawNum < numDraws; drawNum++) {
+        deck.drawCard();
+      }
+      deck.collectLiveCards();
+      if (round % 20 == 19) {
+        deck.shuffle();
+      }
+
+      final List<Card> discardTray = deck.getCardInfoInDiscardTray();
+      final GameInfo expected =
+          new GameInfo(0, rules, round, discardTray, deck.getRemainingCardsInShoe());
+      final GameInfo actual = new GameInfo(0, rules, round, discardTray,
+          deck.getDiscardTrayVersion(), deck.getDiscardTrayCountsByScore(),
+          deck.getRemainingCardsInShoe());
+
+      Assert.assertArrayEquals(expected.getDiscardTrayCountsByScore(),
+          actual.getDiscardTrayCountsByScore());
+      Assert.assertEquals(expected.getHiLoCount(), actual.getHiLoCount());
+      Assert.assertEquals(deck.getRemainingCardsInShoe(),
+          expected.getNumberOfCardsRemainingInShoe());
+      Assert.assertEquals(expected.getNumberOfCardsRemainingInShoe(),
+          actual.getNumberOfCardsRemainingInShoe());
+
+      int hiLo = 0;
+      for (final Card card : discardTray) {
+        hiLo += card.getMinScore() >= 2 && card.getMinScore() <= 6 ? 1
+            : card.getMinScore() >= 7 && card.getMinScore() <= 9 ? 0 : -1;
+      }
+      Assert.assertEquals(hiLo, actual.getHiLoCount());
+    }
+  }
+
 }
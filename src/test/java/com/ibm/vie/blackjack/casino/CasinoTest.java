@@ -12,18 +12,26 @@
  */
 package com.ibm.vie.blackjack.casino;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.Assert;
 import org.junit.Test;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ibm.vie.blackjack.casino.exceptions.StrategyTimeoutException;
 import com.ibm.vie.blackjack.casino.stats.GameResult;
 import com.ibm.vie.blackjack.casino.stats.GameResultStatCalculator;
 import com.ibm.vie.blackjack.player.Card;
@@ -238,6 +246,186 @@ public class CasinoTest {
 
 
 
+  /**
+   * Plays like {@link SimpleStrategyHold17}, but does not return from the second decision until
+   * its thread is interrupted
+   */
+  public static class EndlessStrategy extends SimpleStrategyHold17 {
+    static final AtomicInteger interruptedThreads = new AtomicInteger();
+    private int decisions = 0;
+
+    @Override
+    public PlayerDecision decideHowToPlayHand(final GameInfo gameInfo, final PlayerHand currentHand,
+        final List<PlayerHand> playerHands, final Card dealerUpCard) {
+      if (++decisions == 2) {
+        while (!Thread.currentThread().isInterrupted()) {
+          // stuck
+        }
+        interruptedThreads.incrementAndGet();
+      }
+      return super.decideHowToPlayHand(gameInfo, currentHand, playerHands, dealerUpCard);
+    }
+  }
+
+
+  /**
+   * Plays like {@link SimpleStrategyHold17}, but sleeps before each bet
+   */
+  public static class SlowStrategy extends SimpleStrategyHold17 {
+    @Override
+    public int placeInitialBet(final GameInfo gameInfo) {
+      try {
+        Thread.sleep(60);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.placeInitialBet(gameInfo);
+    }
+  }
+
+
+  /**
+   * Takes a long time to be created
+   */
+  public static class SlowToCreateStrategy extends SimpleStrategyHold17 {
+    public SlowToCreateStrategy() {
+      try {
+        Thread.sleep(5000);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+
+  /**
+   * Does not return from the first bet, and ignores interrupts
+   */
+  public static class StubbornStrategy extends SimpleStrategyHold17 {
+    static final AtomicReference<Thread> thread = new AtomicReference<>();
+    static volatile boolean stuck = true;
+
+    @Override
+    public int placeInitialBet(final GameInfo gameInfo) {
+      thread.set(Thread.currentThread());
+      while (stuck) {
+        // ignores the interrupt
+      }
+      return super.placeInitialBet(gameInfo);
+    }
+  }
+
+
+  /**
+   * Builds the test configuration with strategy time limits
+   *
+   * @param perCallMillis
+   * @param perTableMillis
+   * @return the configuration as json
+   * @throws IOException
+   */
+  private ByteArrayInputStream getConfigWithTimeLimits(final long perCallMillis,
+      final long perTableMillis) throws IOException {
+    final ObjectNode config = (ObjectNode) new ObjectMapper()
+        .readTree(this.getClass().getResourceAsStream("gameConfigForTest.json"));
+    config.putObject("strategyTimeLimits").put("perCallMillis", perCallMillis)
+        .put("perTableMillis", perTableMillis);
+    return new ByteArrayInputStream(config.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+
+  @Test(timeout = 20000)
+  public void when_strategy_never_returns_then_table_ends_with_timeout()
+      throws IOException, InterruptedException {
+    EndlessStrategy.interruptedThreads.set(0);
+    final Map<String, GameResult> results = Casino.playBlackjack(getConfigWithTimeLimits(200, 0),
+        EndlessStrategy.class, Collections.emptyList(), 2);
+
+    Assert.assertEquals(2, results.size());
+    for (final GameResult result : results.values()) {
+      Assert.assertTrue(result.getGameEndedInError());
+      Assert.assertTrue(result.getErrorMessage(),
+          result.getGameEndingException() instanceof StrategyTimeoutException);
+      Assert.assertEquals("Luke Skywalker", result.getStudentName());
+    }
+
+    // each abandoned table had its own thread, and only that thread was interrupted
+    while (EndlessStrategy.interruptedThreads.get() < 2) {
+      Thread.sleep(10);
+    }
+  }
+
+
+  @Test(timeout = 20000)
+  public void when_strategy_is_slow_then_table_ends_at_table_limit() throws IOException {
+    final Map<String, GameResult> results = Casino.playBlackjack(getConfigWithTimeLimits(0, 100),
+        SlowStrategy.class, Collections.emptyList());
+
+    Assert.assertEquals(2, results.size());
+    for (final GameResult result : results.values()) {
+      Assert.assertTrue(result.getGameEndedInError());
+      Assert.assertTrue(result.getErrorMessage(),
+          result.getGameEndingException() instanceof StrategyTimeoutException);
+      Assert.assertTrue(result.getErrorMessage(),
+          result.getErrorMessage().contains("the limit for one table"));
+      Assert.assertEquals("Luke Skywalker", result.getStudentName());
+    }
+  }
+
+
+  @Test(timeout = 20000)
+  public void when_strategy_is_slow_to_create_then_table_ends_with_class_name()
+      throws IOException {
+    final Map<String, GameResult> results = Casino.playBlackjack(getConfigWithTimeLimits(200, 0),
+        SlowToCreateStrategy.class, Collections.emptyList());
+
+    Assert.assertEquals(2, results.size());
+    for (final GameResult result : results.values()) {
+      Assert.assertTrue(result.getGameEndingException() instanceof StrategyTimeoutException);
+      Assert.assertEquals(0, result.getRoundsPlayed());
+      Assert.assertEquals(SlowToCreateStrategy.class.getName(), result.getStudentName());
+    }
+  }
+
+
+  @Test(timeout = 20000)
+  public void when_strategy_ignores_interrupt_then_its_thread_is_stopped()
+      throws IOException, InterruptedException {
+    StubbornStrategy.stuck = true;
+    try {
+      final Map<String, GameResult> results = Casino.playBlackjack(
+          getConfigWithTimeLimits(200, 0), StubbornStrategy.class, Collections.emptyList());
+
+      for (final GameResult result : results.values()) {
+        Assert.assertTrue(result.getGameEndingException() instanceof StrategyTimeoutException);
+      }
+      StubbornStrategy.thread.get().join();
+    } finally {
+      StubbornStrategy.stuck = false;
+    }
+  }
+
+
+  @Test
+  public void when_strategy_is_within_time_limits_then_results_are_unchanged() throws IOException {
+    final Map<String, GameResult> expected = Casino.playBlackjack(
+        this.getClass().getResourceAsStream("gameConfigForTest.json"), SimpleStrategyHold17.class,
+        Collections.emptyList());
+    final Map<String, GameResult> actual = Casino.playBlackjack(
+        getConfigWithTimeLimits(10000, 60000), SimpleStrategyHold17.class,
+        Collections.emptyList());
+
+    Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+    for (final String tableName : expected.keySet()) {
+      Assert.assertFalse(actual.get(tableName).getGameEndedInError());
+      Assert.assertEquals(expected.get(tableName).getFinalMoney(),
+          actual.get(tableName).getFinalMoney());
+      Assert.assertEquals(expected.get(tableName).getRoundsPlayed(),
+          actual.get(tableName).getRoundsPlayed());
+    }
+  }
+
+
   /**
    * Loads a sample configuration, runs a basic hold at 17 strategy, and verifies the right number
    * of rounds and final score is correct.
@@ -350,4 +538,39 @@ public class CasinoTest {
   }
 
 
+  /**
+   * Plays a configuration with many tables on several threads, and verifies that the results are
+   * the same, and in the same order, as when the tables are played one at a time.
+   */
+  @Test
+  public void when_play_blackjack_on_threads_then_results_match_sequential_play() {
+    final StringBuilder config = new StringBuilder();
+    config.append("{ \"casinoRules\" : { \"blackJackPayOut\" : 1.5, \"payoutForPush\" : 0, ")
+        .append("\"dealerHitsOnSoft17\" : false, \"deckPenetration\" : 75, ")
+        .append("\"useRealCasinoRulesWhenOutOfCards\" : true }, \"tableConfigs\" : [");
+    for (int tableNum = 0; tableNum < 12; tableNum++) {
+      config.append(tableNum == 0 ? "" : ",").append("{\"name\" : \"table").append(tableNum)
+          .append("\", \"initialMoney\" : 500, \"maxBet\" : 50, \"minBet\" : 5, ")
+          .append("\"numDecks\" : 2, \"numRounds\" : 200, \"deckNumber\" : ")
+          .append(tableNum * 7).append("}");
+    }
+    config.append("]}");
+
+    final Map<String, GameResult> sequential = Casino.playBlackjack(
+        new ByteArrayInputStream(config.toString().getBytes(StandardCharsets.UTF_8)),
+        SimpleStrategyHold17.class, Collections.emptyList());
+    final Map<String, GameResult> parallel = Casino.playBlackjack(
+        new ByteArrayInputStream(config.toString().getBytes(StandardCharsets.UTF_8)),
+        SimpleStrategyHold17.class, Collections.emptyList(), 4);
+
+    Assert.assertEquals(new ArrayList<>(sequential.keySet()), new ArrayList<>(parallel.keySet()));
+    for (final String tableName : sequential.keySet()) {
+      Assert.assertEquals(sequential.get(tableName).getFinalMoney(),
+          parallel.get(tableName).getFinalMoney());
+      Assert.assertEquals(sequential.get(tableName).getRoundsPlayed(),
+          parallel.get(tableName).getRoundsPlayed());
+    }
+  }
+
+
 }
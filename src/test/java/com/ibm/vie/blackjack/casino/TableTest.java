@@ -17,11 +17,19 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Assert;
 import org.junit.Test;
 import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.config.StrategyTimeLimits;
+import com.ibm.vie.blackjack.casino.exceptions.StrategyTimeoutException;
+import com.ibm.vie.blackjack.casino.observer.GameResultObserver;
 import com.ibm.vie.blackjack.casino.rules.OrdinaryBlackjackRules;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.RoundResult;
+import com.ibm.vie.blackjack.casino.stats.StrategyCallback;
+import com.ibm.vie.blackjack.casino.stats.StrategyLatency;
 import com.ibm.vie.blackjack.player.Card;
 import com.ibm.vie.blackjack.player.CasinoRules;
 import com.ibm.vie.blackjack.player.DealerHand;
@@ -1500,4 +1508,141 @@ public class TableTest {
   
   }
 
+
+
+  /**
+   * Strategy that makes random, but repeatable, decisions including splits and double downs
+   */
+  private static class RandomDecisionStrategy implements PlayerStrategy {
+    private final Random rnd;
+
+    RandomDecisionStrategy(final long seed) {
+      rnd = new Random(seed);
+    }
+
+    @Override
+    public int placeInitialBet(final GameInfo gameInfo) {
+      return Math.min(gameInfo.getAvailableMoney(), gameInfo.getMinBet() + rnd.nextInt(20));
+    }
+
+    @Override
+    public PlayerDecision decideHowToPlayHand(final GameInfo gameInfo, final PlayerHand currentHand,
+        final List<PlayerHand> playerHands, final Card dealerUpCard) {
+      final List<Card> cards = currentHand.getCards();
+      if (cards.size() == 2 && cards.get(0).getRank().equals(cards.get(1).getRank())
+          && rnd.nextBoolean()) {
+        return PlayerDecision.SPLIT;
+      } else if (cards.size() == 2 && rnd.nextInt(4) == 0) {
+        return PlayerDecision.DOUBLE_DOWN;
+      }
+      return currentHand.getPointScore() < 17 ? PlayerDecision.HIT : PlayerDecision.STAND;
+    }
+
+    @Override
+    public boolean decideToWalkAway(final GameInfo gameInfo,
+        final List<PlayerPayoutHand> playerHands, final DealerHand dealerHand) {
+      return false;
+    }
+
+    @Override
+    public String getStudentName() {
+      return "random";
+    }
+  }
+
+
+  @Test
+  public void when_played_headless_then_result_is_the_same_as_observed() {
+    for (int seed = 0; seed < 20; seed++) {
+      final TableRules rules =
+          new TableRules(1000, 5, 100, 400, 2, commonRules.getCompetitionRules());
+
+      final Table observedTable =
+          new Table(new RandomDecisionStrategy(seed), new CardManager(rules, seed), rules);
+      final GameResultObserver observer = new GameResultObserver("random", rules);
+      observedTable.addObserver(observer);
+      observedTable.playManyRoundsOfBlackJack();
+      final GameResult expected = observer.getResult();
+
+      final Table headlessTable =
+          new Table(new RandomDecisionStrategy(seed), new CardManager(rules, seed), rules);
+      final GameResult actual = headlessTable.playManyRoundsOfBlackJackHeadless("random");
+
+      Assert.assertEquals(expected.getFinalMoney(), actual.getFinalMoney());
+      Assert.assertEquals(expected.getRoundsPlayed(), actual.getRoundsPlayed());
+      Assert.assertEquals(expected.getErrorMessage(), actual.getErrorMessage());
+      Assert.assertEquals(expected.getStudentName(), actual.getStudentName());
+      Assert.assertEquals(expected.getRoundResults().size(), actual.getRoundResults().size());
+
+      for (int roundNum = 0; roundNum < expected.getRoundResults().size(); roundNum++) {
+        final RoundResult expectedRound = expected.getRoundResults().get(roundNum);
+        final RoundResult actualRound = actual.getRoundResults().get(roundNum);
+        Assert.assertEquals(expectedRound.getInitialBet(), actualRound.getInitialBet());
+        Assert.assertEquals(expectedRound.getMoneyAfterRound(), actualRound.getMoneyAfterRound());
+        Assert.assertEquals(expectedRound.getSplitOpportunities(),
+            actualRound.getSplitOpportunities());
+        Assert.assertEquals(expectedRound.getHandResults().size(),
+            actualRound.getHandResults().size());
+        for (int handNum = 0; handNum < expectedRound.getHandResults().size(); handNum++) {
+          Assert.assertEquals(expectedRound.getHandResults().get(handNum).getEarnings(),
+              actualRound.getHandResults().get(handNum).getEarnings());
+          Assert.assertEquals(expectedRound.getHandResults().get(handNum).getResultStat(),
+              actualRound.getHandResults().get(handNum).getResultStat());
+          Assert.assertEquals(expectedRound.getHandResults().get(handNum).getWasDoubleDown(),
+              actualRound.getHandResults().get(handNum).getWasDoubleDown());
+        }
+      }
+    }
+  }
+
+
+  @Test
+  public void when_played_headless_then_strategy_calls_are_timed() {
+    final TableRules rules = new TableRules(1000, 5, 100, 400, 2, commonRules.getCompetitionRules());
+    final Table table = new Table(new RandomDecisionStrategy(7), new CardManager(rules, 7), rules);
+    final GameResult result = table.playManyRoundsOfBlackJackHeadless("random");
+    final int rounds = result.getRoundResultColumns().getNumberOfRounds();
+
+    // a round is recorded before the strategy is asked to walk away
+    final StrategyLatency latency = result.getStrategyLatency();
+    Assert.assertEquals(rounds, latency.get(StrategyCallback.DECIDE_TO_WALK_AWAY).getCount());
+    Assert.assertTrue(latency.get(StrategyCallback.PLACE_INITIAL_BET).getCount() >= rounds);
+    Assert.assertTrue(latency.get(StrategyCallback.PLACE_INITIAL_BET).getCount() <= rounds + 1);
+    Assert.assertTrue(latency.get(StrategyCallback.DECIDE_HOW_TO_PLAY_HAND).getCount() > 0);
+  }
+
+
+  @Test
+  public void when_strategy_call_is_over_time_limit_then_game_ends_in_error() {
+    final TableRules rules = new TableRules(1000, 5, 100, 400, 2, commonRules.getCompetitionRules());
+    final Table table = new Table(new RandomDecisionStrategy(7) {
+      @Override
+      public boolean decideToWalkAway(final GameInfo gameInfo,
+          final List<PlayerPayoutHand> playerHands, final DealerHand dealerHand) {
+        if (gameInfo.getRoundNumber() == 2) {
+          try {
+            Thread.sleep(50);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return false;
+      }
+    }, new CardManager(rules, 7), rules);
+    table.setStrategyTimeLimits(new StrategyTimeLimits(10, 0));
+
+    final GameResult result = table.playManyRoundsOfBlackJackHeadless("random");
+    Assert.assertTrue(result.getGameEndedInError());
+    Assert.assertTrue(result.getGameEndingException() instanceof StrategyTimeoutException);
+    Assert.assertEquals(2, result.getRoundResultColumns().getNumberOfRounds());
+  }
+
+
+  @Test(expected = IllegalStateException.class)
+  public void when_table_has_observers_then_headless_play_is_rejected() {
+    final Table table = new Table(new RandomDecisionStrategy(1), commonRules);
+    table.addObserver(new GameResultObserver("random", commonRules));
+    table.playManyRoundsOfBlackJackHeadless("random");
+  }
+
 }
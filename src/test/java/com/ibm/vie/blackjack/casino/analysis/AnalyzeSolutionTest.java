@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.io.IOException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.junit.Assert;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.CasinoTest.SimpleStrategyHold17;
+import com.ibm.vie.blackjack.casino.CasinoTest.SimpleStrategyHold21;
+import com.ibm.vie.blackjack.casino.config.TableConfig;
+import com.ibm.vie.blackjack.casino.rules.RochesterMnCasinoRules;
+import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
+
+public class AnalyzeSolutionTest {
+  private final TableConfig config = new TableConfig(1000, 10, 100, 2, 20, 5);
+
+  @Test
+  public void when_target_is_met_by_first_batch_then_analysis_stops() {
+    final AnalysisResult result = AnalyzeSolution.analyzeToPrecision(SimpleStrategyHold17.class,
+        config, new RochesterMnCasinoRules(), new PrecisionTarget(0.95, 1000, 0, 50, 1000), 2);
+    Assert.assertEquals(50, result.getEarningsSummary().getN());
+  }
+
+  @Test
+  public void when_target_is_not_met_then_analysis_stops_at_max_runs() {
+    final AnalysisResult result = AnalyzeSolution.analyzeToPrecision(SimpleStrategyHold17.class,
+        config, new RochesterMnCasinoRules(), new PrecisionTarget(0.95, 0.001, 0, 40, 100), 2);
+    Assert.assertEquals(100, result.getEarningsSummary().getN());
+  }
+
+  @Test
+  public void when_analysis_stops_then_results_match_fixed_number_of_runs() {
+    final PrecisionTarget target = PrecisionTarget.halfWidth(20, 0.95).withRuns(25, 2000);
+    final AnalysisResult adaptive = AnalyzeSolution.analyzeToPrecision(SimpleStrategyHold17.class,
+        config, new RochesterMnCasinoRules(), target, 3);
+    final long n = adaptive.getEarningsSummary().getN();
+    Assert.assertEquals(0, n % 25);
+    Assert.assertTrue(target.isMetBy(adaptive.getEarningsSummary()) || n == 2000);
+
+    final AnalysisResult fixed = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config,
+        (int) n, new RochesterMnCasinoRules(), config.getDeckNumber(), 1);
+    Assert.assertEquals(fixed.getEarningsSummary().getMean(),
+        adaptive.getEarningsSummary().getMean(), 1e-9);
+    Assert.assertEquals(fixed.getEarningsSummary().getVariance(),
+        adaptive.getEarningsSummary().getVariance(), 1e-9);
+  }
+
+  @Test
+  public void when_strategy_is_compared_with_itself_then_differences_are_zero() {
+    final PairedComparisonResult result = AnalyzeSolution.compare(SimpleStrategyHold17.class,
+        SimpleStrategyHold17.class, config, 30, new RochesterMnCasinoRules(), 4);
+    Assert.assertEquals(30, result.getDifferenceStats().getN());
+    Assert.assertEquals(0, result.getDifferenceStats().getMin(), 0);
+    Assert.assertEquals(0, result.getDifferenceStats().getMax(), 0);
+
+    final AnalysisResult single = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 30,
+        new RochesterMnCasinoRules(), config.getDeckNumber(), 1);
+    Assert.assertEquals(single.getEarningsSummary().getMean(),
+        result.getFirst().getEarningsSummary().getMean(), 1e-9);
+  }
+
+  @Test
+  public void when_strategies_are_compared_then_difference_is_paired_by_seed() {
+    final PairedComparisonResult result = AnalyzeSolution.compare(SimpleStrategyHold17.class,
+        SimpleStrategyHold21.class, config, 200, new RochesterMnCasinoRules(), 3);
+    Assert.assertEquals(200, result.getDifferenceStats().getN());
+    Assert.assertEquals(
+        result.getFirst().getEarningsSummary().getMean()
+            - result.getSecond().getEarningsSummary().getMean(),
+        result.getDifferenceStats().getMean(), 1e-9);
+    Assert.assertTrue(result.toString(), result.getVarianceReduction() > 1);
+  }
+
+  @Test
+  public void when_analyzed_with_many_threads_then_results_match_one_thread() {
+    final AnalysisResult single = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 41,
+        new RochesterMnCasinoRules(), 7, 1);
+    final AnalysisResult parallel = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 41,
+        new RochesterMnCasinoRules(), 7, 4);
+
+    Assert.assertArrayEquals(single.getEarningsStats().getValues(),
+        parallel.getEarningsStats().getValues(), 0);
+    Assert.assertEquals(single.getEarningsStats().getMean(),
+        parallel.getEarningsStats().getMean(), 0);
+    Assert.assertEquals(single.getEarningsStats().getVariance(),
+        parallel.getEarningsStats().getVariance(), 0);
+    Assert.assertEquals(single.gameStats().getSumFreq(), parallel.gameStats().getSumFreq());
+    for (final HandResultCategory category : HandResultCategory.values()) {
+      Assert.assertEquals(single.gameStats().getCount(category),
+          parallel.gameStats().getCount(category));
+    }
+
+    final AnalysisResult summarized = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config,
+        41, new RochesterMnCasinoRules(), 7, 4, false);
+    final AnalysisResult summarizedSingle = AnalyzeSolution.analyze(SimpleStrategyHold17.class,
+        config, 41, new RochesterMnCasinoRules(), 7, 1, false);
+    Assert.assertEquals(summarizedSingle.getEarningsSummary().getMean(),
+        summarized.getEarningsSummary().getMean(), 0);
+    Assert.assertEquals(summarizedSingle.getEarningsSummary().getVariance(),
+        summarized.getEarningsSummary().getVariance(), 0);
+  }
+
+  @Test
+  public void when_initial_deck_seed_is_given_then_analysis_starts_from_it() {
+    final AnalysisResult fromSeed = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 10,
+        new RochesterMnCasinoRules(), 1234);
+    final TableConfig seedConfig = new TableConfig(config.getInitialMoney(), config.getMinBet(),
+        config.getMaxBet(), config.getNumDecks(), config.getNumRounds(), 1234);
+    final AnalysisResult fromConfig = AnalyzeSolution.analyze(SimpleStrategyHold17.class,
+        seedConfig, 10, new RochesterMnCasinoRules());
+
+    Assert.assertArrayEquals(fromConfig.getEarningsStats().getValues(),
+        fromSeed.getEarningsStats().getValues(), 0);
+  }
+
+  @Test
+  public void when_earnings_are_kept_then_raw_record_has_each_trial() throws IOException {
+    final AnalysisResult result = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 12,
+        new RochesterMnCasinoRules(), config.getDeckNumber(), 3, true);
+    Assert.assertEquals(12, result.getEarningsStats().getN());
+
+    final StringBuilder out = new StringBuilder();
+    try (CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT)) {
+      result.printRawCsvRecord(printer);
+    }
+    Assert.assertEquals(3 + 12, out.toString().trim().split(",").length);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void when_earnings_are_not_kept_then_raw_record_is_rejected() throws IOException {
+    final AnalysisResult result = AnalyzeSolution.analyze(SimpleStrategyHold17.class, config, 12,
+        new RochesterMnCasinoRules(), config.getDeckNumber(), 3, false);
+    Assert.assertNull(result.getEarningsStats());
+    Assert.assertEquals(12, result.getEarningsSummary().getN());
+    result.printRawCsvRecord(new CSVPrinter(new StringBuilder(), CSVFormat.DEFAULT));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void when_target_has_no_width_then_it_is_rejected() {
+    new PrecisionTarget(0.95, 0, 0, 10, 100);
+  }
+
+}
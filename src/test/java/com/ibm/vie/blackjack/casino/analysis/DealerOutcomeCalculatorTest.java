@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.config.CustomCasinoRules;
+
+public class DealerOutcomeCalculatorTest {
+  private static final double DELTA = 1e-12;
+
+  private final DealerOutcomeCalculator standsOnSoft17 =
+      new DealerOutcomeCalculator(new CustomCasinoRules(2, false, 100, false, 0, null));
+  private final DealerOutcomeCalculator hitsOnSoft17 =
+      new DealerOutcomeCalculator(new CustomCasinoRules(2, true, 100, false, 0, null));
+
+  /**
+   * Builds the counts of a shoe
+   *
+   * @param scores score of each card in the shoe
+   * @return counts indexed by score
+   */
+  private static int[] shoe(final int... scores) {
+    final int[] counts = new int[DealerOutcomeCalculator.MAX_CARD_SCORE + 1];
+    for (final int score : scores) {
+      counts[score]++;
+    }
+    return counts;
+  }
+
+  private static double sum(final DealerOutcomes outcomes) {
+    double sum = outcomes.getProbabilityOfBust() + outcomes.getProbabilityOfBlackJack();
+    for (int total = DealerOutcomes.MIN_STANDING_TOTAL; total <= DealerOutcomes.MAX_TOTAL; total++) {
+      sum += outcomes.getProbabilityOfTotal(total);
+    }
+    return sum;
+  }
+
+  @Test
+  public void when_dealer_has_soft_17_then_rules_decide_whether_to_hit() {
+    // ace up, the hole card is the 6 or the 2
+    final DealerOutcomes stands = standsOnSoft17.calculate(1, shoe(6, 2));
+    Assert.assertEquals(0.5, stands.getProbabilityOfTotal(17), DELTA);
+    Assert.assertEquals(0.5, stands.getProbabilityOfTotal(19), DELTA);
+
+    final DealerOutcomes hits = hitsOnSoft17.calculate(1, shoe(6, 2));
+    Assert.assertEquals(0, hits.getProbabilityOfTotal(17), DELTA);
+    Assert.assertEquals(1, hits.getProbabilityOfTotal(19), DELTA);
+  }
+
+  @Test
+  public void when_hole_card_makes_21_then_dealer_has_blackjack() {
+    final DealerOutcomes outcomes = standsOnSoft17.calculate(10, shoe(1, 7, 7, 7));
+    Assert.assertEquals(0.25, outcomes.getProbabilityOfBlackJack(), DELTA);
+    Assert.assertEquals(0.75, outcomes.getProbabilityOfTotal(17), DELTA);
+
+    final DealerOutcomes withoutBlackJack = outcomes.givenNoBlackJack();
+    Assert.assertEquals(0, withoutBlackJack.getProbabilityOfBlackJack(), DELTA);
+    Assert.assertEquals(1, withoutBlackJack.getProbabilityOfTotal(17), DELTA);
+  }
+
+  @Test
+  public void when_shoe_is_full_then_probabilities_match_known_values() {
+    final int[] shoe = DealerOutcomeCalculator.getShoeCountsByScore(6);
+    shoe[6]--;
+    final DealerOutcomes six = standsOnSoft17.calculate(6, shoe);
+    Assert.assertEquals(1, sum(six), 1e-9);
+    Assert.assertEquals(0, six.getProbabilityOfBlackJack(), DELTA);
+    // about 42% with an infinite deck
+    Assert.assertEquals(0.42, six.getProbabilityOfBust(), 0.01);
+
+    final int[] shoeForTen = DealerOutcomeCalculator.getShoeCountsByScore(6);
+    shoeForTen[10]--;
+    final DealerOutcomes ten = standsOnSoft17.calculate(10, shoeForTen);
+    Assert.assertEquals(1, sum(ten), 1e-9);
+    Assert.assertEquals(24.0 / 311, ten.getProbabilityOfBlackJack(), DELTA);
+  }
+
+  @Test
+  public void when_shoe_was_calculated_then_result_is_remembered() {
+    final int[] shoe = DealerOutcomeCalculator.getShoeCountsByScore(1);
+    shoe[5]--;
+    final DealerOutcomes first = standsOnSoft17.calculate(5, shoe);
+    Assert.assertSame(first, standsOnSoft17.calculate(5, shoe.clone()));
+    Assert.assertEquals(1, standsOnSoft17.getNumberOfRememberedOutcomes());
+
+    shoe[10]--;
+    Assert.assertNotSame(first, standsOnSoft17.calculate(5, shoe));
+    Assert.assertEquals(2, standsOnSoft17.getNumberOfRememberedOutcomes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void when_shoe_runs_out_then_calculation_is_rejected() {
+    standsOnSoft17.calculate(2, shoe(2, 2));
+  }
+
+}
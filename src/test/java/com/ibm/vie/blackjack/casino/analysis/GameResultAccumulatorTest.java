@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.HandResult;
+import com.ibm.vie.blackjack.casino.stats.HandResultCategory;
+import com.ibm.vie.blackjack.casino.stats.RoundResult;
+
+public class GameResultAccumulatorTest {
+  private static final int INITIAL_MONEY = 1000;
+
+  /**
+   * Builds a game result with one round of one hand
+   *
+   * @param finalMoney money at the end of the game
+   * @param category result of the hand
+   * @return the game result
+   */
+  private static GameResult gameResult(final int finalMoney, final HandResultCategory category) {
+    final HandResult hand = new HandResult();
+    hand.setOutcomeStat(category);
+    final RoundResult round = new RoundResult(10, new HandResult[] {hand}, 0, finalMoney);
+    return new GameResult(finalMoney, 1, Collections.singletonList(round), null, null, "test");
+  }
+
+  @Test
+  public void when_games_are_added_then_statistics_match_descriptive_statistics() {
+    final Random rnd = new Random(5);
+    final GameResultAccumulator accumulator = new GameResultAccumulator(INITIAL_MONEY);
+    final DescriptiveStatistics expected = new DescriptiveStatistics();
+
+    for (int gameNum = 0; gameNum < 500; gameNum++) {
+      final int finalMoney = rnd.nextInt(3 * INITIAL_MONEY);
+      accumulator.add(gameResult(finalMoney, HandResultCategory.values()[gameNum % 6]));
+      expected.addValue(finalMoney - INITIAL_MONEY);
+    }
+
+    Assert.assertEquals(expected.getN(), accumulator.getN());
+    Assert.assertEquals(expected.getMin(), accumulator.getMin(), 0);
+    Assert.assertEquals(expected.getMax(), accumulator.getMax(), 0);
+    Assert.assertEquals(expected.getSum(), accumulator.getSum(), 0);
+    Assert.assertEquals(expected.getMean(), accumulator.getMean(), 1e-9);
+    Assert.assertEquals(expected.getVariance(), accumulator.getVariance(), 1e-6);
+    Assert.assertEquals(500, accumulator.getHandCategoryFrequency().getSumFreq());
+    Assert.assertEquals(84,
+        accumulator.getHandCategoryFrequency().getCount(HandResultCategory.PLAYER_BLACKJACK));
+  }
+
+  @Test
+  public void when_accumulators_are_merged_then_statistics_are_identical() {
+    final Random rnd = new Random(7);
+    final List<GameResult> games = new ArrayList<>();
+    for (int gameNum = 0; gameNum < 300; gameNum++) {
+      games.add(gameResult(rnd.nextInt(5 * INITIAL_MONEY), HandResultCategory.PUSH));
+    }
+
+    final GameResultAccumulator all = new GameResultAccumulator(INITIAL_MONEY);
+    games.forEach(all::add);
+
+    final GameResultAccumulator merged = new GameResultAccumulator(INITIAL_MONEY);
+    for (int part = 0; part < 7; part++) {
+      final GameResultAccumulator partial = new GameResultAccumulator(INITIAL_MONEY);
+      games.subList(part * games.size() / 7, (part + 1) * games.size() / 7).forEach(partial::add);
+      merged.merge(partial);
+    }
+
+    Assert.assertEquals(all.getN(), merged.getN());
+    Assert.assertEquals(Double.doubleToLongBits(all.getMean()),
+        Double.doubleToLongBits(merged.getMean()));
+    Assert.assertEquals(Double.doubleToLongBits(all.getVariance()),
+        Double.doubleToLongBits(merged.getVariance()));
+    Assert.assertEquals(all.getMin(), merged.getMin(), 0);
+    Assert.assertEquals(all.getMax(), merged.getMax(), 0);
+    Assert.assertEquals(all.getHandCategoryFrequency().getCount(HandResultCategory.PUSH),
+        merged.getHandCategoryFrequency().getCount(HandResultCategory.PUSH));
+  }
+
+}
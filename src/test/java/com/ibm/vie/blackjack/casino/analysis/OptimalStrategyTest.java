@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.CardManager;
+import com.ibm.vie.blackjack.casino.Table;
+import com.ibm.vie.blackjack.casino.rules.OrdinaryBlackjackRules;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.player.Card;
+import com.ibm.vie.blackjack.player.PlayerDecision;
+import com.ibm.vie.blackjack.player.PlayerHand;
+import com.ibm.vie.blackjack.player.TableRules;
+
+public class OptimalStrategyTest {
+  private static final int BET = 10;
+  private static final TableRules RULES =
+      new TableRules(1000, BET, 100, 500, 6, new OrdinaryBlackjackRules());
+
+  private static OptimalStrategyTable table;
+
+  @BeforeClass
+  public static void generateTable() {
+    table = OptimalStrategy.getTable(RULES);
+  }
+
+  private static Card card(final int score) {
+    return new Card(score == 1 ? "ace" : String.valueOf(score), "hearts", score,
+        score == 1 ? 11 : score);
+  }
+
+  /**
+   * Builds a hand of cards
+   *
+   * @param scores score of each card, 1 for an ace
+   * @return the hand, with a bet of {@link #BET}
+   */
+  private static PlayerHand hand(final int... scores) {
+    final List<Card> cards = new ArrayList<>();
+    int scoreAceAs1 = 0;
+    boolean hasAce = false;
+    for (final int score : scores) {
+      cards.add(card(score));
+      scoreAceAs1 += score;
+      hasAce |= score == 1;
+    }
+    final int pointScore = hasAce && scoreAceAs1 + 10 <= 21 ? scoreAceAs1 + 10 : scoreAceAs1;
+    return new PlayerHand(BET, scoreAceAs1, pointScore, cards);
+  }
+
+  private static PlayerDecision decide(final PlayerHand hand, final int upCard) {
+    return table.getDecision(hand, card(upCard), 1000);
+  }
+
+  @Test
+  public void when_hand_is_common_then_decision_matches_basic_strategy() {
+    Assert.assertEquals(PlayerDecision.HIT, decide(hand(10, 6), 10));
+    Assert.assertEquals(PlayerDecision.STAND, decide(hand(10, 2), 4));
+    Assert.assertEquals(PlayerDecision.STAND, decide(hand(10, 7), 1));
+    Assert.assertEquals(PlayerDecision.DOUBLE_DOWN, decide(hand(6, 5), 6));
+    Assert.assertEquals(PlayerDecision.HIT, decide(hand(1, 7), 9));
+    Assert.assertEquals(PlayerDecision.SPLIT, decide(hand(8, 8), 6));
+    Assert.assertEquals(PlayerDecision.DOUBLE_DOWN, decide(hand(5, 5), 6));
+  }
+
+  @Test
+  public void when_double_is_not_possible_then_hit_or_stand_is_chosen() {
+    // more than two cards
+    Assert.assertEquals(PlayerDecision.HIT, decide(hand(2, 4, 5), 6));
+    // not enough money
+    Assert.assertEquals(PlayerDecision.HIT, table.getDecision(hand(6, 5), card(6), BET - 1));
+    Assert.assertEquals(PlayerDecision.STAND, table.getDecision(hand(8, 8), card(6), BET - 1));
+  }
+
+  @Test
+  public void when_table_is_generated_then_expected_values_are_reasonable() {
+    final double standOn20 = table.getExpectedValue(false, 20, 6, PlayerDecision.STAND);
+    Assert.assertTrue(String.valueOf(standOn20), standOn20 > 0.6 && standOn20 < 0.8);
+    Assert.assertTrue(table.getExpectedValue(false, 11, 6, PlayerDecision.DOUBLE_DOWN) > table
+        .getExpectedValue(false, 11, 6, PlayerDecision.HIT));
+    Assert.assertTrue(table.getSplitExpectedValue(8, 10) > table.getExpectedValue(false, 16, 10,
+        PlayerDecision.HIT));
+    Assert.assertSame(table, OptimalStrategy.getTable(
+        new TableRules(500, 1, 10, 100, 6, new OrdinaryBlackjackRules())));
+  }
+
+  @Test
+  public void when_optimal_strategy_plays_then_game_ends_without_error() {
+    final Table game = new Table(new OptimalStrategy(), new CardManager(RULES, 17), RULES);
+    final GameResult result = game.playManyRoundsOfBlackJackHeadless("optimal");
+    Assert.assertFalse(result.getErrorMessage(), result.getGameEndedInError());
+    Assert.assertTrue(result.getRoundsPlayed() > 0);
+  }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.archive;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.junit.Assert;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.Casino;
+import com.ibm.vie.blackjack.casino.CasinoTest;
+import com.ibm.vie.blackjack.casino.config.TableConfig;
+import com.ibm.vie.blackjack.casino.stats.GameResult;
+import com.ibm.vie.blackjack.casino.stats.GameResultSummary;
+import com.ibm.vie.blackjack.casino.stats.RoundResultColumns;
+import com.ibm.vie.blackjack.player.PlayerStrategy;
+
+public class GameResultArchiveTest {
+
+  /**
+   * Plays the test configuration and appends the results to an archive
+   *
+   * @param clazz the strategy
+   * @param archiveFile the archive
+   * @return the results, in the order they were written
+   * @throws IOException
+   */
+  private static List<Entry<String, GameResult>> playAndArchive(
+      final Class<? extends PlayerStrategy> clazz, final File archiveFile) throws IOException {
+    final Map<String, GameResult> results = Casino.playBlackjack(
+        CasinoTest.class.getResourceAsStream("gameConfigForTest.json"), clazz,
+        Collections.emptyList());
+
+    try (GameResultArchiveWriter writer = new GameResultArchiveWriter(archiveFile)) {
+      for (final Entry<String, GameResult> result : results.entrySet()) {
+        writer.write("student.jar", result.getKey(), result.getValue());
+      }
+    }
+    return new ArrayList<>(results.entrySet());
+  }
+
+  @Test
+  public void when_results_are_archived_then_they_read_back_the_same() throws IOException {
+    final File archiveFile = File.createTempFile("blackjack", ".bin");
+    archiveFile.deleteOnExit();
+
+    final List<Entry<String, GameResult>> expected = new ArrayList<>();
+    expected.addAll(playAndArchive(CasinoTest.SimpleStrategyHold17.class, archiveFile));
+    expected.addAll(playAndArchive(CasinoTest.BadStrategy.class, archiveFile));
+
+    // a long game, so that some rounds have split opportunities
+    final GameResult longGame = new TableConfig("long table", 10000, 2, 10, 1, 500, 7)
+        .getTable(new CasinoTest.SimpleStrategyHold17())
+        .playManyRoundsOfBlackJackHeadless("Luke Skywalker");
+    try (GameResultArchiveWriter writer = new GameResultArchiveWriter(archiveFile)) {
+      writer.write("student.jar", "long table", longGame);
+    }
+    expected.add(new SimpleEntry<>("long table", longGame));
+
+    int splitOpportunities = 0;
+    try (GameResultArchive archive = new GameResultArchive(archiveFile)) {
+      Assert.assertEquals(expected.size(), archive.size());
+
+      for (int index = 0; index < expected.size(); index++) {
+        final GameResult expectedResult = expected.get(index).getValue();
+        final ArchivedGameResult actual = archive.get(index);
+
+        Assert.assertEquals("student.jar", actual.getStudentJar());
+        Assert.assertEquals(expected.get(index).getKey(), actual.getTableName());
+        Assert.assertEquals(expectedResult.getStudentName(), actual.getStudentName());
+        Assert.assertEquals(expectedResult.getGameEndedInError(), actual.getGameEndedInError());
+        Assert.assertEquals(expectedResult.getErrorMessage(), actual.getErrorMessage());
+        Assert.assertEquals(expectedResult.getFinalMoney(), actual.getFinalMoney());
+        Assert.assertEquals(expectedResult.getRoundsPlayed(), actual.getRoundsPlayed());
+        Assert.assertEquals(expectedResult.getRules().getMaxBet(), actual.getRules().getMaxBet());
+        Assert.assertEquals(expectedResult.getRules().getCompetitionRules().getDescription(),
+            actual.getRules().getCompetitionRules().getDescription());
+        Assert.assertEquals(
+            expectedResult.getRules().getCompetitionRules().getBlackJackPayOut(),
+            actual.getRules().getCompetitionRules().getBlackJackPayOut(), 0);
+
+        final RoundResultColumns expectedRounds = expectedResult.getRoundResultColumns();
+        final RoundResultColumns actualRounds = actual.toGameResult().getRoundResultColumns();
+        Assert.assertEquals(expectedRounds.getNumberOfRounds(), actualRounds.getNumberOfRounds());
+        Assert.assertEquals(expectedRounds.getNumberOfHands(), actualRounds.getNumberOfHands());
+        for (int round = 0; round < expectedRounds.getNumberOfRounds(); round++) {
+          Assert.assertEquals(expectedRounds.getInitialBet(round), actualRounds.getInitialBet(round));
+          Assert.assertEquals(expectedRounds.getMoneyAfterRound(round),
+              actualRounds.getMoneyAfterRound(round));
+          Assert.assertEquals(expectedRounds.getSplitOpportunities(round),
+              actualRounds.getSplitOpportunities(round));
+          Assert.assertEquals(expectedRounds.getEndHand(round), actualRounds.getEndHand(round));
+        }
+        for (int hand = 0; hand < expectedRounds.getNumberOfHands(); hand++) {
+          Assert.assertEquals(expectedRounds.getEarnings(hand), actualRounds.getEarnings(hand));
+          Assert.assertEquals(expectedRounds.getCategory(hand), actualRounds.getCategory(hand));
+          Assert.assertEquals(expectedRounds.getWasDoubleDown(hand),
+              actualRounds.getWasDoubleDown(hand));
+        }
+
+        final GameResultSummary expectedSummary = GameResultSummary.of(expectedResult);
+        final GameResultSummary actualSummary = actual.summarize();
+        Assert.assertEquals(expectedSummary.getTotalEarnings(), actualSummary.getTotalEarnings());
+        Assert.assertEquals(expectedSummary.getTimesBetIsMin(), actualSummary.getTimesBetIsMin());
+        Assert.assertEquals(expectedSummary.getMinAvailableMoney(),
+            actualSummary.getMinAvailableMoney());
+        Assert.assertEquals(expectedSummary.getSplitOpportunities(),
+            actualSummary.getSplitOpportunities());
+        splitOpportunities += actualSummary.getSplitOpportunities();
+      }
+    }
+    Assert.assertTrue("The games have no split opportunities to compare", splitOpportunities > 0);
+  }
+
+  @Test
+  public void when_last_record_is_truncated_then_archive_ends_at_last_complete_record()
+      throws IOException {
+    final File archiveFile = File.createTempFile("blackjack", ".bin");
+    archiveFile.deleteOnExit();
+
+    final List<Entry<String, GameResult>> expected =
+        playAndArchive(CasinoTest.SimpleStrategyHold17.class, archiveFile);
+    final long completeLength = archiveFile.length();
+    playAndArchive(CasinoTest.SimpleStrategyHold17.class, archiveFile);
+    try (RandomAccessFile file = new RandomAccessFile(archiveFile, "rw")) {
+      // stop in the middle of the first record that was appended
+      file.setLength(completeLength + 10);
+    }
+
+    try (GameResultArchive archive = new GameResultArchive(archiveFile)) {
+      Assert.assertEquals(expected.size(), archive.size());
+      Assert.assertEquals(expected.get(expected.size() - 1).getKey(),
+          archive.get(expected.size() - 1).getTableName());
+    }
+
+    // appending replaces the truncated record
+    expected.addAll(playAndArchive(CasinoTest.SimpleStrategyHold17.class, archiveFile));
+    try (GameResultArchive archive = new GameResultArchive(archiveFile)) {
+      Assert.assertEquals(expected.size(), archive.size());
+      for (int index = 0; index < expected.size(); index++) {
+        Assert.assertEquals(expected.get(index).getKey(), archive.get(index).getTableName());
+        Assert.assertEquals(expected.get(index).getValue().getFinalMoney(),
+            archive.get(index).getFinalMoney());
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void when_file_is_not_an_archive_then_it_is_rejected() throws IOException {
+    final File notAnArchive = File.createTempFile("blackjack", ".csv");
+    notAnArchive.deleteOnExit();
+    try (FileWriter writer = new FileWriter(notAnArchive)) {
+      writer.write("Student Jar,Student Name,Table Name\n");
+    }
+
+    new GameResultArchiveWriter(notAnArchive).close();
+  }
+
+}
@@ -15,6 +15,7 @@
 package com.ibm.vie.blackjack.casino.config;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Assert;
@@ -23,6 +24,7 @@ import org.junit.Test;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.vie.blackjack.casino.RandomNumberGenerator;
 import com.ibm.vie.blackjack.casino.Table;
 import com.ibm.vie.blackjack.player.Card;
 import com.ibm.vie.blackjack.player.DealerHand;
@@ -105,5 +107,63 @@ public class GameConfigTest {
         Assert.assertFalse(json.contains("casinoRulesClassName") || json.contains("RochesterMnCasinoRules"));
 
     }
-	
+
+
+	@Test
+	public void when_competition_chooses_generator_then_tables_without_their_own_use_it()
+			throws JsonParseException, JsonMappingException, IOException {
+		final String tablesJson = "\"tableConfigs\" : ["
+				+ "{ \"initialMoney\":100, \"minBet\":50, \"maxBet\":51, \"numDecks\":6, \"deckNumber\":12345, \"numRounds\":5},"
+				+ "{ \"initialMoney\":100, \"minBet\":50, \"maxBet\":51, \"numDecks\":6, \"deckNumber\":12345, \"numRounds\":5,"
+				+ " \"randomNumberGenerator\":\"JAVA_UTIL_RANDOM\"}"
+				+ "]";
+
+		CompetitionConfig defaultConfig = mapper.readValue("{ " + tablesJson + " }", CompetitionConfig.class);
+		Assert.assertNull(defaultConfig.getRandomNumberGenerator());
+		Assert.assertNull(defaultConfig.getTableConfigs().get(0).getRandomNumberGenerator());
+		Assert.assertEquals(RandomNumberGenerator.JAVA_UTIL_RANDOM,
+				defaultConfig.getTableConfigs().get(0).resolveRandomNumberGenerator());
+
+		CompetitionConfig config = mapper.readValue(
+				"{ \"randomNumberGenerator\":\"SPLITTABLE\", " + tablesJson + " }", CompetitionConfig.class);
+		Assert.assertEquals(RandomNumberGenerator.SPLITTABLE, config.getRandomNumberGenerator());
+		Assert.assertEquals(RandomNumberGenerator.SPLITTABLE,
+				config.getTableConfigs().get(0).getRandomNumberGenerator());
+		Assert.assertEquals(RandomNumberGenerator.JAVA_UTIL_RANDOM,
+				config.getTableConfigs().get(1).getRandomNumberGenerator());
+		Assert.assertEquals(12345, config.getTableConfigs().get(0).getDeckNumber());
+	}
+
+	@Test
+	public void when_config_is_saved_then_only_chosen_generators_are_written()
+			throws JsonParseException, JsonMappingException, IOException {
+		final TableConfig defaultTable = new TableConfig("default", 100, 5, 50, 1, 10, 7);
+		Assert.assertFalse(mapper.writeValueAsString(defaultTable).contains("randomNumberGenerator"));
+		Assert.assertNull(mapper.readValue(mapper.writeValueAsString(defaultTable), TableConfig.class)
+				.getRandomNumberGenerator());
+
+		final TableConfig chosenTable = defaultTable.withRandomNumberGenerator(RandomNumberGenerator.JAVA_UTIL_RANDOM);
+		Assert.assertEquals(RandomNumberGenerator.JAVA_UTIL_RANDOM,
+				mapper.readValue(mapper.writeValueAsString(chosenTable), TableConfig.class).getRandomNumberGenerator());
+
+		// the generator of the competition is saved once, so changing it in the file changes every table
+		// that does not choose its own
+		final CompetitionConfig competition = new CompetitionConfig(Arrays.asList(defaultTable, chosenTable),
+				null, null, RandomNumberGenerator.SPLITTABLE);
+		final String json = mapper.writeValueAsString(competition);
+		Assert.assertEquals(json, json.indexOf("SPLITTABLE"), json.lastIndexOf("SPLITTABLE"));
+
+		final CompetitionConfig loaded = mapper.readValue(json.replace("SPLITTABLE", "JAVA_UTIL_RANDOM"),
+				CompetitionConfig.class);
+		Assert.assertEquals(2, loaded.getTableConfigs().size());
+		Assert.assertEquals(RandomNumberGenerator.JAVA_UTIL_RANDOM,
+				loaded.getTableConfigs().get(0).getRandomNumberGenerator());
+
+		final CompetitionConfig reloaded = mapper.readValue(json, CompetitionConfig.class);
+		Assert.assertEquals(RandomNumberGenerator.SPLITTABLE,
+				reloaded.getTableConfigs().get(0).getRandomNumberGenerator());
+		Assert.assertEquals(RandomNumberGenerator.JAVA_UTIL_RANDOM,
+				reloaded.getTableConfigs().get(1).getRandomNumberGenerator());
+	}
+
 }
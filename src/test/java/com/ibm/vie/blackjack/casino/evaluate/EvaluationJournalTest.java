@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EvaluationJournalTest {
+
+  private static File createCsvFile() throws IOException {
+    final File csvFile = File.createTempFile("blackjack", ".csv");
+    csvFile.deleteOnExit();
+    EvaluationJournal.getJournalFile(csvFile).deleteOnExit();
+    return csvFile;
+  }
+
+  private static void append(final File file, final String text) throws IOException {
+    try (FileWriter writer = new FileWriter(file, true)) {
+      writer.write(text);
+    }
+  }
+
+  private static String read(final File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void when_evaluation_is_resumed_then_done_jars_are_known_and_partial_records_removed()
+      throws IOException {
+    final File csvFile = createCsvFile();
+    append(csvFile, "header\n");
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      append(csvFile, "a1\na2\n");
+      journal.commit("/jars/a.jar", Arrays.asList("table 1", "table\t2"));
+      append(csvFile, "b1\n");
+      journal.commit("/jars/b.jar", Collections.emptyList());
+      // stopped while the records of c were written
+      append(csvFile, "c1\nc");
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isDone("/jars/a.jar"));
+      Assert.assertTrue(journal.isDone("/jars/b.jar"));
+      Assert.assertFalse(journal.isDone("/jars/c.jar"));
+      Assert.assertEquals(Arrays.asList("table 1", "table\t2"), journal.getTables("/jars/a.jar"));
+      Assert.assertEquals(Collections.emptyList(), journal.getTables("/jars/b.jar"));
+      Assert.assertNull(journal.getTables("/jars/c.jar"));
+      Assert.assertEquals("header\na1\na2\nb1\n", read(csvFile));
+
+      append(csvFile, "c1\nc2\n");
+      journal.commit("/jars/c.jar", Collections.singletonList("table 1"));
+      journal.delete();
+    }
+    Assert.assertFalse(EvaluationJournal.getJournalFile(csvFile).exists());
+  }
+
+  @Test
+  public void when_last_journal_line_is_not_complete_then_it_is_ignored() throws IOException {
+    final File csvFile = createCsvFile();
+    final File journalFile = EvaluationJournal.getJournalFile(csvFile);
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      append(csvFile, "a1\n");
+      journal.commit("/jars/a.jar", Collections.singletonList("table 1"));
+      append(csvFile, "b1\n");
+    }
+    final long committedLength = journalFile.length();
+    append(journalFile, "DONE\t6\t-1\t/jars/b");
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isDone("/jars/a.jar"));
+      Assert.assertFalse(journal.isDone("/jars/b"));
+      Assert.assertEquals("a1\n", read(csvFile));
+      Assert.assertEquals(committedLength, journalFile.length());
+    }
+  }
+
+  @Test
+  public void when_jar_was_started_but_not_finished_then_it_is_evaluated_again_on_resume()
+      throws IOException {
+    final File csvFile = createCsvFile();
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      journal.start("/jars/a.jar");
+      journal.start("/jars/b.jar");
+      journal.start("/jars/c.jar");
+      append(csvFile, "a1\n");
+      journal.commit("/jars/a.jar", Collections.singletonList("table 1"));
+      // stopped from outside while b and c were evaluated
+      append(csvFile, "b");
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isDone("/jars/a.jar"));
+      Assert.assertFalse(journal.isDone("/jars/b.jar"));
+      Assert.assertFalse(journal.isFailed("/jars/b.jar"));
+      Assert.assertFalse(journal.isFailed("/jars/c.jar"));
+      Assert.assertEquals(Collections.emptyList(), journal.getFailedJars());
+      Assert.assertEquals("a1\n", read(csvFile));
+
+      journal.start("/jars/b.jar");
+      journal.start("/jars/c.jar");
+      append(csvFile, "b1\n");
+      journal.commit("/jars/b.jar", Collections.singletonList("table 1"));
+      // stopped again, for example by running out of memory, while c was evaluated
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isDone("/jars/b.jar"));
+      Assert.assertFalse(journal.isDone("/jars/c.jar"));
+      Assert.assertTrue(journal.isFailed("/jars/c.jar"));
+      Assert.assertEquals(Collections.singletonList("/jars/c.jar"), journal.getFailedJars());
+      Assert.assertEquals("a1\nb1\n", read(csvFile));
+    }
+
+    // the failure is remembered, and a jar that is retried is started afresh
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertEquals(Collections.singletonList("/jars/c.jar"), journal.getFailedJars());
+      journal.start("/jars/c.jar");
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isFailed("/jars/c.jar"));
+      journal.start("/jars/c.jar");
+      append(csvFile, "c1\n");
+      journal.commit("/jars/c.jar", Collections.singletonList("table 1"));
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isDone("/jars/c.jar"));
+      Assert.assertEquals(Collections.emptyList(), journal.getFailedJars());
+      Assert.assertEquals("a1\nb1\nc1\n", read(csvFile));
+    }
+  }
+
+  @Test
+  public void when_failure_is_recorded_then_it_is_kept() throws IOException {
+    final File csvFile = createCsvFile();
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      journal.start("/jars/a.jar");
+      journal.fail("/jars/a.jar", "java.io.IOException: can not read");
+    }
+
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      Assert.assertTrue(journal.isFailed("/jars/a.jar"));
+      Assert.assertFalse(journal.isDone("/jars/a.jar"));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void when_csv_is_shorter_than_journal_then_resume_fails() throws IOException {
+    final File csvFile = createCsvFile();
+    try (EvaluationJournal journal = new EvaluationJournal(csvFile, null)) {
+      append(csvFile, "a1\n");
+      journal.commit("/jars/a.jar", Collections.singletonList("table 1"));
+    }
+    Files.write(csvFile.toPath(), new byte[0]);
+
+    new EvaluationJournal(csvFile, null).close();
+  }
+
+}
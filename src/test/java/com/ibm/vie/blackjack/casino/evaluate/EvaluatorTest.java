@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvaluatorTest {
+  private static final String CONFIG = "{\n" //
+      + " \"casinoRules\" : {\"blackJackPayOut\" : 1.5, \"payoutForPush\" : 0,\n" //
+      + "   \"dealerHitsOnSoft17\" : true, \"deckPenetration\" : 75,\n" //
+      + "   \"useRealCasinoRulesWhenOutOfCards\" : true},\n" //
+      + " \"tableConfigs\" : [\n" //
+      + "  {\"name\" : \"one deck\", \"initialMoney\" : 1000, \"maxBet\" : 50, \"minBet\" : 5,\n" //
+      + "   \"numDecks\" : 1, \"numRounds\" : 200, \"deckNumber\" : 3},\n" //
+      + "  {\"name\" : \"six decks\", \"initialMoney\" : 1000, \"maxBet\" : 50, \"minBet\" : 5,\n" //
+      + "   \"numDecks\" : 6, \"numRounds\" : 200, \"deckNumber\" : 4}\n" //
+      + " ]\n" //
+      + "}\n";
+
+  private Path work;
+  private File jarDirectory;
+  private File configFile;
+
+  /**
+   * Source of a solution that stands at a point score and bets a multiple of the minimum bet
+   */
+  private static String playerSource(final int standAt, final int betMultiple) {
+    return "package student.player;\n" //
+        + "import java.util.List;\n" //
+        + "import com.ibm.vie.blackjack.player.*;\n" //
+        + "public class MyPlayer implements PlayerStrategy {\n" //
+        + "  public String getStudentName() { return \"Stand at " + standAt + "\"; }\n" //
+        + "  public int placeInitialBet(GameInfo gameInfo) {\n" //
+        + "    return Math.min(gameInfo.getMaxBet(), " + betMultiple + " * gameInfo.getMinBet());\n" //
+        + "  }\n" //
+        + "  public PlayerDecision decideHowToPlayHand(GameInfo gameInfo, PlayerHand currentHand,\n" //
+        + "      List<PlayerHand> playerHands, Card dealerUpCard) {\n" //
+        + "    return currentHand.getPointScore() >= " + standAt //
+        + " ? PlayerDecision.STAND : PlayerDecision.HIT;\n" //
+        + "  }\n" //
+        + "  public boolean decideToWalkAway(GameInfo gameInfo,\n" //
+        + "      List<PlayerPayoutHand> playerHands, DealerHand dealerHand) {\n" //
+        + "    return false;\n" //
+        + "  }\n" //
+        + "}\n";
+  }
+
+  @Before
+  public void createJars() throws IOException {
+    work = Files.createTempDirectory("evaluator");
+    jarDirectory = work.resolve("jars").toFile();
+    new File(jarDirectory, "sub").mkdirs();
+
+    new StudentJar().withClass("student.player.MyPlayer", playerSource(17, 1))
+        .write(new File(jarDirectory, "b.jar"));
+    new StudentJar().withClass("student.player.MyPlayer", playerSource(12, 3))
+        .write(new File(jarDirectory, "a.jar"));
+    new StudentJar().withClass("student.player.MyPlayer", playerSource(19, 2))
+        .write(new File(jarDirectory, "sub/c.jar"));
+
+    configFile = work.resolve("competition.json").toFile();
+    Files.write(configFile.toPath(), CONFIG.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @After
+  public void deleteJars() throws IOException {
+    try (Stream<Path> files = Files.walk(work)) {
+      for (final Path file : files.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Reads a csv file written by the evaluator. Columns that measure time, whose headers end with
+   * ns, are left out because they differ from run to run.
+   */
+  private static List<String> readWithoutTimes(final File csvFile) throws IOException {
+    final List<String> lines = Files.readAllLines(csvFile.toPath(), StandardCharsets.UTF_8);
+    final List<String> headers = Arrays.asList(lines.get(0).split(",", -1));
+    final List<String> kept = new ArrayList<>(lines.size());
+    for (final String line : lines) {
+      final String[] columns = line.split(",", -1);
+      Assert.assertEquals(line, headers.size(), columns.length);
+      final StringBuilder withoutTimes = new StringBuilder();
+      for (int column = 0; column < columns.length; column++) {
+        if (!headers.get(column).endsWith(" ns")) {
+          withoutTimes.append(columns[column]).append(',');
+        }
+      }
+      kept.add(withoutTimes.toString());
+    }
+    return kept;
+  }
+
+  @Test
+  public void when_evaluated_with_many_workers_then_csv_matches_one_worker() throws IOException {
+    final File sequentialCsv = work.resolve("sequential.csv").toFile();
+    final File parallelCsv = work.resolve("parallel.csv").toFile();
+
+    Evaluator.evaluateDirectory(jarDirectory, configFile, sequentialCsv, 1);
+    Evaluator.evaluateDirectory(jarDirectory, configFile, parallelCsv, 3);
+
+    Assert.assertFalse(EvaluationJournal.getJournalFile(sequentialCsv).exists());
+    Assert.assertFalse(EvaluationJournal.getJournalFile(parallelCsv).exists());
+
+    final List<String> sequential = readWithoutTimes(sequentialCsv);
+    final List<String> parallel = readWithoutTimes(parallelCsv);
+    Assert.assertEquals(sequential, parallel);
+
+    // a header, then the tables of each jar in order of the path of the jar
+    Assert.assertEquals(1 + 3 * 2, sequential.size());
+    final String[] jarOrder = {"/jars/a.jar!", "/jars/b.jar!", "/jars/sub/c.jar!"};
+    for (int jar = 0; jar < jarOrder.length; jar++) {
+      for (int table = 0; table < 2; table++) {
+        final String record = sequential.get(1 + 2 * jar + table);
+        final String source = record.substring(0, record.indexOf(','));
+        Assert.assertTrue(record, source.replace('\\', '/').contains(jarOrder[jar]));
+      }
+    }
+  }
+
+  @Test
+  public void when_many_workers_were_stopped_then_unfinished_jars_are_evaluated_again()
+      throws IOException {
+    final File expectedCsv = work.resolve("expected.csv").toFile();
+    Evaluator.evaluateDirectory(jarDirectory, configFile, expectedCsv, 3);
+
+    // three workers started every jar, and the evaluation stopped while the records of the first
+    // jar were written
+    final File resumedCsv = work.resolve("resumed.csv").toFile();
+    try (EvaluationJournal journal = new EvaluationJournal(resumedCsv, null)) {
+      journal.start(new File(jarDirectory, "b.jar").getAbsolutePath());
+      journal.start(new File(jarDirectory, "a.jar").getAbsolutePath());
+      journal.start(new File(jarDirectory, "sub/c.jar").getAbsolutePath());
+    }
+    Files.write(resumedCsv.toPath(), "Strategy,Stu".getBytes(StandardCharsets.UTF_8));
+
+    Evaluator.evaluateDirectory(jarDirectory, configFile, resumedCsv, 3);
+
+    Assert.assertFalse(EvaluationJournal.getJournalFile(resumedCsv).exists());
+    Assert.assertEquals(readWithoutTimes(expectedCsv), readWithoutTimes(resumedCsv));
+  }
+
+}
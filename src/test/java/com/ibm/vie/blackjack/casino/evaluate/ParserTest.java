@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.commons.cli.ParseException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParserTest {
+  private final File jarDirectory;
+  private final String configFile;
+
+  public ParserTest() throws IOException {
+    jarDirectory = Files.createTempDirectory("jars").toFile();
+    jarDirectory.deleteOnExit();
+    configFile = new File(getClass()
+        .getResource("/com/ibm/vie/blackjack/casino/gameConfigForTest.json").getFile())
+            .getAbsolutePath();
+  }
+
+  private ParseResult parse(final String... options) throws ParseException, IOException {
+    final String[] args = new String[6 + options.length];
+    args[0] = "-d";
+    args[1] = jarDirectory.getAbsolutePath();
+    args[2] = "-c";
+    args[3] = configFile;
+    args[4] = "-r";
+    args[5] = "result.csv";
+    System.arraycopy(options, 0, args, 6, options.length);
+    return new Parser(args).parse();
+  }
+
+  @Test
+  public void when_workers_are_not_given_then_one_worker_is_used() throws Exception {
+    final ParseResult result = parse();
+    Assert.assertEquals(1, result.getNumberOfWorkers());
+    Assert.assertFalse(result.isRetryFailed());
+  }
+
+  @Test
+  public void when_workers_are_given_then_they_are_used() throws Exception {
+    Assert.assertEquals(4, parse("-w", "4").getNumberOfWorkers());
+    Assert.assertEquals(2, parse("--workers", "2").getNumberOfWorkers());
+  }
+
+  @Test(expected = ParseException.class)
+  public void when_workers_are_zero_then_they_are_rejected() throws Exception {
+    parse("-w", "0");
+  }
+
+  @Test(expected = ParseException.class)
+  public void when_workers_are_negative_then_they_are_rejected() throws Exception {
+    parse("-w", "-2");
+  }
+
+  @Test(expected = ParseException.class)
+  public void when_workers_are_not_a_number_then_they_are_rejected() throws Exception {
+    parse("-w", "many");
+  }
+
+}
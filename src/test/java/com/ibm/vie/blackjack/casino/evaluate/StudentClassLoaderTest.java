@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Scanner;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StudentClassLoaderTest {
+  private static final String OUTER_SOURCE = "package student.lib;\n" //
+      + "public class Outer {\n" //
+      + "  public static class Nested {\n" //
+      + "    public String toString() { return \"nested\"; }\n" //
+      + "  }\n" //
+      + "  public Object nested() { return new Nested(); }\n" //
+      + "}\n";
+
+  private static String read(final InputStream input) {
+    try (Scanner scanner = new Scanner(input, StandardCharsets.UTF_8.name())) {
+      return scanner.useDelimiter("\\A").next();
+    }
+  }
+
+  @Test
+  public void when_loaded_from_file_then_classes_and_resources_load_and_jar_can_be_replaced()
+      throws Exception {
+    final File jarFile = File.createTempFile("student", ".jar");
+    jarFile.deleteOnExit();
+    new StudentJar().withClass("student.lib.Outer", OUTER_SOURCE)
+        .withResource("student/lib/message.txt", "hello").write(jarFile);
+
+    final Class<?> outer;
+    final StudentClassLoader loader = new StudentClassLoader(jarFile);
+    try {
+      outer = loader.loadClass("student.lib.Outer");
+      Assert.assertSame(loader, outer.getClassLoader());
+      try (InputStream resource = loader.getResourceAsStream("student/lib/message.txt")) {
+        Assert.assertNotNull(resource);
+        Assert.assertEquals("hello", read(resource));
+      }
+    } finally {
+      loader.close();
+    }
+
+    // nothing keeps the jar open, so it can be removed and another jar written in its place
+    Files.delete(jarFile.toPath());
+    Files.write(jarFile.toPath(), "not a jar".getBytes(StandardCharsets.UTF_8));
+
+    // the nested class was read with the rest of the jar, and is defined from memory
+    final Class<?> nested = loader.loadClass("student.lib.Outer$Nested");
+    Assert.assertSame(loader, nested.getClassLoader());
+    final Object instance = outer.getMethod("nested").invoke(outer.newInstance());
+    Assert.assertSame(nested, instance.getClass());
+    Assert.assertEquals("nested", instance.toString());
+
+    Files.delete(jarFile.toPath());
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.evaluate;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Assume;
+
+/**
+ * Builds solution jars for tests, by compiling java sources against the test class path
+ */
+class StudentJar {
+  private final Map<String, String> sources = new LinkedHashMap<>();
+  private final Map<String, String> resources = new LinkedHashMap<>();
+
+  /**
+   * Adds a source file
+   *
+   * @param className fully qualified name of the top level class
+   * @param source java source of the class
+   * @return this
+   */
+  StudentJar withClass(final String className, final String source) {
+    sources.put(className, source);
+    return this;
+  }
+
+  /**
+   * Adds a resource
+   *
+   * @param name path of the resource in the jar
+   * @param text contents of the resource
+   * @return this
+   */
+  StudentJar withResource(final String name, final String text) {
+    resources.put(name, text);
+    return this;
+  }
+
+  /**
+   * Compiles the sources and writes the classes and resources to a jar. The test is skipped when
+   * there is no java compiler.
+   *
+   * @param jarFile the jar to write
+   * @return the jar file
+   * @throws IOException
+   */
+  File write(final File jarFile) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Assume.assumeNotNull(compiler);
+
+    final Path work = Files.createTempDirectory("student");
+    try {
+      final List<String> arguments = new ArrayList<>(Arrays.asList("-nowarn", "-d",
+          work.toString(), "-cp", System.getProperty("java.class.path")));
+      for (final Map.Entry<String, String> source : sources.entrySet()) {
+        final Path sourceFile = work.resolve(source.getKey().replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getValue().getBytes(StandardCharsets.UTF_8));
+        arguments.add(sourceFile.toString());
+      }
+      if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+        throw new IOException("The sources of " + jarFile + " do not compile");
+      }
+
+      try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(jarFile))) {
+        final List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(work)) {
+          classFiles = files.filter(f -> f.toString().endsWith(".class")).sorted()
+              .collect(Collectors.toList());
+        }
+        for (final Path classFile : classFiles) {
+          jar.putNextEntry(new JarEntry(work.relativize(classFile).toString().replace('\\', '/')));
+          jar.write(Files.readAllBytes(classFile));
+          jar.closeEntry();
+        }
+        for (final Map.Entry<String, String> resource : resources.entrySet()) {
+          jar.putNextEntry(new JarEntry(resource.getKey()));
+          jar.write(resource.getValue().getBytes(StandardCharsets.UTF_8));
+          jar.closeEntry();
+        }
+      }
+      return jarFile;
+    } finally {
+      try (Stream<Path> files = Files.walk(work)) {
+        for (final Path file : files.sorted((a, b) -> b.compareTo(a))
+            .collect(Collectors.toList())) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.hand;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import com.ibm.vie.blackjack.casino.card.Rank;
+import com.ibm.vie.blackjack.casino.card.Suit;
+import com.ibm.vie.blackjack.casino.card.VieCard;
+
+
+public class HandStateTest {
+
+  @Test
+  public void when_cards_added_then_scores_match_immutable_hand() {
+    final Random rnd = new Random(17);
+    final PlayerHandState state = new PlayerHandState(10);
+
+    for (int handNum = 0; handNum < 1000; handNum++) {
+      state.clear();
+      final int numCards = 2 + rnd.nextInt(5);
+      for (int cardNum = 0; cardNum < numCards; cardNum++) {
+        state.addCard(new VieCard(Rank.values()[rnd.nextInt(Rank.values().length)],
+            Suit.values()[rnd.nextInt(Suit.values().length)]));
+
+        final ViePlayerHand view = state.toViePlayerHand();
+        final ViePlayerHand expected = new ViePlayerHand(10, state.getCards());
+
+        Assert.assertEquals(expected.getScore(), state.getScore());
+        Assert.assertEquals(expected.getScoreAceAs1(), state.getScoreAceAs1());
+        Assert.assertEquals(expected.isBlackJack(), state.isBlackJack());
+        Assert.assertEquals(expected.isBusted(), state.isBusted());
+        Assert.assertEquals(expected.getRulesAllowHit(), state.getRulesAllowHit());
+        Assert.assertEquals(expected.rulesAllowSplit(), state.isPair() && state.getRulesAllowHit());
+        Assert.assertEquals(expected.getCards(), view.getCards());
+      }
+    }
+  }
+
+  @Test
+  public void when_hand_not_changed_then_same_view_is_returned() {
+    final PlayerHandState state = new PlayerHandState(10);
+    state.addCard(new VieCard(Rank.EIGHT, Suit.HEARTS));
+    state.addCard(new VieCard(Rank.EIGHT, Suit.CLUBS));
+
+    final ViePlayerHand view = state.toViePlayerHand();
+    Assert.assertSame(view, state.toViePlayerHand());
+
+    final PlayerHandState left = state.split();
+    Assert.assertNotSame(view, state.toViePlayerHand());
+    Assert.assertEquals(1, left.getNumberOfCards());
+    Assert.assertEquals(1, state.getNumberOfCards());
+    Assert.assertEquals(Suit.HEARTS, left.getCard(0).getSuit());
+    Assert.assertEquals(Suit.CLUBS, state.getCard(0).getSuit());
+
+    // the old view is not changed by the split
+    Assert.assertEquals(2, view.getCards().size());
+
+    state.addCard(new VieCard(Rank.TWO, Suit.CLUBS));
+    state.stand();
+    Assert.assertFalse(state.getRulesAllowHit());
+    Assert.assertFalse(state.toViePlayerHand().getRulesAllowHit());
+  }
+
+}
@@ -239,6 +239,25 @@ public class HandUtilTest {
 
  }
 
+ private static PlayerHandState handState(final VieCard... cards) {
+   PlayerHandState hand = new PlayerHandState(10);
+   for (VieCard card : cards) {
+     hand.addCard(card);
+   }
+   return hand;
+ }
 
+ @Test
+ public void when_searching_from_slot_then_finished_hands_are_skipped() {
+   PlayerHandState finished = handState(sixteen);
+   finished.stand();
+   List<PlayerHandState> player = Arrays.asList(handState(sixteen), finished, handState(nonNatural21),
+       handState(ten), handState(bust));
+
+   Assert.assertEquals(0, HandUtil.findHandIndexForPlayerTurn(player, 0));
+   Assert.assertEquals(3, HandUtil.findHandIndexForPlayerTurn(player, 1));
+   Assert.assertEquals(-1, HandUtil.findHandIndexForPlayerTurn(player, 4));
+   Assert.assertEquals(-1, HandUtil.findHandIndexForPlayerTurn(Collections.emptyList(), 0));
+ }
 
 }
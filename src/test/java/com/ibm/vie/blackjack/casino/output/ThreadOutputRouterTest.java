@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.output;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadOutputRouterTest {
+
+  @Test
+  public void when_threads_capture_output_then_each_thread_gets_only_its_own_output()
+      throws Exception {
+    final int numberOfThreads = 4;
+    final CyclicBarrier barrier = new CyclicBarrier(numberOfThreads);
+    final ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    try {
+      final List<Future<String>> outputs = new ArrayList<>();
+      for (int threadNum = 0; threadNum < numberOfThreads; threadNum++) {
+        final String line = "thread " + threadNum;
+        final Callable<String> task = () -> {
+          try (OutputCapture capture = ThreadOutputRouter.capture(1024)) {
+            barrier.await();
+            for (int i = 0; i < 10; i++) {
+              System.out.println(line);
+            }
+            Assert.assertEquals(10 * (line.length() + System.lineSeparator().length()),
+                capture.getByteCount());
+            return capture.getCapturedOutput();
+          }
+        };
+        outputs.add(executor.submit(task));
+      }
+
+      for (int threadNum = 0; threadNum < numberOfThreads; threadNum++) {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+          expected.append("thread " + threadNum).append(System.lineSeparator());
+        }
+        Assert.assertEquals(expected.toString(), outputs.get(threadNum).get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void when_output_is_limited_then_only_the_first_bytes_are_passed_on() {
+    try (OutputCapture outer = ThreadOutputRouter.capture(1024)) {
+      try (OutputCapture inner = ThreadOutputRouter.limit(5)) {
+        System.out.print("0123456789");
+        System.out.print("abc");
+        Assert.assertEquals(13, inner.getByteCount());
+      }
+      System.out.print("X");
+
+      Assert.assertEquals("01234X", outer.getCapturedOutput());
+      Assert.assertEquals(6, outer.getByteCount());
+    }
+  }
+
+  @Test
+  public void when_single_bytes_are_written_then_they_are_limited_and_counted() {
+    try (OutputCapture outer = ThreadOutputRouter.capture(1024)) {
+      try (OutputCapture inner = ThreadOutputRouter.limit(2)) {
+        for (final char c : "xyz".toCharArray()) {
+          System.out.write(c);
+        }
+        Assert.assertEquals(3, inner.getByteCount());
+      }
+
+      Assert.assertEquals("xy", outer.getCapturedOutput());
+    }
+  }
+
+  @Test
+  public void when_output_is_discarded_then_bytes_are_counted() {
+    try (OutputCapture capture = ThreadOutputRouter.discard()) {
+      System.out.printf("%d%d", 1, 2);
+      System.out.append("abc");
+      Assert.assertEquals(5, capture.getByteCount());
+      Assert.assertEquals("", capture.getCapturedOutput());
+    }
+  }
+
+}
@@ -644,4 +644,49 @@ public class GameResultStatCalculatorTest {
 		Assert.assertTrue(freqDouble.getCount(HandResultCategory.PLAYER_LOSE_BUST) == 0);
 	}
 
+	/**
+	 * Builds a hand result
+	 */
+	private static HandResult hand(int earnings, HandResultCategory category, boolean doubleDown) {
+		HandResult hand = new HandResult();
+		hand.setEarnings(earnings);
+		hand.setOutcomeStat(category);
+		hand.setWasDoubleDown(doubleDown);
+		return hand;
+	}
+
+	@Test
+	public void when_rounds_are_summarized_then_totals_match() {
+		GameResultSummary summary = new GameResultSummary(1, 100);
+		summary.add(new RoundResult(100, new HandResult[] { hand(200, HandResultCategory.PLAYER_WIN_NO_BLACKJACK, true) }, 0, 1200));
+		summary.add(new RoundResult(1, new HandResult[] { hand(1, HandResultCategory.PLAYER_WIN_NO_BLACKJACK, false),
+				hand(-2, HandResultCategory.PLAYER_LOSE_BUST, true) }, 1, 1199));
+		summary.add(new RoundResult(4, new HandResult[] { hand(-4, HandResultCategory.PLAYER_LOSE_NO_BUST, false) }, 1, 1195));
+
+		Assert.assertEquals(3, summary.getNumberOfRounds());
+		Assert.assertEquals(4, summary.getNumberOfHands());
+		Assert.assertEquals(195, summary.getTotalEarnings());
+		Assert.assertEquals(2, summary.getSplitOpportunities());
+		Assert.assertEquals(1, summary.getActualSplits());
+		Assert.assertEquals(-1, summary.getSplitEarnings());
+		Assert.assertEquals(198, summary.getDoubleDownEarnings());
+		Assert.assertEquals(1, summary.getTimesBetIsMin());
+		Assert.assertEquals(1, summary.getTimesBetIsMax());
+		Assert.assertEquals(35.0, summary.getMeanBet(), 0);
+		Assert.assertEquals(1195, summary.getMinAvailableMoney());
+		Assert.assertEquals(1200, summary.getMaxAvailableMoney());
+
+		Assert.assertEquals(2, summary.getHandCategoryFrequency().getCount(HandResultCategory.PLAYER_WIN_NO_BLACKJACK));
+		Assert.assertEquals(2, summary.getSplitHandCategoryFrequency().getSumFreq());
+		Assert.assertEquals(1, summary.getDoubleDownHandCategoryFrequency().getCount(HandResultCategory.PLAYER_LOSE_BUST));
+	}
+
+	@Test
+	public void when_no_rounds_are_played_then_money_is_unknown() {
+		GameResultSummary summary = new GameResultSummary(1, 100);
+		Assert.assertEquals(-1, summary.getMinAvailableMoney());
+		Assert.assertEquals(-1, summary.getMaxAvailableMoney());
+		Assert.assertEquals(0, summary.getHandCategoryFrequency().getSumFreq());
+	}
+
 }
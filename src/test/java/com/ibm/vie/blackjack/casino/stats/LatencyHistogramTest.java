@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void when_nothing_is_recorded_then_everything_is_zero() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getMeanNanos(), 0);
+    Assert.assertEquals(0, histogram.getPercentileNanos(99));
+    Assert.assertEquals(0, histogram.getMaxNanos());
+  }
+
+  @Test
+  public void when_durations_are_recorded_then_percentiles_are_within_an_eighth() {
+    final Random rnd = new Random(11);
+    final long[] durations = new long[10000];
+    final LatencyHistogram histogram = new LatencyHistogram();
+    long total = 0;
+    for (int i = 0; i < durations.length; i++) {
+      // mostly fast calls, with a few very slow ones
+      durations[i] = rnd.nextInt(100) == 0 ? 1000000 + rnd.nextInt(50000000) : rnd.nextInt(5000);
+      histogram.record(durations[i]);
+      total += durations[i];
+    }
+    Arrays.sort(durations);
+
+    Assert.assertEquals(durations.length, histogram.getCount());
+    Assert.assertEquals((double) total / durations.length, histogram.getMeanNanos(), 1e-6);
+    Assert.assertEquals(durations[durations.length - 1], histogram.getMaxNanos());
+    Assert.assertEquals(durations[durations.length - 1], histogram.getPercentileNanos(100));
+
+    for (final double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+      final long exact = durations[(int) Math.ceil(percentile / 100 * durations.length) - 1];
+      final long estimate = histogram.getPercentileNanos(percentile);
+      Assert.assertTrue(percentile + ": " + estimate + " < " + exact, estimate >= exact);
+      Assert.assertTrue(percentile + ": " + estimate + " > " + exact, estimate <= exact * 9 / 8 + 1);
+    }
+  }
+
+  @Test
+  public void when_histograms_are_added_then_counts_are_combined() {
+    final LatencyHistogram small = new LatencyHistogram();
+    final LatencyHistogram large = new LatencyHistogram();
+    for (int i = 0; i < 10; i++) {
+      small.record(i);
+      large.record(1L << (40 + i));
+    }
+
+    small.add(large);
+    Assert.assertEquals(20, small.getCount());
+    Assert.assertEquals(1L << 49, small.getMaxNanos());
+    Assert.assertEquals(9, small.getPercentileNanos(50));
+    Assert.assertEquals(1L << 49, small.getPercentileNanos(100));
+  }
+
+}
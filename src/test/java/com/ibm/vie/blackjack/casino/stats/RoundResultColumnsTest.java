@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018,2018 IBM Corporation
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.vie.blackjack.casino.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RoundResultColumnsTest {
+
+  @Test
+  public void when_rounds_are_stored_in_columns_then_they_read_back_the_same() {
+    final Random rnd = new Random(3);
+    final List<RoundResult> rounds = new ArrayList<>();
+    for (int roundNum = 0; roundNum < 1000; roundNum++) {
+      final HandResult[] hands = new HandResult[1 + rnd.nextInt(4)];
+      for (int handNum = 0; handNum < hands.length; handNum++) {
+        hands[handNum] = new HandResult();
+        hands[handNum].setEarnings(rnd.nextInt(400) - 200);
+        hands[handNum].setWasDoubleDown(rnd.nextBoolean());
+        if (rnd.nextInt(10) > 0) {
+          hands[handNum].setOutcomeStat(
+              HandResultCategory.values()[rnd.nextInt(HandResultCategory.values().length)]);
+        }
+      }
+      rounds.add(new RoundResult(rnd.nextInt(100), hands, rnd.nextInt(3), rnd.nextInt(5000)));
+    }
+
+    final GameResult result = new GameResult(0, rounds.size(), rounds, null, null, "test");
+    final List<RoundResult> actual = result.getRoundResults();
+
+    Assert.assertEquals(rounds.size(), actual.size());
+    int numberOfHands = 0;
+    for (int roundNum = 0; roundNum < rounds.size(); roundNum++) {
+      final RoundResult expectedRound = rounds.get(roundNum);
+      final RoundResult actualRound = actual.get(roundNum);
+      Assert.assertEquals(expectedRound.getInitialBet(), actualRound.getInitialBet());
+      Assert.assertEquals(expectedRound.getMoneyAfterRound(), actualRound.getMoneyAfterRound());
+      Assert.assertEquals(expectedRound.getSplitOpportunities(),
+          actualRound.getSplitOpportunities());
+      Assert.assertEquals(expectedRound.getActualSplits(), actualRound.getActualSplits());
+
+      for (int handNum = 0; handNum < expectedRound.getHandResults().size(); handNum++) {
+        final HandResult expectedHand = expectedRound.getHandResults().get(handNum);
+        final HandResult actualHand = actualRound.getHandResults().get(handNum);
+        Assert.assertEquals(expectedHand.getEarnings(), actualHand.getEarnings());
+        Assert.assertEquals(expectedHand.getWasDoubleDown(), actualHand.getWasDoubleDown());
+        Assert.assertEquals(expectedHand.getResultStat(), actualHand.getResultStat());
+      }
+      numberOfHands += expectedRound.getHandResults().size();
+    }
+    Assert.assertEquals(numberOfHands, result.getRoundResultColumns().getNumberOfHands());
+  }
+
+}